@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.vorto.mapping.engine.decoder.CSVDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.StreamingJSONDeserializer;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the payload deserializers for a small and a large device payload. The streaming
+ * deserializer is measured for the complete payload and for a specification that only references
+ * the temperature of the payload. The CSV deserializer is measured for string fields and for
+ * typed columns of a UTF-8 encoded record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializerBenchmark {
+
+  private static final int LARGE_PAYLOAD_ENTRIES = 200;
+
+  private IPayloadDeserializer json = new JSONDeserializer();
+
+  private IPayloadDeserializer csv = new CSVDeserializer();
+
+  private CSVDeserializer csvTyped = new CSVDeserializer(',', PrimitiveType.INT,
+      PrimitiveType.INT, PrimitiveType.LONG, PrimitiveType.FLOAT, PrimitiveType.DOUBLE,
+      PrimitiveType.BOOLEAN, PrimitiveType.STRING, PrimitiveType.STRING);
+
+  private StreamingJSONDeserializer streaming = new StreamingJSONDeserializer();
+
+  private StreamingJSONDeserializer streamingWithSpec =
+      new StreamingJSONDeserializer(new SpecWithNestedEntity());
+
+  private String smallJson;
+
+  private String largeJson;
+
+  private byte[] largeJsonBytes;
+
+  private String csvLine;
+
+  private byte[] csvLineBytes;
+
+  private String csvQuotedLine;
+
+  @Setup
+  public void setup() {
+    smallJson = "{\"clickType\" : \"DOUBLE\", \"batteryVoltage\": \"2322mV\"}";
+
+    StringBuilder builder = new StringBuilder("{\"temperature\" : 20.3, \"readings\" : [");
+    for (int i = 0; i < LARGE_PAYLOAD_ENTRIES; i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder.append("{\"id\" : ").append(i).append(", \"value\" : ").append(i * 0.5)
+          .append(", \"unit\" : \"Celsius\"}");
+    }
+    largeJson = builder.append("]}").toString();
+    largeJsonBytes = largeJson.getBytes(StandardCharsets.UTF_8);
+
+    csvLine = "1,2,3,4.5,6.7,true,some text,2020-01-01";
+    csvLineBytes = csvLine.getBytes(StandardCharsets.UTF_8);
+    csvQuotedLine = "1,2,3,4.5,6.7,true,\"some, \"\"quoted\"\" text\",2020-01-01";
+  }
+
+  @Benchmark
+  public Object smallJson() {
+    return json.deserialize(smallJson);
+  }
+
+  @Benchmark
+  public Object largeJson() {
+    return json.deserialize(largeJson);
+  }
+
+  @Benchmark
+  public Object largeJsonStreaming() {
+    return streaming.deserialize(largeJsonBytes);
+  }
+
+  @Benchmark
+  public Object largeJsonStreamingWithSpec() {
+    return streamingWithSpec.deserialize(largeJsonBytes);
+  }
+
+  @Benchmark
+  public Object csv() {
+    return csv.deserialize(csvLine);
+  }
+
+  @Benchmark
+  public Object csvQuoted() {
+    return csv.deserialize(csvQuotedLine);
+  }
+
+  @Benchmark
+  public Object csvTypedBytes() {
+    return csvTyped.deserialize(csvLineBytes);
+  }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.jxpath.CompiledExpression;
+import org.apache.commons.jxpath.JXPathContext;
+import org.eclipse.vorto.mapping.engine.internal.JxPathFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per message cost of the JXPath context, which is either created for every payload
+ * or the reusable context of the thread re-bound to it. Both evaluate a single compiled xpath, so
+ * the allocation rates show the garbage of the context itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JxPathContextBenchmark {
+
+  private JxPathFactory factory;
+
+  private CompiledExpression expression;
+
+  private Object payload;
+
+  @Setup
+  public void setup() {
+    factory = new JxPathFactory();
+    expression = JXPathContext.compile("/temperature");
+    payload = Collections.singletonMap("temperature", 20.3);
+  }
+
+  @Benchmark
+  public Object newContext() {
+    return expression.getValue(factory.newContext(payload));
+  }
+
+  @Benchmark
+  public Object reusedContext() {
+    JXPathContext context = factory.acquireContext(payload);
+    try {
+      return expression.getValue(context);
+    } finally {
+      factory.releaseContext(context);
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.codec.binary.Base64;
+import org.eclipse.vorto.mapping.engine.MappingEngine;
+import org.eclipse.vorto.mapping.engine.converter.binary.SpecWithBase64Converter;
+import org.eclipse.vorto.mapping.engine.converter.binary.SpecWithByteArrayConverter;
+import org.eclipse.vorto.mapping.engine.converter.javascript.SpecWithCustomFunction;
+import org.eclipse.vorto.mapping.engine.decoder.CSVDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithArrayPayload;
+import org.eclipse.vorto.service.mapping.spec.SpecWithBinarySource;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionFunction;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionalProperties;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionedRules;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEntity;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEnum;
+import org.eclipse.vorto.service.mapping.spec.SpecWithOptionalProperties;
+import org.eclipse.vorto.service.mapping.spec.SpecWithSameFunctionblock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MappingEngine#mapSource(Object)} for the different kinds of mapping
+ * specifications. Payloads are deserialized once during setup, so only the mapping itself is
+ * measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapSourceBenchmark {
+
+  private MappingEngine jsonEngine;
+  private Object jsonPayload;
+
+  private MappingEngine optionalPropertiesEngine;
+  private Object sparsePayload;
+  private Object fullPayload;
+
+  private MappingEngine nestedEntityEngine;
+  private Object nestedEntityPayload;
+
+  private MappingEngine enumEngine;
+  private Object enumPayload;
+
+  private MappingEngine propertyConditionEngine;
+  private Object propertyConditionPayload;
+
+  private MappingEngine functionblockConditionEngine;
+  private Object functionblockConditionPayload;
+
+  private MappingEngine arrayEngine;
+  private Object arrayPayload;
+
+  private MappingEngine csvEngine;
+  private Object csvPayload;
+  private Object csvTypedPayload;
+
+  private MappingEngine binaryEngine;
+  private Object binaryPayload;
+
+  private MappingEngine binarySourceEngine;
+  private ByteBuffer binarySourcePayload;
+
+  private MappingEngine base64Engine;
+  private Object base64Payload;
+
+  private MappingEngine javascriptEngine;
+  private Object javascriptPayload;
+
+  @Setup
+  public void setup() {
+    JSONDeserializer json = new JSONDeserializer();
+
+    jsonEngine = MappingEngine.create(new SpecWithSameFunctionblock());
+    jsonPayload = json.deserialize("{\"btnvalue1\" : 2, \"btnvalue2\": 10}");
+
+    optionalPropertiesEngine = MappingEngine.create(new SpecWithOptionalProperties());
+    sparsePayload =
+        json.deserialize("{\"temperature\" : 20.3, \"battery\" : { \"level\" : 80 } }");
+    fullPayload = json.deserialize("{\"temperature\" : 20.3, \"humidity\" : 40, "
+        + "\"pressure\" : 1013, \"battery\" : { \"level\" : 80 }, "
+        + "\"radio\" : { \"rssi\" : -70 }, \"location\" : { \"lat\" : 48.1, \"lon\" : 11.6 }, "
+        + "\"firmware\" : \"1.0\", \"uptime\" : 3600 }");
+
+    nestedEntityEngine = MappingEngine.create(new SpecWithNestedEntity());
+    nestedEntityPayload = json.deserialize("{\"temperature\" : 20.3 }");
+
+    enumEngine = MappingEngine.create(new SpecWithNestedEnum());
+    enumPayload = json.deserialize("{\"temperature\" : 20.3 }");
+
+    propertyConditionEngine = MappingEngine.create(new SpecWithConditionalProperties());
+    propertyConditionPayload = json.deserialize("{\"count\" : 2 }");
+
+    functionblockConditionEngine = MappingEngine.create(new SpecWithConditionedRules());
+    functionblockConditionPayload =
+        json.deserialize("{\"data\" : { \"key\" : \"DoorState\", \"value\" : \"Locked\"}}");
+
+    arrayEngine = MappingEngine.create(new SpecWithArrayPayload());
+    arrayPayload =
+        json.deserialize("[{\"clickType\" : \"DOUBLE\" }, {\"clickType\" : \"SINGLE\" }]");
+
+    csvEngine = MappingEngine.create(new SpecWithConditionFunction());
+    csvPayload = new CSVDeserializer().deserialize("1,2,3");
+    csvTypedPayload = new CSVDeserializer(new SpecWithConditionFunction()).deserialize("1,2,3");
+
+    binaryEngine = MappingEngine.create(new SpecWithByteArrayConverter());
+    binaryPayload =
+        json.deserialize("{\"data\" : \"4f00630063007500700061006e0063007900200002\"}");
+
+    binarySourceEngine = MappingEngine.create(new SpecWithBinarySource());
+    binarySourcePayload = ByteBuffer.allocateDirect(20);
+    binarySourcePayload.put(0, (byte) 1);
+    binarySourcePayload.order(ByteOrder.LITTLE_ENDIAN).putFloat(1, 21.5f)
+        .order(ByteOrder.BIG_ENDIAN);
+    binarySourcePayload.put(5, (byte) 45);
+    binarySourcePayload.putDouble(10, 1013.25);
+
+    base64Engine = MappingEngine.create(new SpecWithBase64Converter());
+    base64Payload =
+        json.deserialize("{\"data\" : \"" + Base64.encodeBase64String("20".getBytes()) + "\"}");
+
+    javascriptEngine = MappingEngine.create(new SpecWithCustomFunction());
+    javascriptPayload =
+        json.deserialize("{\"clickType\" : \"DOUBLE\", \"batteryVoltage\": \"2322mV\"}");
+  }
+
+  @Benchmark
+  public InfomodelValue json() {
+    return jsonEngine.mapSource(jsonPayload);
+  }
+
+  /**
+   * Sparse telemetry, only 2 of 9 properties are present in the payload
+   */
+  @Benchmark
+  public InfomodelValue sparseJson() {
+    return optionalPropertiesEngine.mapSource(sparsePayload);
+  }
+
+  @Benchmark
+  public InfomodelValue fullJson() {
+    return optionalPropertiesEngine.mapSource(fullPayload);
+  }
+
+  @Benchmark
+  public InfomodelValue nestedEntity() {
+    return nestedEntityEngine.mapSource(nestedEntityPayload);
+  }
+
+  @Benchmark
+  public InfomodelValue enumeration() {
+    return enumEngine.mapSource(enumPayload);
+  }
+
+  @Benchmark
+  public InfomodelValue propertyConditions() {
+    return propertyConditionEngine.mapSource(propertyConditionPayload);
+  }
+
+  @Benchmark
+  public InfomodelValue functionblockConditions() {
+    return functionblockConditionEngine.mapSource(functionblockConditionPayload);
+  }
+
+  @Benchmark
+  public InfomodelValue array() {
+    return arrayEngine.mapSource(arrayPayload);
+  }
+
+  @Benchmark
+  public InfomodelValue csv() {
+    return csvEngine.mapSource(csvPayload);
+  }
+
+  @Benchmark
+  public InfomodelValue csvTyped() {
+    return csvEngine.mapSource(csvTypedPayload);
+  }
+
+  @Benchmark
+  public InfomodelValue binary() {
+    return binaryEngine.mapSource(binaryPayload);
+  }
+
+  @Benchmark
+  public InfomodelValue binarySource() {
+    return binarySourceEngine.mapSource(binarySourcePayload);
+  }
+
+  @Benchmark
+  public InfomodelValue base64() {
+    return base64Engine.mapSource(base64Payload);
+  }
+
+  @Benchmark
+  public InfomodelValue javascriptFunction() {
+    return javascriptEngine.mapSource(javascriptPayload);
+  }
+}
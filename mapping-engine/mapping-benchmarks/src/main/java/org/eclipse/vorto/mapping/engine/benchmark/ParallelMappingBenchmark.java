@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithManyFunctionblocks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Samples the latency of mapping a payload with 40 function blocks, half of them with a
+ * condition, one function block after another compared to concurrently on a pool of 4 threads.
+ * The percentiles of the samples show the tail latency of single large payloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelMappingBenchmark {
+
+  private ForkJoinPool pool;
+
+  private IDataMapper sequential;
+
+  private IDataMapper parallel;
+
+  private Object payload;
+
+  @Setup
+  public void setup() {
+    pool = new ForkJoinPool(4);
+    sequential =
+        IDataMapper.newBuilder().withSpecification(new SpecWithManyFunctionblocks()).build();
+    parallel = IDataMapper.newBuilder().withSpecification(new SpecWithManyFunctionblocks())
+        .withParallelFunctionblocks(pool, 1).build();
+
+    StringBuilder json = new StringBuilder("{");
+    for (int i = 0; i < SpecWithManyFunctionblocks.FUNCTIONBLOCKS; i++) {
+      json.append(i == 0 ? "" : ",").append("\"sensor").append(i).append("\" : {\"value\" : ")
+          .append(i * 1.5).append(", \"unit\" : \"bar\"}");
+    }
+    payload = new JSONDeserializer().deserialize(json.append('}').toString());
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public InfomodelValue sequential() {
+    return sequential.mapSource(payload);
+  }
+
+  @Benchmark
+  public InfomodelValue parallel() {
+    return parallel.mapSource(payload);
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.mapping.engine.model.spec.MappingSpecBinaryReader;
+import org.eclipse.vorto.mapping.engine.model.spec.MappingSpecBinaryWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading of 500 mapping specifications from files, as done at device startup, from
+ * JSON by {@link org.eclipse.vorto.mapping.engine.model.spec.MappingSpecBuilder} compared to the
+ * binary format read by {@link MappingSpecBinaryReader} from memory mapped files. The
+ * specifications are copies of the JSON specification used by the unit tests of
+ * <code>mapping-core</code> with distinct information model names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecLoadBenchmark {
+
+  private static final int SPEC_COUNT = 500;
+
+  private Path directory;
+
+  private List<Path> jsonFiles = new ArrayList<>();
+
+  private List<Path> binaryFiles = new ArrayList<>();
+
+  @Setup
+  public void setup() throws IOException {
+    String json;
+    try (InputStream in =
+        SpecLoadBenchmark.class.getClassLoader().getResourceAsStream("mappingspec.json")) {
+      json = IOUtils.toString(in, "UTF-8");
+    }
+
+    directory = Files.createTempDirectory("specs");
+    MappingSpecBinaryWriter writer = new MappingSpecBinaryWriter();
+    for (int i = 0; i < SPEC_COUNT; i++) {
+      String spec = json.replace("TemperatureSensor", "TemperatureSensor" + i);
+      Path jsonFile = directory.resolve("spec" + i + ".json");
+      Files.write(jsonFile, spec.getBytes(StandardCharsets.UTF_8));
+      jsonFiles.add(jsonFile);
+
+      Path binaryFile = directory.resolve("spec" + i + ".bin");
+      try (InputStream in = Files.newInputStream(jsonFile)) {
+        Files.write(binaryFile, writer
+            .toByteArray(IMappingSpecification.newBuilder().fromInputStream(in).build()));
+      }
+      binaryFiles.add(binaryFile);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(directory.toFile());
+  }
+
+  @Benchmark
+  public List<IMappingSpecification> json() throws IOException {
+    List<IMappingSpecification> specs = new ArrayList<>(SPEC_COUNT);
+    for (Path file : jsonFiles) {
+      try (InputStream in = Files.newInputStream(file)) {
+        specs.add(IMappingSpecification.newBuilder().fromInputStream(in).build());
+      }
+    }
+    return specs;
+  }
+
+  @Benchmark
+  public List<IMappingSpecification> binary() throws IOException {
+    MappingSpecBinaryReader reader = new MappingSpecBinaryReader();
+    List<IMappingSpecification> specs = new ArrayList<>(SPEC_COUNT);
+    for (Path file : binaryFiles) {
+      specs.add(reader.read(file));
+    }
+    return specs;
+  }
+}
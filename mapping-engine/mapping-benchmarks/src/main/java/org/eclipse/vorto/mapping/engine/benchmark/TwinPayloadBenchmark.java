@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.runtime.FunctionblockValue;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the serialization of mapped Vorto data to Eclipse Ditto and AWS IoT Shadow payloads,
+ * including the final conversion to a JSON string. The streaming variants append to a reused
+ * buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TwinPayloadBenchmark {
+
+  private static final int BATCH_SIZE = 100;
+
+  private InfomodelValue infomodelValue;
+
+  private Map<String, InfomodelValue> things;
+
+  private StringBuilder buffer = new StringBuilder();
+
+  @Setup
+  public void setup() {
+    FunctionblockModel temperature = FunctionblockModel
+        .Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Temperature:1.0.0"))
+        .statusProperty(ModelProperty.createPrimitiveProperty("value", true, PrimitiveType.FLOAT))
+        .statusProperty(ModelProperty.createPrimitiveProperty("unit", false, PrimitiveType.STRING))
+        .configurationProperty(
+            ModelProperty.createPrimitiveProperty("interval", false, PrimitiveType.INT))
+        .build();
+
+    Infomodel infomodel =
+        Infomodel.Builder(ModelId.fromPrettyFormat("com.acme:TemperatureSensor:1.0.0"))
+            .withProperty(ModelProperty.Builder("indoorTemperature", temperature).build())
+            .withProperty(ModelProperty.Builder("outdoorTemperature", temperature).build())
+            .build();
+
+    infomodelValue = new InfomodelValue(infomodel);
+    infomodelValue.withFunctionblock("indoorTemperature", new FunctionblockValue(temperature)
+        .withStatusProperty("value", 20.2).withStatusProperty("unit", "Celsius")
+        .withConfigurationProperty("interval", 60));
+    infomodelValue.withFunctionblock("outdoorTemperature", new FunctionblockValue(temperature)
+        .withStatusProperty("value", 9.2).withStatusProperty("unit", "Celsius")
+        .withConfigurationProperty("interval", 300));
+
+    things = new LinkedHashMap<>();
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      things.put("com.acme:Sensor-" + i, infomodelValue);
+    }
+  }
+
+  @Benchmark
+  public String ditto() {
+    return org.eclipse.vorto.mapping.targetplatform.ditto.TwinPayloadFactory
+        .toDittoProtocol(infomodelValue, "com.acme:Sensor-1").toString();
+  }
+
+  @Benchmark
+  public String awsIotShadow() {
+    return org.eclipse.vorto.mapping.targetplatform.awsiot.TwinPayloadFactory
+        .toShadowUpdateRequest(infomodelValue).toString();
+  }
+
+  @Benchmark
+  public int dittoStreaming() throws IOException {
+    buffer.setLength(0);
+    org.eclipse.vorto.mapping.targetplatform.ditto.TwinPayloadFactory
+        .writeDittoProtocol(infomodelValue, "com.acme:Sensor-1", buffer);
+    return buffer.length();
+  }
+
+  @Benchmark
+  public int dittoStreamingBatch() throws IOException {
+    buffer.setLength(0);
+    org.eclipse.vorto.mapping.targetplatform.ditto.TwinPayloadFactory.writeDittoProtocol(things,
+        buffer);
+    return buffer.length();
+  }
+
+  @Benchmark
+  public int awsIotShadowStreaming() throws IOException {
+    buffer.setLength(0);
+    org.eclipse.vorto.mapping.targetplatform.awsiot.TwinPayloadFactory
+        .writeShadowUpdateRequest(infomodelValue, buffer);
+    return buffer.length();
+  }
+}
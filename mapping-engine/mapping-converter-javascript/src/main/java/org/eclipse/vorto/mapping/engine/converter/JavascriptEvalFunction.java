@@ -14,7 +14,11 @@ package org.eclipse.vorto.mapping.engine.converter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.Invocable;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
@@ -28,13 +32,38 @@ import org.apache.commons.jxpath.util.TypeUtils;
 import jdk.nashorn.api.scripting.ClassFilter;
 import jdk.nashorn.api.scripting.NashornScriptEngineFactory;
 
+/**
+ * Javascript function that is compiled once per sandboxed script engine. Engines are kept in a
+ * bounded pool and reused across invocations, so a function instance can be invoked by several
+ * threads concurrently without paying for engine creation on every call. Every invocation
+ * evaluates the compiled function into a new global scope, so that global variables of the script
+ * do not leak from one invocation to the next.
+ */
 @SuppressWarnings("restriction")
 public class JavascriptEvalFunction implements Function {
 
+  private static final NashornScriptEngineFactory FACTORY = new NashornScriptEngineFactory();
+
+  private static final ClassFilter NO_JAVA_CLASSES = new ClassFilter() {
+
+    @Override
+    public boolean exposeToScripts(String s) {
+      return false;
+    }
+
+  };
+
+  private static final String[] REMOVED_BINDINGS =
+      {"print", "load", "loadWithNewGlobal", "exit", "quit"};
+
+  private static final int MAX_IDLE_ENGINES = Runtime.getRuntime().availableProcessors() * 2;
+
   private String functionName;
 
   private String functionBody;
 
+  private BlockingQueue<PooledEngine> idleEngines = new ArrayBlockingQueue<>(MAX_IDLE_ENGINES);
+
   public JavascriptEvalFunction(String funcName, String funcBody) {
     this.functionName = funcName;
     this.functionBody = funcBody;
@@ -43,29 +72,6 @@ public class JavascriptEvalFunction implements Function {
   @Override
   @SuppressWarnings({"rawtypes"})
   public Object invoke(ExpressionContext context, Object[] parameters) {
-    NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
-    ScriptEngine engine = factory.getScriptEngine(new ClassFilter() {
-
-      @Override
-      public boolean exposeToScripts(String s) {
-        return false;
-      }
-
-    });
-    try {
-      final Bindings bindings = engine.getBindings(ScriptContext.ENGINE_SCOPE);
-      bindings.remove("print");
-      bindings.remove("load");
-      bindings.remove("loadWithNewGlobal");
-      bindings.remove("exit");
-      bindings.remove("quit");
-      engine.eval(functionBody);
-
-    } catch (ScriptException e) {
-      throw new JXPathException("Problem evaluating " + functionName, e);
-    }
-
-    Invocable inv = (Invocable) engine;
     Object[] args;
     int pi = 0;
     Class[] types = toTypes(parameters);
@@ -80,12 +86,30 @@ public class JavascriptEvalFunction implements Function {
       args[i + pi] = TypeUtils.convert(parameters[i], types[i + pi]);
     }
 
+    PooledEngine engine = borrowEngine();
     try {
-      return inv.invokeFunction(functionName, unwrap(args));
+      engine.engine.setBindings(engine.newGlobal(), ScriptContext.ENGINE_SCOPE);
+      return ((Invocable) engine.engine).invokeFunction(functionName, unwrap(args));
     } catch (NoSuchMethodException e) {
       throw new JXPathInvalidAccessException("Cannot find function with the list of parameters", e);
     } catch (ScriptException e) {
       throw new JXPathInvalidAccessException("Problem executing javascript", e);
+    } finally {
+      idleEngines.offer(engine);
+    }
+  }
+
+  private PooledEngine borrowEngine() {
+    PooledEngine engine = idleEngines.poll();
+    if (engine != null) {
+      return engine;
+    }
+
+    ScriptEngine scriptEngine = FACTORY.getScriptEngine(NO_JAVA_CLASSES);
+    try {
+      return new PooledEngine(scriptEngine, ((Compilable) scriptEngine).compile(functionBody));
+    } catch (ScriptException e) {
+      throw new JXPathException("Problem evaluating " + functionName, e);
     }
   }
 
@@ -114,9 +138,32 @@ public class JavascriptEvalFunction implements Function {
         }
       } else {
         result.add(Object.class);
-      }  
+      }
     }
     return result.toArray(new Class[parameters.length]);
   }
 
+  private static final class PooledEngine {
+
+    private final ScriptEngine engine;
+
+    private final CompiledScript function;
+
+    private PooledEngine(ScriptEngine engine, CompiledScript function) {
+      this.engine = engine;
+      this.function = function;
+    }
+
+    /**
+     * Creates a new global scope without the removed bindings and evaluates the function into it
+     */
+    private Bindings newGlobal() throws ScriptException {
+      Bindings global = engine.createBindings();
+      for (String binding : REMOVED_BINDINGS) {
+        global.remove(binding);
+      }
+      function.eval(global);
+      return global;
+    }
+  }
 }
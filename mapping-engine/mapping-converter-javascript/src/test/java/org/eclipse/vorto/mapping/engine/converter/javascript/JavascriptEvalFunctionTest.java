@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.converter.javascript;
+
+import static org.junit.Assert.assertEquals;
+import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalFunction;
+import org.junit.Test;
+
+public class JavascriptEvalFunctionTest {
+
+  @Test
+  public void testDeclaredGlobalIsResetForEveryInvocation() {
+    JavascriptEvalFunction function = new JavascriptEvalFunction("count",
+        "var calls = 0; function count(value) { calls = calls + 1; return calls; }");
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(1, ((Number) function.invoke(null, new Object[] {"a"})).intValue());
+    }
+  }
+
+  @Test
+  public void testImplicitGlobalDoesNotLeakToNextInvocation() {
+    JavascriptEvalFunction function = new JavascriptEvalFunction("remember",
+        "function remember(value) { "
+            + "var previous = typeof last === 'undefined' ? 'none' : last; "
+            + "last = value; return previous; }");
+
+    assertEquals("none", function.invoke(null, new Object[] {"a"}));
+    assertEquals("none", function.invoke(null, new Object[] {"b"}));
+  }
+}
@@ -14,6 +14,12 @@ package org.eclipse.vorto.mapping.engine.converter.javascript;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.eclipse.vorto.mapping.engine.IDataMapper;
 import org.eclipse.vorto.mapping.engine.MappingException;
 import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
@@ -122,6 +128,40 @@ public class JsonMappingTest {
 
   }
 
+  @Test
+  public void testMappingWithCustomFunctionConcurrently() throws Exception {
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithCustomFunction())
+        .registerConverterFunction(TypeFunctionFactory.createFunctions())
+        .registerConverterFunction(StringFunctionFactory.createFunctions())
+        .registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+
+    final String[] clickTypes = new String[] {"SINGLE", "DOUBLE", ""};
+    final int[] expectedCounts = new int[] {1, 2, 99};
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 300; i++) {
+        final int index = i % clickTypes.length;
+        results.add(executor.submit(new Callable<Boolean>() {
+
+          @Override
+          public Boolean call() throws Exception {
+            InfomodelValue mappedOutput = mapper.mapSource(gson.fromJson(
+                "{\"clickType\" : \"" + clickTypes[index] + "\"}", Object.class));
+            return Integer.valueOf(expectedCounts[index]).equals(mappedOutput.get("button")
+                .getStatusProperty("digital_input_count").get().getValue());
+          }
+        }));
+      }
+      for (Future<Boolean> result : results) {
+        assertEquals(true, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test(expected = MappingException.class)
   public void testMappingWithMalicousScript() throws Exception {
 
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Maps batches of source payloads with a single {@link IDataMapper}. Items are mapped in chunks,
+ * either on the calling thread or on a caller supplied {@link Executor}, and the results are
+ * returned in the order of the input list. Backs the batch methods of {@link IDataMapper}.
+ */
+final class BatchMapping {
+
+  static final int CHUNK_SIZE = 32;
+
+  private BatchMapping() {}
+
+  static MappingResult mapSource(IDataMapper mapper, Object input) {
+    try {
+      return MappingResult.success(mapper.mapSource(input));
+    } catch (RuntimeException ex) {
+      return MappingResult.failure(ex);
+    }
+  }
+
+  static List<MappingResult> mapSources(IDataMapper mapper, List<?> inputs) {
+    MappingResult[] results = new MappingResult[inputs.size()];
+    mapChunk(mapper, inputs, results, 0, results.length);
+    return Collections.unmodifiableList(Arrays.asList(results));
+  }
+
+  static List<MappingResult> mapSources(IDataMapper mapper, List<?> inputs,
+      Executor executor) {
+    if (inputs.size() <= CHUNK_SIZE) {
+      return mapSources(mapper, inputs);
+    }
+
+    final MappingResult[] results = new MappingResult[inputs.size()];
+    List<CompletableFuture<Void>> chunks = new ArrayList<>();
+    for (int from = 0; from < results.length; from += CHUNK_SIZE) {
+      final int start = from;
+      final int end = Math.min(from + CHUNK_SIZE, results.length);
+      chunks.add(CompletableFuture
+          .runAsync(() -> mapChunk(mapper, inputs, results, start, end), executor));
+    }
+
+    try {
+      CompletableFuture.allOf(chunks.toArray(new CompletableFuture[chunks.size()])).join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+    return Collections.unmodifiableList(Arrays.asList(results));
+  }
+
+  private static void mapChunk(IDataMapper mapper, List<?> inputs, MappingResult[] results,
+      int start, int end) {
+    for (int i = start; i < end; i++) {
+      results[i] = mapSource(mapper, inputs.get(i));
+    }
+  }
+}
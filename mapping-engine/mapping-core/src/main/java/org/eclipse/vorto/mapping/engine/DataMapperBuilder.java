@@ -12,12 +12,16 @@
  */
 package org.eclipse.vorto.mapping.engine;
 
+import java.util.concurrent.ForkJoinPool;
 import org.eclipse.vorto.mapping.engine.functions.ClassFunction;
 import org.eclipse.vorto.mapping.engine.functions.IFunction;
 import org.eclipse.vorto.mapping.engine.functions.IScriptEvalProvider;
-import org.eclipse.vorto.mapping.engine.internal.DataMapperJxpath;
+import org.eclipse.vorto.mapping.engine.internal.DataMapperCompiled;
 import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
 import org.eclipse.vorto.mapping.engine.internal.functions.Jxpath;
+import org.eclipse.vorto.mapping.engine.internal.functions.MeteredFunctions;
+import org.eclipse.vorto.mapping.engine.metrics.IMappingMetricsListener;
+import org.eclipse.vorto.mapping.engine.metrics.MappingStage;
 import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
 
 public class DataMapperBuilder {
@@ -32,6 +36,12 @@ public class DataMapperBuilder {
 
   private IScriptEvalProvider provider = null;
 
+  private IMappingMetricsListener metrics = IMappingMetricsListener.NOOP;
+
+  private ForkJoinPool pool = null;
+
+  private int parallelThreshold = Integer.MAX_VALUE;
+
   protected DataMapperBuilder() {
     registerConditionFunction(FUNC_XPATH);
   }
@@ -55,9 +65,48 @@ public class DataMapperBuilder {
     return this;
   }
 
+  /**
+   * Builds an immutable data mapper, that can be shared by many threads. Functions registered
+   * after the mapper has been built do not affect the mapper.
+   */
   public IDataMapper build() {
-    this.functionLibrary.addConverterFunctions(specification.getScriptFunctions(this.provider));
-    return new DataMapperJxpath(specification, functionLibrary);
+    if (metrics == IMappingMetricsListener.NOOP) {
+      CustomFunctionsLibrary library = this.functionLibrary.copy();
+      library.addConverterFunctions(specification.getScriptFunctions(this.provider));
+      return new DataMapperCompiled(specification, library, metrics, pool, parallelThreshold);
+    }
+
+    CustomFunctionsLibrary library = this.functionLibrary
+        .copy(functions -> new MeteredFunctions(functions, MappingStage.CONVERTER, metrics));
+    library.addConverterFunctions(new MeteredFunctions(
+        specification.getScriptFunctions(this.provider), MappingStage.SCRIPT, metrics));
+    return new DataMapperCompiled(specification, library, metrics, pool, parallelThreshold);
+  }
+
+  /**
+   * Registers a listener that receives latencies, function block counts and errors of the mapper,
+   * e.g. a {@link org.eclipse.vorto.mapping.engine.metrics.HdrHistogramMetricsListener}. Without
+   * a listener, the mapper takes no times at all.
+   */
+  public DataMapperBuilder withMetricsListener(IMappingMetricsListener metrics) {
+    this.metrics = metrics != null ? metrics : IMappingMetricsListener.NOOP;
+    return this;
+  }
+
+  /**
+   * Maps the function blocks of large payloads concurrently on the given pool. The mapped function
+   * blocks are the same and in the same order as if they were mapped one after another. Converter
+   * functions and the metrics listener must be safe for concurrent use.
+   * 
+   * @param pool pool that maps the function blocks
+   * @param threshold minimum size of a payload, i.e. the number of members of a map payload or the
+   *        number of elements of an array payload, from which on its function blocks are mapped
+   *        concurrently. Smaller payloads are mapped on the calling thread.
+   */
+  public DataMapperBuilder withParallelFunctionblocks(ForkJoinPool pool, int threshold) {
+    this.pool = pool;
+    this.parallelThreshold = threshold;
+    return this;
   }
 
   public DataMapperBuilder withSpecification(IMappingSpecification specification) {
@@ -12,12 +12,20 @@
  */
 package org.eclipse.vorto.mapping.engine;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
 import org.eclipse.vorto.model.runtime.PropertyValue;
 
 /**
  * Data Mapper that maps specific device payload to Vorto compliant data and vica versa.
+ * <p>
+ * Data mappers built by {@link DataMapperBuilder} are immutable and safe for concurrent use, so a
+ * single instance should be shared by all threads mapping payloads of the same specification.
+ * The builder itself is not thread-safe.
+ * </p>
  *
  * @param <Result>
  */
@@ -35,13 +43,49 @@ public interface IDataMapper {
   InfomodelValue map(Object input, MappingContext context);
 
   /**
-   * Maps the given source object to Vorto compliant data structure
+   * Maps the given source object to Vorto compliant data structure. A {@link java.nio.ByteBuffer}
+   * or byte array input is mapped by the binary source fields (offset, length, endian) of the
+   * specification.
    * 
    * @param input source input data that is supposed to get mapped.
    * @return mapped payload that complies to Vorto Information Model
    */
   InfomodelValue mapSource(Object input);
 
+  /**
+   * Maps a batch of source objects on the calling thread. A failure of one item does not fail the
+   * batch but is captured in the result of that item.
+   * 
+   * @param inputs source input data items that are supposed to get mapped
+   * @return mapping results in the order of the given inputs
+   */
+  default List<MappingResult> mapSourceBatch(List<?> inputs) {
+    return BatchMapping.mapSources(this, inputs);
+  }
+
+  /**
+   * Maps a batch of source objects by splitting it into chunks that are mapped on the given
+   * executor. A failure of one item does not fail the batch but is captured in the result of that
+   * item.
+   * 
+   * @param inputs source input data items that are supposed to get mapped
+   * @param executor executor that maps the chunks of the batch
+   * @return mapping results in the order of the given inputs
+   */
+  default List<MappingResult> mapSourceBatch(List<?> inputs, Executor executor) {
+    return BatchMapping.mapSources(this, inputs, executor);
+  }
+
+  /**
+   * Lazily maps a stream of source objects, capturing failures per item
+   * 
+   * @param inputs source input data items that are supposed to get mapped
+   * @return stream of mapping results with the same encounter order as the given inputs
+   */
+  default Stream<MappingResult> mapSourceStream(Stream<?> inputs) {
+    return inputs.map(input -> BatchMapping.mapSource(this, input));
+  }
+
   /**
    * Maps the given new property
    * 
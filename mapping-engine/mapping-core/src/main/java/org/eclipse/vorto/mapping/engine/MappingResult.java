@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine;
+
+import java.util.Optional;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+
+/**
+ * Result of mapping a single item of a batch. Either holds the mapped value or the error that
+ * occurred while mapping the item, so that one faulty payload does not fail the whole batch.
+ */
+public final class MappingResult {
+
+  private final InfomodelValue value;
+
+  private final RuntimeException error;
+
+  private MappingResult(InfomodelValue value, RuntimeException error) {
+    this.value = value;
+    this.error = error;
+  }
+
+  public static MappingResult success(InfomodelValue value) {
+    return new MappingResult(value, null);
+  }
+
+  public static MappingResult failure(RuntimeException error) {
+    return new MappingResult(null, error);
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  /**
+   * @return mapped value or null if mapping of the item failed
+   */
+  public InfomodelValue getValue() {
+    return value;
+  }
+
+  /**
+   * @return the error that occurred during mapping of the item
+   */
+  public Optional<RuntimeException> getError() {
+    return Optional.ofNullable(error);
+  }
+
+  @Override
+  public String toString() {
+    return isSuccess() ? "MappingResult [value=" + value + "]"
+        : "MappingResult [error=" + error + "]";
+  }
+}
@@ -12,12 +12,427 @@
  */
 package org.eclipse.vorto.mapping.engine.decoder;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.text.StrSubstitutor;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
+
+/**
+ * Deserializes a CSV record into an array, which is addressed as <code>array</code> by the
+ * mapping specification. The record is tokenized in a single pass. Fields may be enclosed in double
+ * quotes, which allows delimiters and line breaks within a field. Double quotes within a quoted
+ * field are escaped by another double quote. A trailing line break of the record is ignored.
+ * <p>
+ * Without column types all fields are returned as strings. If created for a mapping specification,
+ * the fields of columns that are mapped directly to a property of a numeric or boolean type, e.g.
+ * by the xpath <code>array[2]</code>, are converted to that type while tokenizing. Columns that are
+ * also referenced by a condition or any other expression, e.g. a converter function, are returned
+ * as strings, as these expressions expect the fields as they are. Empty fields of typed columns are
+ * returned as null.
+ * </p>
+ */
 public class CSVDeserializer implements IPayloadDeserializer {
 
+  private static final char DEFAULT_DELIMITER = ',';
+
+  private static final char QUOTE = '"';
+
+  private static final Pattern ARRAY_COLUMN = Pattern.compile("/?array\\[(\\d+)\\]");
+
+  /**
+   * Reference of the payload within an expression, either indexed or as a whole
+   */
+  private static final Pattern ARRAY_REFERENCE =
+      Pattern.compile("\\barray\\b(?:\\s*\\[\\s*(\\d+)\\s*\\])?");
+
+  private static final String STEREOTYPE_CONDITION = "condition";
+  private static final String ATTRIBUTE_VALUE = "value";
+
+  private static final PrimitiveType[] NO_COLUMN_TYPES = new PrimitiveType[0];
+
+  private final char delimiter;
+
+  private final PrimitiveType[] columnTypes;
+
+  /**
+   * Creates a deserializer for comma separated records that returns all fields as strings
+   */
+  public CSVDeserializer() {
+    this(DEFAULT_DELIMITER);
+  }
+
+  /**
+   * Creates a deserializer that returns all fields as strings
+   *
+   * @param delimiter character that separates the fields of a record
+   */
+  public CSVDeserializer(char delimiter) {
+    this(delimiter, NO_COLUMN_TYPES);
+  }
+
+  /**
+   * @param delimiter character that separates the fields of a record
+   * @param columnTypes types of the columns by their position. Fields of columns without type, of
+   *        type {@link PrimitiveType#STRING} or of any other non numeric and non boolean type are
+   *        returned as strings.
+   */
+  public CSVDeserializer(char delimiter, PrimitiveType... columnTypes) {
+    if (delimiter == QUOTE || delimiter == '\r' || delimiter == '\n') {
+      throw new IllegalArgumentException("Invalid delimiter " + delimiter);
+    }
+    this.delimiter = delimiter;
+    this.columnTypes = columnTypes.clone();
+  }
+
+  /**
+   * Creates a deserializer for comma separated records that converts the columns which are
+   * mapped directly to numeric or boolean properties by the given specification
+   *
+   * @param specification specification that is used to map the deserialized payloads
+   */
+  public CSVDeserializer(IMappingSpecification specification) {
+    this(specification, DEFAULT_DELIMITER);
+  }
+
+  /**
+   * @param specification specification that is used to map the deserialized payloads
+   * @param delimiter character that separates the fields of a record
+   */
+  public CSVDeserializer(IMappingSpecification specification, char delimiter) {
+    this(delimiter, columnTypesOf(specification));
+  }
+
   @Override
   public Object deserialize(String source) {
-    return ((String)source).split(",");
+    return deserialize((CharSequence) source);
+  }
+
+  public Object deserialize(CharSequence source) {
+    return tokenize(new CharSource(source));
+  }
+
+  /**
+   * Deserializes the given UTF-8 encoded record. Numeric and boolean fields are converted without
+   * decoding them to strings first.
+   */
+  public Object deserialize(byte[] source) {
+    return tokenize(new ByteSource(source));
+  }
+
+  /**
+   * @return types of the columns by their position, null for columns that are returned as strings
+   */
+  public PrimitiveType[] getColumnTypes() {
+    return columnTypes.clone();
+  }
+
+  private Object[] tokenize(Source source) {
+    List<Object> fields = new ArrayList<>();
+    int end = source.length();
+    if (end > 0 && source.charAt(end - 1) == '\n') {
+      end--;
+    }
+    if (end > 0 && source.charAt(end - 1) == '\r') {
+      end--;
+    }
+
+    int position = 0;
+    while (true) {
+      int column = fields.size();
+      PrimitiveType type = column < columnTypes.length ? columnTypes[column] : null;
+      int next;
+      if (position < end && source.charAt(position) == QUOTE) {
+        next = readQuoted(source, position + 1, end, type, fields);
+      } else {
+        next = position;
+        while (next < end && source.charAt(next) != delimiter) {
+          next++;
+        }
+        fields.add(convert(source, position, next, type));
+      }
+      if (next >= end) {
+        break;
+      }
+      position = next + 1;
+    }
+
+    if (columnTypes.length == 0) {
+      return fields.toArray(new String[fields.size()]);
+    }
+    return fields.toArray();
+  }
+
+  /**
+   * Reads a quoted field starting after the opening quote
+   *
+   * @return position of the delimiter after the closing quote or the end of the record
+   */
+  private int readQuoted(Source source, int start, int end, PrimitiveType type,
+      List<Object> fields) {
+    boolean escaped = false;
+    int position = start;
+    while (true) {
+      if (position >= end) {
+        throw new IllegalArgumentException("Unterminated quoted field at position " + start);
+      }
+      if (source.charAt(position) == QUOTE) {
+        if (position + 1 < end && source.charAt(position + 1) == QUOTE) {
+          escaped = true;
+          position += 2;
+          continue;
+        }
+        break;
+      }
+      position++;
+    }
+
+    if (escaped) {
+      String text = source.text(start, position).replace("\"\"", "\"");
+      fields.add(type == null ? text : convert(new CharSource(text), 0, text.length(), type));
+    } else {
+      fields.add(convert(source, start, position, type));
+    }
+
+    int next = position + 1;
+    if (next < end && source.charAt(next) != delimiter) {
+      throw new IllegalArgumentException("Unexpected character after quoted field at position "
+          + next);
+    }
+    return next;
+  }
 
+  private static Object convert(Source source, int start, int end, PrimitiveType type) {
+    if (type == null) {
+      return source.text(start, end);
+    }
+    if (start == end) {
+      return null;
+    }
+    switch (type) {
+      case INT:
+        return (int) parseLong(source, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+      case LONG:
+        return parseLong(source, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+      case SHORT:
+        return (short) parseLong(source, start, end, Short.MIN_VALUE, Short.MAX_VALUE);
+      case BYTE:
+        return (byte) parseLong(source, start, end, Byte.MIN_VALUE, Byte.MAX_VALUE);
+      case FLOAT:
+        return Float.parseFloat(source.text(start, end));
+      case DOUBLE:
+        return Double.parseDouble(source.text(start, end));
+      case BOOLEAN:
+        return parseBoolean(source, start, end);
+      default:
+        return source.text(start, end);
+    }
   }
 
+  private static long parseLong(Source source, int start, int end, long min, long max) {
+    int position = start;
+    boolean negative = false;
+    char first = source.charAt(position);
+    if (first == '-' || first == '+') {
+      negative = first == '-';
+      position++;
+    }
+    if (position == end) {
+      throw new NumberFormatException("For input string: \"" + source.text(start, end) + "\"");
+    }
+    // accumulates negatively to cover the minimum value
+    long limit = negative ? min : -max;
+    long result = 0;
+    for (; position < end; position++) {
+      int digit = source.charAt(position) - '0';
+      if (digit < 0 || digit > 9 || result < limit / 10 || result * 10 < limit + digit) {
+        throw new NumberFormatException("For input string: \"" + source.text(start, end) + "\"");
+      }
+      result = result * 10 - digit;
+    }
+    return negative ? result : -result;
+  }
+
+  private static Boolean parseBoolean(Source source, int start, int end) {
+    return end - start == 4 && (source.charAt(start) | 0x20) == 't'
+        && (source.charAt(start + 1) | 0x20) == 'r' && (source.charAt(start + 2) | 0x20) == 'u'
+        && (source.charAt(start + 3) | 0x20) == 'e';
+  }
+
+  /**
+   * Determines the column types of the properties that are mapped directly to a field of the
+   * record. Columns that are mapped to properties of different types or that are referenced by
+   * any other expression or condition are returned as strings. If an expression references the
+   * whole record, all columns are returned as strings.
+   */
+  static PrimitiveType[] columnTypesOf(IMappingSpecification specification) {
+    ColumnTypes columns = new ColumnTypes();
+    for (ModelProperty fbProperty : specification.getInfoModel().getFunctionblocks()) {
+      FunctionblockModel functionblock = specification.getFunctionBlock(fbProperty.getName());
+      Optional<Stereotype> condition = functionblock.getStereotype(STEREOTYPE_CONDITION);
+      if (condition.isPresent()) {
+        // JEXL indexes start at 0
+        columns.addReferences(condition.get().getAttributes().get(ATTRIBUTE_VALUE), 0);
+      }
+      columns.addProperties(functionblock.getStatusProperties());
+      columns.addProperties(functionblock.getConfigurationProperties());
+    }
+    return columns.toArray();
+  }
+
+  private static final class ColumnTypes {
+
+    private final List<PrimitiveType> types = new ArrayList<>();
+
+    private final Set<Integer> untyped = new HashSet<>();
+
+    private boolean wholeRecord = false;
+
+    void addProperties(List<ModelProperty> properties) {
+      for (ModelProperty property : properties) {
+        Optional<Stereotype> source = property.getStereotype(Stereotype.SOURCE);
+        String xpath = source.isPresent() ? resolveXpath(source.get().getAttributes()) : null;
+        if (xpath == null) {
+          if (property.getType() instanceof EntityModel) {
+            addProperties(((EntityModel) property.getType()).getProperties());
+          }
+          continue;
+        }
+        addReferences(source.get().getAttributes().get(Stereotype.CONDITION_ATT), 0);
+
+        Matcher matcher = ARRAY_COLUMN.matcher(xpath.trim());
+        if (matcher.matches() && property.getType() instanceof PrimitiveType) {
+          // xpath positions start at 1
+          addType(Integer.parseInt(matcher.group(1)) - 1, (PrimitiveType) property.getType());
+        } else {
+          addReferences(xpath, 1);
+        }
+      }
+    }
+
+    private static String resolveXpath(Map<String, String> attributes) {
+      String xpath = attributes.get(Stereotype.XPATH_ATT);
+      if (xpath == null || xpath.isEmpty()) {
+        return null;
+      }
+      return new StrSubstitutor(attributes).replace(xpath);
+    }
+
+    private void addType(int column, PrimitiveType type) {
+      if (column < 0) {
+        return;
+      }
+      while (types.size() <= column) {
+        types.add(null);
+      }
+      if (types.get(column) == null) {
+        types.set(column, type);
+      } else if (types.get(column) != type) {
+        untyped.add(column);
+      }
+    }
+
+    /**
+     * Adds the columns referenced by the given expression as columns that are returned as strings
+     *
+     * @param firstIndex index of the first column within the expression
+     */
+    void addReferences(String expression, int firstIndex) {
+      if (expression == null) {
+        return;
+      }
+      Matcher matcher = ARRAY_REFERENCE.matcher(expression);
+      while (matcher.find()) {
+        if (matcher.group(1) == null) {
+          wholeRecord = true;
+        } else {
+          untyped.add(Integer.parseInt(matcher.group(1)) - firstIndex);
+        }
+      }
+    }
+
+    PrimitiveType[] toArray() {
+      if (wholeRecord) {
+        return NO_COLUMN_TYPES;
+      }
+      for (int i = 0; i < types.size(); i++) {
+        if (types.get(i) == PrimitiveType.STRING || untyped.contains(i)) {
+          types.set(i, null);
+        }
+      }
+      return types.toArray(new PrimitiveType[types.size()]);
+    }
+  }
+
+  /**
+   * Record to tokenize. All characters that structure a record are ASCII, so UTF-8 encoded
+   * records can be tokenized by their bytes.
+   */
+  private interface Source {
+
+    int length();
+
+    char charAt(int index);
+
+    String text(int start, int end);
+  }
+
+  private static final class CharSource implements Source {
+
+    private final CharSequence chars;
+
+    CharSource(CharSequence chars) {
+      this.chars = chars;
+    }
+
+    @Override
+    public int length() {
+      return chars.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      return chars.charAt(index);
+    }
+
+    @Override
+    public String text(int start, int end) {
+      return chars.subSequence(start, end).toString();
+    }
+  }
+
+  private static final class ByteSource implements Source {
+
+    private final byte[] bytes;
+
+    ByteSource(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    public int length() {
+      return bytes.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return (char) (bytes[index] & 0xFF);
+    }
+
+    @Override
+    public String text(int start, int end) {
+      return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+  }
 }
@@ -13,11 +13,10 @@
 package org.eclipse.vorto.mapping.engine.decoder;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 public class JSONDeserializer implements IPayloadDeserializer {
 
-  private static Gson gson = new GsonBuilder().setPrettyPrinting().create();
+  private static Gson gson = new Gson();
   
   @Override
   public Object deserialize(String source) {
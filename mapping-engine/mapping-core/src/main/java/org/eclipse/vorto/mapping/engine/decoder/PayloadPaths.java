@@ -0,0 +1,312 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.decoder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.eclipse.vorto.mapping.engine.internal.plan.ConditionPlan;
+import org.eclipse.vorto.mapping.engine.internal.plan.FunctionblockPlan;
+import org.eclipse.vorto.mapping.engine.internal.plan.MappingPlan;
+import org.eclipse.vorto.mapping.engine.internal.plan.PropertyPlan;
+
+/**
+ * Tree of the payload member names that are referenced by the xpath expressions and conditions of
+ * a compiled mapping plan. The tree is built conservatively: whenever an expression may refer to
+ * members that cannot be determined statically, e.g. by wildcards, descendant or parent steps, or
+ * by passing a whole object to a function, the affected subtree is marked complete and is
+ * materialized entirely.
+ */
+final class PayloadPaths {
+
+  private static final Pattern XPATH_EVAL_ARGUMENT =
+      Pattern.compile(".*xpath:eval\\s*\\(\\s*('[^']*'|\"[^\"]*\")\\s*,\\s*$", Pattern.DOTALL);
+
+  private final Map<String, PayloadPaths> children = new HashMap<>();
+
+  private boolean complete = false;
+
+  private PayloadPaths() {}
+
+  /**
+   * @return paths that materialize the complete payload
+   */
+  static PayloadPaths all() {
+    PayloadPaths paths = new PayloadPaths();
+    paths.complete = true;
+    return paths;
+  }
+
+  /**
+   * @return paths that do not reference any member
+   */
+  static PayloadPaths none() {
+    return new PayloadPaths();
+  }
+
+  static PayloadPaths fromPlan(MappingPlan plan) {
+    PayloadPaths root = new PayloadPaths();
+    for (FunctionblockPlan functionblock : plan.getFunctionblocks()) {
+      root.addCondition(functionblock.getCondition());
+      root.addProperties(functionblock.getStatusProperties());
+      root.addProperties(functionblock.getConfigurationProperties());
+    }
+    return root;
+  }
+
+  /**
+   * @return true, if the whole subtree of this node is referenced
+   */
+  boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * @return paths of the member with the given name or null, if the member is not referenced
+   */
+  PayloadPaths get(String name) {
+    return complete ? this : children.get(name);
+  }
+
+  private PayloadPaths getOrCreate(String name) {
+    if (complete) {
+      return this;
+    }
+    return children.computeIfAbsent(name, key -> new PayloadPaths());
+  }
+
+  private void markComplete() {
+    complete = true;
+    children.clear();
+  }
+
+  private void addProperties(List<PropertyPlan> properties) {
+    for (PropertyPlan property : properties) {
+      if (property.getXpath() != null) {
+        addExpression(property.getXpath());
+      }
+      addCondition(property.getCondition());
+      if (property.getEntityProperties() != null) {
+        addProperties(property.getEntityProperties());
+      }
+    }
+  }
+
+  private void addCondition(ConditionPlan condition) {
+    if (condition != null) {
+      addExpression(condition.getExpression());
+    }
+  }
+
+  void addExpression(String expression) {
+    new Scanner(expression, this).scan(this, (char) 0);
+  }
+
+  /**
+   * Scans xpath and JEXL expressions for location paths, following steps separated by '/' or '.'
+   * and predicates in square brackets.
+   */
+  private static class Scanner {
+
+    private final String text;
+
+    private final PayloadPaths root;
+
+    private int pos = 0;
+
+    Scanner(String text, PayloadPaths root) {
+      this.text = text;
+      this.root = root;
+    }
+
+    void scan(PayloadPaths context, char terminator) {
+      while (pos < text.length()) {
+        char c = text.charAt(pos);
+        if (c == terminator) {
+          pos++;
+          return;
+        } else if (c == '\'' || c == '"') {
+          // literals may hold paths as well, e.g. in xpath:eval('data/value', this)
+          new Scanner(readLiteral(c), root).scan(context, (char) 0);
+        } else if (c == '[') {
+          pos++;
+          scan(context, ']');
+        } else if (c == '/') {
+          pos++;
+          if (isNameStart(peek())) {
+            readPath(root);
+          } else {
+            root.markComplete();
+          }
+        } else if (c == '.') {
+          pos++;
+          if (Character.isDigit(peek())) {
+            readNumber();
+          } else if (isNameStart(peek())) {
+            readPath(context);
+          } else {
+            root.markComplete();
+          }
+        } else if (c == '*' && isWildcardPosition()) {
+          root.markComplete();
+          pos++;
+        } else if (c == '$') {
+          pos++;
+          readName();
+        } else if (Character.isDigit(c)) {
+          readNumber();
+        } else if (isNameStart(c)) {
+          readPath(context);
+        } else {
+          pos++;
+        }
+      }
+    }
+
+    private void readPath(PayloadPaths context) {
+      int start = pos;
+      String name = readName();
+      skipWhitespace();
+      if (peek() == '(') {
+        return; // function call, the arguments are scanned as part of the expression
+      }
+      if (peek() == ':' && peekNext() == ':') {
+        root.markComplete(); // axis
+        return;
+      }
+
+      List<PayloadPaths> nodes = new ArrayList<>();
+      nodes.add(context.getOrCreate(name));
+      if (("this".equals(name) || "obj".equals(name))
+          && (isPathSeparator(peek()) || !isXpathEvalArgument(start))) {
+        nodes.add(root);
+      }
+      if (name.indexOf('-') > 0 || name.indexOf(':') > 0) {
+        // may also be an arithmetic or ternary expression of relative paths
+        for (String part : name.split("[-:]")) {
+          context.getOrCreate(part).markComplete();
+        }
+      }
+
+      while (true) {
+        skipWhitespace();
+        if (peek() == '[') {
+          int predicateStart = ++pos;
+          for (PayloadPaths node : nodes) {
+            pos = predicateStart;
+            scan(node, ']');
+          }
+        } else if (isPathSeparator(peek()) && isNameStart(peekNext())) {
+          pos++;
+          String step = readName();
+          skipWhitespace();
+          if (peek() == '(') {
+            break; // method invoked on the object of the previous step
+          }
+          List<PayloadPaths> next = new ArrayList<>(nodes.size());
+          for (PayloadPaths node : nodes) {
+            next.add(node.getOrCreate(step));
+          }
+          nodes = next;
+        } else if (isPathSeparator(peek()) && isPathSeparator(peekNext())) {
+          root.markComplete(); // descendant or parent steps
+          return;
+        } else if (peek() == '/' && peekNext() == '*') {
+          pos += 2;
+          break;
+        } else {
+          break;
+        }
+      }
+
+      for (PayloadPaths node : nodes) {
+        node.markComplete();
+      }
+    }
+
+    /**
+     * The root object passed to the built-in xpath:eval function is only accessed by the path
+     * given as literal, which has already been scanned
+     */
+    private boolean isXpathEvalArgument(int start) {
+      return XPATH_EVAL_ARGUMENT.matcher(text.substring(0, start)).matches();
+    }
+
+    private boolean isWildcardPosition() {
+      for (int i = pos - 1; i >= 0; i--) {
+        char c = text.charAt(i);
+        if (!Character.isWhitespace(c)) {
+          return c == '(' || c == ',' || c == '[' || c == '|';
+        }
+      }
+      return true;
+    }
+
+    private String readName() {
+      int start = pos;
+      while (pos < text.length()) {
+        char c = text.charAt(pos);
+        if (c == '@' && pos == start) {
+          start++;
+        } else if (Character.isLetterOrDigit(c) || c == '_') {
+          // part of the name
+        } else if ((c == '-' || c == ':') && pos > start && isNameStart(peekNext())) {
+          // hyphenated name or namespace prefix
+        } else {
+          break;
+        }
+        pos++;
+      }
+      return text.substring(start, pos);
+    }
+
+    private void readNumber() {
+      while (pos < text.length()
+          && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+        pos++;
+      }
+    }
+
+    private String readLiteral(char quote) {
+      int start = ++pos;
+      while (pos < text.length() && text.charAt(pos) != quote) {
+        pos++;
+      }
+      return text.substring(start, pos++);
+    }
+
+    private void skipWhitespace() {
+      while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+        pos++;
+      }
+    }
+
+    private char peek() {
+      return pos < text.length() ? text.charAt(pos) : (char) 0;
+    }
+
+    private char peekNext() {
+      return pos + 1 < text.length() ? text.charAt(pos + 1) : (char) 0;
+    }
+
+    private static boolean isNameStart(char c) {
+      return Character.isLetter(c) || c == '_' || c == '@';
+    }
+
+    private static boolean isPathSeparator(char c) {
+      return c == '/' || c == '.';
+    }
+  }
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.decoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.jexl2.JexlEngine;
+import org.eclipse.vorto.mapping.engine.internal.plan.MappingPlan;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * JSON deserializer that reads the payload with a streaming reader instead of building a full
+ * object tree. If created for a mapping specification, only the payload members that are
+ * referenced by the xpath expressions and conditions of the specification are materialized, all
+ * other members are skipped while reading. The resulting structure (maps, lists, strings, doubles
+ * and booleans) is the same as the one of {@link JSONDeserializer}.
+ */
+public class StreamingJSONDeserializer implements IPayloadDeserializer {
+
+  private static final String ARRAY_PAYLOAD = "array";
+
+  private static final PayloadPaths NO_PATHS = PayloadPaths.none();
+
+  private final PayloadPaths paths;
+
+  /**
+   * Creates a deserializer that materializes the complete payload
+   */
+  public StreamingJSONDeserializer() {
+    this.paths = PayloadPaths.all();
+  }
+
+  /**
+   * Creates a deserializer that only materializes the payload members referenced by the given
+   * mapping specification
+   * 
+   * @param specification specification that is used to map the deserialized payloads
+   */
+  public StreamingJSONDeserializer(IMappingSpecification specification) {
+    this.paths = PayloadPaths.fromPlan(MappingPlan.compile(specification, new JexlEngine()));
+  }
+
+  @Override
+  public Object deserialize(String source) {
+    return deserialize(new StringReader(source));
+  }
+
+  public Object deserialize(byte[] source) {
+    return deserialize(new ByteArrayInputStream(source));
+  }
+
+  /**
+   * Deserializes the remaining bytes of the given buffer without changing its position
+   */
+  public Object deserialize(ByteBuffer source) {
+    if (source.hasArray()) {
+      return deserialize(new ByteArrayInputStream(source.array(),
+          source.arrayOffset() + source.position(), source.remaining()));
+    }
+    return deserialize(new ByteBufferInputStream(source.duplicate()));
+  }
+
+  public Object deserialize(InputStream source) {
+    return deserialize(new InputStreamReader(source, StandardCharsets.UTF_8));
+  }
+
+  private Object deserialize(Reader source) {
+    JsonReader reader = new JsonReader(source);
+    reader.setLenient(true);
+    boolean empty = true;
+    try {
+      JsonToken token = reader.peek();
+      empty = false;
+      Object result;
+      if (token == JsonToken.BEGIN_ARRAY && !paths.isComplete()) {
+        // array payloads are addressed as 'array' by the mapping specification
+        PayloadPaths arrayPaths = paths.get(ARRAY_PAYLOAD);
+        result = read(reader, arrayPaths != null ? arrayPaths : NO_PATHS);
+      } else {
+        result = read(reader, paths);
+      }
+      if (reader.peek() != JsonToken.END_DOCUMENT) {
+        throw new JsonIOException("JSON document was not fully consumed.");
+      }
+      return result;
+    } catch (EOFException e) {
+      if (empty) {
+        return null;
+      }
+      throw new JsonSyntaxException(e);
+    } catch (MalformedJsonException | IllegalStateException | NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  private Object read(JsonReader reader, PayloadPaths paths) throws IOException {
+    switch (reader.peek()) {
+      case BEGIN_OBJECT:
+        Map<String, Object> object = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+          String name = reader.nextName();
+          PayloadPaths memberPaths = paths.get(name);
+          if (memberPaths != null) {
+            object.put(name, read(reader, memberPaths));
+          } else {
+            reader.skipValue();
+          }
+        }
+        reader.endObject();
+        return object;
+      case BEGIN_ARRAY:
+        List<Object> array = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+          array.add(read(reader, paths));
+        }
+        reader.endArray();
+        return array;
+      case STRING:
+        return reader.nextString();
+      case NUMBER:
+        return reader.nextDouble();
+      case BOOLEAN:
+        return reader.nextBoolean();
+      case NULL:
+        reader.nextNull();
+        return null;
+      default:
+        throw new IllegalStateException("Unexpected token " + reader.peek());
+    }
+  }
+
+  private static class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal;
+
+import java.util.Collection;
+import java.util.Locale;
+import org.apache.commons.jxpath.DynamicPropertyHandler;
+import org.apache.commons.jxpath.ri.QName;
+import org.apache.commons.jxpath.ri.model.NodePointer;
+import org.apache.commons.jxpath.ri.model.dynamic.DynamicPointer;
+
+/**
+ * Creates the root pointer of the JXPath contexts of the mapping engine, see
+ * {@link ReusableJXPathContext}. Array payloads, i.e. lists and other collections, object arrays
+ * and primitive arrays, are exposed as the only property <code>array</code> of the root, so that
+ * xpaths like <code>/array[1]</code> index the payload directly instead of a map that wraps it.
+ * <p>
+ * Only the roots of the contexts created by {@link JxPathFactory} are affected. Other JXPath
+ * contexts of the process as well as collections and arrays nested within a payload are still
+ * handled by the default pointers of JXPath.
+ * </p>
+ */
+public final class ArrayPayloadPointerFactory {
+
+  public static final String ARRAY_PROPERTY = "array";
+
+  private static final QName ROOT = new QName(null, "root");
+
+  private static final DynamicPropertyHandler HANDLER = new ArrayPayloadHandler();
+
+  private ArrayPayloadPointerFactory() {}
+
+  /**
+   * @return true, if the given payload is addressed as <code>array</code> by the mapping
+   *         specification
+   */
+  public static boolean isArrayPayload(Object payload) {
+    return payload instanceof Collection<?>
+        || (payload != null && payload.getClass().isArray());
+  }
+
+  /**
+   * Creates the root pointer of a context for the given payload
+   */
+  static NodePointer createRootPointer(Object payload, Locale locale) {
+    if (isArrayPayload(payload)) {
+      return new DynamicPointer(ROOT, payload, HANDLER, locale);
+    }
+    return NodePointer.newNodePointer(ROOT, payload, locale);
+  }
+
+  private static final class ArrayPayloadHandler implements DynamicPropertyHandler {
+
+    private static final String[] PROPERTY_NAMES = new String[] {ARRAY_PROPERTY};
+
+    @Override
+    public String[] getPropertyNames(Object payload) {
+      return PROPERTY_NAMES.clone();
+    }
+
+    @Override
+    public Object getProperty(Object payload, String propertyName) {
+      return ARRAY_PROPERTY.equals(propertyName) ? payload : null;
+    }
+
+    @Override
+    public void setProperty(Object payload, String propertyName, Object value) {
+      throw new UnsupportedOperationException("Array payloads are read-only");
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.commons.jexl2.Expression;
+import org.apache.commons.jexl2.JexlEngine;
+import org.eclipse.vorto.mapping.engine.internal.plan.ConditionPlan;
+import org.eclipse.vorto.model.Stereotype;
+
+/**
+ * Size-bounded cache of parsed JEXL conditions, keyed by the stereotype that declares the
+ * condition. The cache is safe for concurrent use.
+ */
+public class ConditionCache {
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+  private final JexlEngine jexlEngine;
+
+  private final int maximumSize;
+
+  private final ConcurrentMap<Stereotype, Expression> expressions = new ConcurrentHashMap<>();
+
+  public ConditionCache(JexlEngine jexlEngine, int maximumSize) {
+    this.jexlEngine = jexlEngine;
+    this.maximumSize = maximumSize;
+  }
+
+  public ConditionCache(JexlEngine jexlEngine) {
+    this(jexlEngine, DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * Gets the parsed condition of the given stereotype attribute. Once the cache has reached its
+   * maximum size, conditions of new stereotypes are parsed but not cached anymore.
+   * 
+   * @param stereotype stereotype declaring the condition
+   * @param attribute attribute of the stereotype that holds the condition
+   * @return parsed and normalized condition expression
+   */
+  public Expression get(Stereotype stereotype, String attribute) {
+    Expression expression = expressions.get(stereotype);
+    if (expression != null) {
+      return expression;
+    }
+
+    expression = jexlEngine
+        .createExpression(ConditionPlan.normalize(stereotype.getAttributes().get(attribute)));
+    if (expressions.size() < maximumSize) {
+      Expression existing = expressions.putIfAbsent(stereotype, expression);
+      if (existing != null) {
+        return existing;
+      }
+    }
+    return expression;
+  }
+
+  /**
+   * @return engine that parses the conditions and holds the registered condition functions
+   */
+  public JexlEngine getJexlEngine() {
+    return jexlEngine;
+  }
+
+  public int size() {
+    return expressions.size();
+  }
+
+  @Override
+  public String toString() {
+    return "ConditionCache [size=" + size() + "]";
+  }
+}
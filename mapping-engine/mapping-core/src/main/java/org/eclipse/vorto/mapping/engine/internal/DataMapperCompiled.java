@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import org.apache.commons.jexl2.JexlEngine;
+import org.apache.commons.jxpath.JXPathContext;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.MappingContext;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
+import org.eclipse.vorto.mapping.engine.internal.plan.FunctionblockPlan;
+import org.eclipse.vorto.mapping.engine.internal.plan.MappingPlan;
+import org.eclipse.vorto.mapping.engine.metrics.IMappingMetricsListener;
+import org.eclipse.vorto.mapping.engine.metrics.MappingStage;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.Stereotype;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.model.runtime.PropertyValue;
+
+/**
+ * Data Mapper that compiles the mapping specification once into an immutable {@link MappingPlan}
+ * and only executes that plan for every payload. It produces the same results as
+ * {@link DataMapperJxpath}, which remains the reference implementation.
+ * <p>
+ * {@link ByteBuffer} inputs are mapped directly by the binary source fields of the specification,
+ * see {@link org.eclipse.vorto.mapping.engine.internal.plan.BinaryFieldPlan}. Byte arrays are only
+ * mapped that way, if the specification declares binary source fields. Otherwise, byte arrays as
+ * well as other arrays and collections are indexed directly as <code>array</code>, see
+ * {@link ArrayPayloadPointerFactory}. Properties with only an xpath source of a specification that
+ * also declares binary source fields are evaluated on the same bytes, i.e. on the remaining bytes
+ * of a {@link ByteBuffer}.
+ * </p>
+ * <p>
+ * Optionally, the function blocks of large payloads are mapped concurrently on a
+ * {@link ForkJoinPool}, see {@link ParallelMapping}.
+ * </p>
+ * <p>
+ * The mapper holds no mutable state other than one reusable JXPath context per thread and uses
+ * an immutable copy of the given function library, so it is safe for concurrent use.
+ * </p>
+ */
+public class DataMapperCompiled implements IDataMapper {
+
+  private static final String STEREOTYPE_TARGET = "target";
+
+  private final JxPathFactory jxpathHelper;
+
+  private final MappingPlan plan;
+
+  private final ConditionCache conditionCache;
+
+  private final IMappingMetricsListener metrics;
+
+  private final ForkJoinPool pool;
+
+  private final int parallelThreshold;
+
+  public DataMapperCompiled(IMappingSpecification mappingSpecification,
+      CustomFunctionsLibrary functionLibrary) {
+    this(mappingSpecification, functionLibrary, IMappingMetricsListener.NOOP);
+  }
+
+  /**
+   * @param metrics listener that receives the metrics of the mapping stages. Converter functions
+   *        of the given library are expected to be decorated already.
+   */
+  public DataMapperCompiled(IMappingSpecification mappingSpecification,
+      CustomFunctionsLibrary functionLibrary, IMappingMetricsListener metrics) {
+    this(mappingSpecification, functionLibrary, metrics, null, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param pool pool that maps the function blocks of large payloads concurrently or null, if
+   *        function blocks are always mapped one after another
+   * @param parallelThreshold minimum size of a payload, see {@link ParallelMapping#sizeOf(Object)},
+   *        from which on its function blocks are mapped on the pool
+   */
+  public DataMapperCompiled(IMappingSpecification mappingSpecification,
+      CustomFunctionsLibrary functionLibrary, IMappingMetricsListener metrics, ForkJoinPool pool,
+      int parallelThreshold) {
+    CustomFunctionsLibrary library = functionLibrary.immutableCopy();
+    this.jxpathHelper = new JxPathFactory(library);
+    this.conditionCache = new ConditionCache(createJexlEngine(library));
+    this.plan = MappingPlan.compile(mappingSpecification, conditionCache);
+    this.metrics = metrics;
+    this.pool = pool;
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  private static JexlEngine createJexlEngine(CustomFunctionsLibrary functionLibrary) {
+    JexlEngine jexl = new JexlEngine();
+    jexl.setFunctions(functionLibrary.getConditionFunctions());
+    return jexl;
+  }
+
+  @Override
+  public InfomodelValue map(Object input, MappingContext mappingContext) {
+    JXPathContext context = jxpathHelper.acquireContext(input);
+    try {
+      return plan.map(context, metrics);
+    } finally {
+      jxpathHelper.releaseContext(context);
+    }
+  }
+
+  @Override
+  public InfomodelValue mapSource(Object input) {
+    if (metrics == IMappingMetricsListener.NOOP) {
+      return doMapSource(input);
+    }
+    return metrics.record(MappingStage.MAP_SOURCE, () -> doMapSource(input));
+  }
+
+  private InfomodelValue doMapSource(Object input) {
+    if (input instanceof ByteBuffer) {
+      return mapBinary((ByteBuffer) input, null);
+    } else if (input instanceof byte[] && plan.hasBinarySource()) {
+      return mapBinary(ByteBuffer.wrap((byte[]) input), (byte[]) input);
+    }
+    if (pool != null && plan.getFunctionblocks().size() > 1
+        && ParallelMapping.sizeOf(input) >= parallelThreshold) {
+      return ParallelMapping.map(plan, input, jxpathHelper, pool, metrics);
+    }
+    return this.map(input, MappingContext.empty());
+  }
+
+  /**
+   * @param bytes the bytes of the payload or null, if they are copied from the payload when
+   *        properties with only an xpath source need to be mapped
+   */
+  private InfomodelValue mapBinary(ByteBuffer payload, byte[] bytes) {
+    if (!plan.hasXpathSourceOnly()) {
+      return plan.map(payload, metrics);
+    }
+    byte[] source = bytes;
+    if (source == null) {
+      source = new byte[payload.remaining()];
+      payload.duplicate().get(source);
+    }
+    JXPathContext context = jxpathHelper.acquireContext(source);
+    try {
+      return plan.map(payload, context, metrics);
+    } finally {
+      jxpathHelper.releaseContext(context);
+    }
+  }
+
+  @Override
+  public Object mapTarget(PropertyValue newValue, Optional<PropertyValue> oldValue,
+      String infomodelProperty) {
+    if (metrics == IMappingMetricsListener.NOOP) {
+      return doMapTarget(newValue, oldValue, infomodelProperty);
+    }
+    return metrics.record(MappingStage.MAP_TARGET,
+        () -> doMapTarget(newValue, oldValue, infomodelProperty));
+  }
+
+  private Object doMapTarget(PropertyValue newValue, Optional<PropertyValue> oldValue,
+      String infomodelProperty) {
+    FunctionblockPlan functionblock = this.plan.getFunctionblock(infomodelProperty);
+    if (functionblock == null) {
+      throw new IllegalArgumentException(
+          "No property with the given name could be found in Information Model");
+    }
+
+    Optional<Stereotype> targetStereotype = newValue.getMeta().getStereotype(STEREOTYPE_TARGET);
+    if (!targetStereotype.isPresent()) {
+      throw new MappingException("No mapping rule defined for property");
+    }
+
+    Map<String, Object> jxpathContext = new HashMap<String, Object>();
+    Map<String, Object> param = new HashMap<String, Object>();
+    param.put("newValue", newValue.getValue());
+    param.put("oldValue", oldValue.isPresent() ? oldValue.get().getValue() : null);
+
+    jxpathContext.put("ctx", param);
+    JXPathContext context = jxpathHelper.acquireContext(jxpathContext);
+    try {
+      return functionblock.getTargetExpression(newValue.getMeta().getName()).getValue(context);
+    } catch (Exception ex) {
+      throw new MappingException("Problem occurred during mapping", ex);
+    } finally {
+      jxpathHelper.releaseContext(context);
+    }
+  }
+
+  public MappingPlan getPlan() {
+    return plan;
+  }
+
+  /**
+   * @return cache of the conditions that have been parsed when compiling the plan
+   */
+  public ConditionCache getConditionCache() {
+    return conditionCache;
+  }
+}
@@ -12,22 +12,23 @@
  */
 package org.eclipse.vorto.mapping.engine.internal;
 
-import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.commons.jexl2.Expression;
 import org.apache.commons.jexl2.JexlContext;
 import org.apache.commons.jexl2.JexlEngine;
-import org.apache.commons.jexl2.ObjectContext;
 import org.apache.commons.jxpath.JXPathContext;
 import org.apache.commons.jxpath.JXPathInvalidAccessException;
 import org.apache.commons.jxpath.JXPathNotFoundException;
-import org.apache.commons.text.StrSubstitutor;
 import org.eclipse.vorto.mapping.engine.IDataMapper;
 import org.eclipse.vorto.mapping.engine.MappingContext;
 import org.eclipse.vorto.mapping.engine.MappingException;
 import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
+import org.eclipse.vorto.mapping.engine.internal.plan.ConditionPlan;
+import org.eclipse.vorto.mapping.engine.internal.plan.PropertyPlan;
 import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
 import org.eclipse.vorto.model.EntityModel;
 import org.eclipse.vorto.model.EnumModel;
@@ -50,11 +51,15 @@ import org.eclipse.vorto.model.runtime.PropertyValue;
  */
 public class DataMapperJxpath implements IDataMapper {
 
-  private IMappingSpecification specification;
+  private final IMappingSpecification specification;
 
-  private JxPathFactory jxpathHelper = null;
+  private final JxPathFactory jxpathHelper;
 
-  private JexlEngine jexlEngine = null;
+  private final JexlEngine jexlEngine;
+
+  private final ConditionCache conditionCache;
+
+  private final Map<Stereotype, String> xpaths;
 
   private static final String STEREOTYPE_SOURCE = "source";
   private static final String STEREOTYPE_TARGET = "target";
@@ -63,9 +68,44 @@ public class DataMapperJxpath implements IDataMapper {
 
   public DataMapperJxpath(IMappingSpecification mappingSpecification,
       CustomFunctionsLibrary functionLibrary) {
+    CustomFunctionsLibrary library = functionLibrary.immutableCopy();
     this.specification = mappingSpecification;
-    this.jxpathHelper = new JxPathFactory(functionLibrary);
-    this.jexlEngine = createJexlEngine(functionLibrary);
+    this.jxpathHelper = new JxPathFactory(library);
+    this.jexlEngine = createJexlEngine(library);
+    this.conditionCache = new ConditionCache(jexlEngine);
+    this.xpaths = resolveXpaths(mappingSpecification);
+  }
+
+  /**
+   * Resolves the placeholders of all source xpaths of the specification, keyed by the identity of
+   * their stereotype. The map is not modified after construction.
+   */
+  private static Map<Stereotype, String> resolveXpaths(IMappingSpecification specification) {
+    Map<Stereotype, String> xpaths = new IdentityHashMap<>();
+    for (ModelProperty fbProperty : specification.getInfoModel().getFunctionblocks()) {
+      FunctionblockModel fbModel = specification.getFunctionBlock(fbProperty.getName());
+      if (fbModel != null) {
+        resolveXpaths(fbModel.getStatusProperties(), xpaths);
+        resolveXpaths(fbModel.getConfigurationProperties(), xpaths);
+      }
+    }
+    return xpaths;
+  }
+
+  private static void resolveXpaths(List<ModelProperty> properties,
+      Map<Stereotype, String> xpaths) {
+    for (ModelProperty property : properties) {
+      Optional<Stereotype> sourceStereotype = property.getStereotype(STEREOTYPE_SOURCE);
+      if (sourceStereotype.isPresent()) {
+        String xpath = PropertyPlan.resolveXpath(sourceStereotype.get().getAttributes());
+        if (xpath != null) {
+          xpaths.put(sourceStereotype.get(), xpath);
+        }
+      }
+      if (property.getType() instanceof EntityModel) {
+        resolveXpaths(((EntityModel) property.getType()).getProperties(), xpaths);
+      }
+    }
   }
 
   private static JexlEngine createJexlEngine(CustomFunctionsLibrary functionLibrary) {
@@ -151,10 +191,8 @@ public class DataMapperJxpath implements IDataMapper {
   private boolean matchesCondition(FunctionblockModel fbModel, JXPathContext context) {
     Optional<Stereotype> conditionStereotype = fbModel.getStereotype("condition");
     if (conditionStereotype.isPresent() && conditionStereotype.get().hasAttribute("value")) {
-      Expression e = jexlEngine.createExpression(
-          normalizeCondition(conditionStereotype.get().getAttributes().get("value")));
-      JexlContext jc = new ObjectContext<Object>(jexlEngine, context.getContextBean());
-      jc.set("this", context.getContextBean());
+      Expression e = conditionCache.get(conditionStereotype.get(), "value");
+      JexlContext jc = ConditionPlan.newContext(jexlEngine, context.getContextBean());
       jc.set("obj", context.getContextBean());
       return (boolean) e.evaluate(jc);
     } else {
@@ -180,9 +218,7 @@ public class DataMapperJxpath implements IDataMapper {
   private Object mapProperty(IModel parent, ModelProperty property, JXPathContext input) {
     Optional<Stereotype> sourceStereotype = property.getStereotype(STEREOTYPE_SOURCE);
     if (sourceStereotype.isPresent() && hasXpath(sourceStereotype.get().getAttributes())) {
-      String expression =
-          replacePlaceHolders(sourceStereotype.get().getAttributes().get(ATTRIBUTE_XPATH),
-              sourceStereotype.get().getAttributes());
+      String expression = xpathOf(sourceStereotype.get());
 
       if (matchesPropertyCondition(sourceStereotype.get(), input)) {
         return input.getValue(expression);
@@ -220,9 +256,7 @@ public class DataMapperJxpath implements IDataMapper {
         EnumModel enumModel = (EnumModel) referencedModel;
         EnumValue value = new EnumValue(enumModel);
         if (sourceStereotype.isPresent() && hasXpath(sourceStereotype.get().getAttributes())) {
-          String expression =
-              replacePlaceHolders(sourceStereotype.get().getAttributes().get(ATTRIBUTE_XPATH),
-                  sourceStereotype.get().getAttributes());
+          String expression = xpathOf(sourceStereotype.get());
 
           if (matchesPropertyCondition(sourceStereotype.get(), input)) {
             Object mappedEnumValue = input.getValue(expression);
@@ -241,39 +275,34 @@ public class DataMapperJxpath implements IDataMapper {
 
   private boolean matchesPropertyCondition(Stereotype stereotype, JXPathContext context) {
     if (stereotype.hasAttribute(ATTRIBUTE_CONDITION)) {
-      Expression e = jexlEngine.createExpression(
-          normalizeCondition(stereotype.getAttributes().get(ATTRIBUTE_CONDITION)));
-      JexlContext jc = new ObjectContext<Object>(jexlEngine, context.getContextBean());
-      jc.set("this", context.getContextBean());
+      Expression e = conditionCache.get(stereotype, ATTRIBUTE_CONDITION);
+      JexlContext jc = ConditionPlan.newContext(jexlEngine, context.getContextBean());
       return (boolean) e.evaluate(jc);
     } else {
       return true;
     }
   }
 
-  private String normalizeCondition(final String expression) {
-    return expression.replaceAll("/", "\\.");
-  }
-
   private boolean hasXpath(Map<String, String> stereotypeAttributes) {
     return stereotypeAttributes.containsKey(ATTRIBUTE_XPATH)
         && !stereotypeAttributes.get(ATTRIBUTE_XPATH).equals("");
   }
 
-  private String replacePlaceHolders(String expression, Map<String, String> mappedAttributes) {
-    StrSubstitutor sub = new StrSubstitutor(mappedAttributes);
-    return sub.replace(expression);
+  private String xpathOf(Stereotype sourceStereotype) {
+    String xpath = xpaths.get(sourceStereotype);
+    return xpath != null ? xpath : PropertyPlan.resolveXpath(sourceStereotype.getAttributes());
+  }
+
+  /**
+   * @return cache of the parsed conditions of the mapping specification
+   */
+  public ConditionCache getConditionCache() {
+    return conditionCache;
   }
 
   @Override
   public InfomodelValue mapSource(Object input) {
-    Object _input = input;
-    if (input instanceof Object[] || input instanceof Collection<?>) {
-      Map<String, Object> wrapped = new HashMap<>();
-      wrapped.put("array", input);
-      _input = wrapped;
-    }
-    return this.map(_input, MappingContext.empty());
+    return this.map(input, MappingContext.empty());
   }
 
   @Override
@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
 import org.apache.commons.jxpath.JXPathContext;
+import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
 
 public class DynamicBean {
 
@@ -34,9 +35,7 @@ public class DynamicBean {
   }
 
   private static JxPathFactory defaultContext() {
-    JxPathFactory factory = new JxPathFactory();
-    factory.setLenient(true);
-    return factory;
+    return new JxPathFactory(CustomFunctionsLibrary.createDefault(), true);
   }
 
   public void setProperty(String path, Object value) {
@@ -19,30 +19,90 @@ import org.apache.commons.jxpath.util.BasicTypeConverter;
 import org.apache.commons.jxpath.util.TypeUtils;
 import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
 
+/**
+ * Creates JXPath contexts with the converter functions of an immutable function library. The
+ * factory is safe for concurrent use. Every thread keeps one reusable context, which is shared by
+ * all factories and bound to a factory only while it is acquired, see
+ * {@link #acquireContext(Object)}. Array payloads are addressed as <code>array</code> by the
+ * contexts, see {@link ArrayPayloadPointerFactory}.
+ */
 public class JxPathFactory {
 
-  private boolean lenient = false;
+  private static final MyTypeConverter TYPE_CONVERTER = new MyTypeConverter();
+
+  static {
+    // JXPath holds the type converter globally, so it is registered once and not per context
+    TypeUtils.setTypeConverter(TYPE_CONVERTER);
+  }
+
+  /**
+   * Static, so that a released context does not retain the object graph of the factory that used
+   * it last, i.e. its function library and script engines
+   */
+  private static final ThreadLocal<ReusableJXPathContext> REUSABLE_CONTEXTS =
+      ThreadLocal.withInitial(ReusableJXPathContext::new);
 
-  private CustomFunctionsLibrary functionLibrary;
+  private volatile boolean lenient;
+
+  private final JXPathContext functionContext;
+
+  public JxPathFactory(CustomFunctionsLibrary functionLibrary, boolean lenient) {
+    this.lenient = lenient;
+    this.functionContext = JXPathContext.newContext(null);
+    this.functionContext.setFunctions(functionLibrary.immutableCopy().getConverterFunctions());
+  }
 
   public JxPathFactory(CustomFunctionsLibrary functionLibrary) {
-    this.functionLibrary = functionLibrary;
+    this(functionLibrary, false);
   }
 
   public JxPathFactory() {
     this(CustomFunctionsLibrary.createDefault());
   }
 
+  /**
+   * @deprecated the factory is shared by the threads of a data mapper, so pass the leniency to
+   *             {@link #JxPathFactory(CustomFunctionsLibrary, boolean)} instead. The new value
+   *             only applies to the contexts that are created or acquired afterwards.
+   */
+  @Deprecated
+  public void setLenient(boolean lenient) {
+    this.lenient = lenient;
+  }
+
+  /**
+   * Creates a new context for the given object. The converter functions are inherited from a
+   * context that is shared by all contexts of this factory.
+   */
   public JXPathContext newContext(Object ctxObject) {
-    JXPathContext context = JXPathContext.newContext(ctxObject);
-    TypeUtils.setTypeConverter(new MyTypeConverter());
-    context.setFunctions(functionLibrary.getConverterFunctions());
-    context.setLenient(this.lenient);
+    ReusableJXPathContext context = new ReusableJXPathContext();
+    context.bind(functionContext, lenient, ctxObject);
     return context;
   }
 
-  public void setLenient(boolean lenient) {
-    this.lenient = lenient;
+  /**
+   * Binds the reusable context of the current thread to the given object. If that context is
+   * already in use, e.g. by a function that maps a nested payload, a new context is created. The
+   * context must be released by {@link #releaseContext(JXPathContext)} once the object has been
+   * mapped and must not be passed to other threads.
+   */
+  public JXPathContext acquireContext(Object ctxObject) {
+    ReusableJXPathContext context = REUSABLE_CONTEXTS.get();
+    if (context.isBound()) {
+      return newContext(ctxObject);
+    }
+    context.bind(functionContext, lenient, ctxObject);
+    return context;
+  }
+
+  /**
+   * Releases a context acquired by {@link #acquireContext(Object)}, so that it can be bound to the
+   * next object
+   */
+  public void releaseContext(JXPathContext context) {
+    if (context instanceof ReusableJXPathContext) {
+      ((ReusableJXPathContext) context).unbind();
+    }
   }
 
   public static class MyTypeConverter extends BasicTypeConverter {
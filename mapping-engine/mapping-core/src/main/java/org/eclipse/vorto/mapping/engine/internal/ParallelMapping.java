@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.apache.commons.jxpath.JXPathContext;
+import org.eclipse.vorto.mapping.engine.internal.plan.FunctionblockPlan;
+import org.eclipse.vorto.mapping.engine.internal.plan.MappingPlan;
+import org.eclipse.vorto.mapping.engine.metrics.IMappingMetricsListener;
+import org.eclipse.vorto.model.runtime.FunctionblockValue;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+
+/**
+ * Maps the function blocks of a single payload concurrently on a {@link ForkJoinPool}. Every task
+ * evaluates its function blocks with an own JXPath context of the payload. The mapped function
+ * blocks are added to the result in the order of the information model, so the result is the
+ * same as if the function blocks were mapped one after another.
+ */
+public final class ParallelMapping {
+
+  private ParallelMapping() {}
+
+  /**
+   * Determines the size of a payload, which is compared to the threshold for parallel mapping
+   * 
+   * @return number of members of a map, number of elements of a collection or array, length of a
+   *         character sequence or 0 for any other payload
+   */
+  public static int sizeOf(Object payload) {
+    if (payload instanceof Map<?, ?>) {
+      return ((Map<?, ?>) payload).size();
+    } else if (payload instanceof Collection<?>) {
+      return ((Collection<?>) payload).size();
+    } else if (payload instanceof CharSequence) {
+      return ((CharSequence) payload).length();
+    } else if (payload != null && payload.getClass().isArray()) {
+      return Array.getLength(payload);
+    }
+    return 0;
+  }
+
+  public static InfomodelValue map(MappingPlan plan, Object input, JxPathFactory contexts,
+      ForkJoinPool pool, IMappingMetricsListener metrics) {
+    List<FunctionblockPlan> functionblocks = plan.getFunctionblocks();
+    FunctionblockValue[] results = new FunctionblockValue[functionblocks.size()];
+    pool.invoke(new FunctionblockTask(functionblocks, input, contexts, metrics, results, 0,
+        results.length));
+
+    InfomodelValue normalized = new InfomodelValue(plan.getInfomodel());
+    for (int i = 0; i < results.length; i++) {
+      if (results[i] != null) {
+        String name = functionblocks.get(i).getName();
+        normalized.withFunctionblock(name, results[i]);
+        metrics.functionblockMapped(name);
+      }
+    }
+    return normalized;
+  }
+
+  private static final class FunctionblockTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<FunctionblockPlan> functionblocks;
+    private final Object input;
+    private final JxPathFactory contexts;
+    private final IMappingMetricsListener metrics;
+    private final FunctionblockValue[] results;
+    private final int from;
+    private final int to;
+
+    FunctionblockTask(List<FunctionblockPlan> functionblocks, Object input,
+        JxPathFactory contexts, IMappingMetricsListener metrics, FunctionblockValue[] results,
+        int from, int to) {
+      this.functionblocks = functionblocks;
+      this.input = input;
+      this.contexts = contexts;
+      this.metrics = metrics;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > 1) {
+        int middle = (from + to) >>> 1;
+        invokeAll(
+            new FunctionblockTask(functionblocks, input, contexts, metrics, results, from, middle),
+            new FunctionblockTask(functionblocks, input, contexts, metrics, results, middle, to));
+        return;
+      }
+      JXPathContext context = contexts.acquireContext(input);
+      try {
+        for (int i = from; i < to; i++) {
+          results[i] = functionblocks.get(i).map(context, metrics);
+        }
+      } finally {
+        contexts.releaseContext(context);
+      }
+    }
+  }
+}
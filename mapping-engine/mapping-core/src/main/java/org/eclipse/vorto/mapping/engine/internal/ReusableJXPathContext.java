@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal;
+
+import org.apache.commons.jxpath.JXPathContext;
+import org.apache.commons.jxpath.Pointer;
+import org.apache.commons.jxpath.ri.EvalContext;
+import org.apache.commons.jxpath.ri.JXPathContextReferenceImpl;
+import org.apache.commons.jxpath.ri.axes.InitialContext;
+import org.apache.commons.jxpath.ri.axes.RootContext;
+import org.apache.commons.jxpath.ri.model.NodePointer;
+
+/**
+ * JXPath context that is re-bound to the payload of each message instead of being created for
+ * it. The functions are inherited from the parent context given on binding. Variables are reset
+ * on every binding, so they are not carried over from one message to the next. Once released, the
+ * context retains neither the payload nor the parent context. A context must only be used by one
+ * thread at a time.
+ */
+final class ReusableJXPathContext extends JXPathContextReferenceImpl {
+
+  private final NodePointer unboundPointer;
+
+  private NodePointer pointer;
+
+  private boolean bound;
+
+  ReusableJXPathContext() {
+    super(null, null);
+    this.unboundPointer = (NodePointer) super.getContextPointer();
+    this.pointer = unboundPointer;
+  }
+
+  /**
+   * Binds the context to the given payload, which becomes the context bean and the root of all
+   * paths. Array payloads are exposed as <code>array</code>, see
+   * {@link ArrayPayloadPointerFactory}.
+   *
+   * @param parentContext context that provides the functions
+   */
+  void bind(JXPathContext parentContext, boolean lenient, Object contextBean) {
+    this.parentContext = parentContext;
+    // set on the context itself, as the parent would be locked for every lookup otherwise
+    setLenient(lenient);
+    this.vars = null;
+    this.contextBean = contextBean;
+    this.pointer = ArrayPayloadPointerFactory.createRootPointer(contextBean, getLocale());
+    this.namespaceResolver.setNamespaceContextPointer(pointer);
+    this.bound = true;
+  }
+
+  /**
+   * Releases the payload, the parent context and the variables, so that they are not retained by
+   * the context
+   */
+  void unbind() {
+    this.parentContext = null;
+    this.vars = null;
+    this.contextBean = null;
+    this.pointer = unboundPointer;
+    this.namespaceResolver.setNamespaceContextPointer(unboundPointer);
+    this.bound = false;
+  }
+
+  boolean isBound() {
+    return bound;
+  }
+
+  @Override
+  public Pointer getContextPointer() {
+    return pointer;
+  }
+
+  @Override
+  public EvalContext getAbsoluteRootContext() {
+    return new InitialContext(new RootContext(this, pointer));
+  }
+}
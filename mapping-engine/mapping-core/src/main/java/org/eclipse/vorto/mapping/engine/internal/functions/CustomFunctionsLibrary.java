@@ -12,21 +12,48 @@
  */
 package org.eclipse.vorto.mapping.engine.internal.functions;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 import org.apache.commons.jxpath.ClassFunctions;
 import org.apache.commons.jxpath.FunctionLibrary;
 import org.apache.commons.jxpath.Functions;
 import org.eclipse.vorto.mapping.engine.functions.IFunction;
 
+/**
+ * Converter and condition functions of a data mapper. A library is filled while the mapper is
+ * built and then frozen by {@link #immutableCopy()}, so that the functions can be looked up by
+ * many threads concurrently.
+ */
 public class CustomFunctionsLibrary {
 
-  private FunctionLibrary converterLibrary;
+  private final List<Functions> converterFunctions;
+
+  private final FunctionLibrary converterLibrary;
 
-  private Map<String, Object> conditionFunctions = new HashMap<>();
+  private final Map<String, Object> conditionFunctions;
+
+  private final boolean immutable;
 
   private CustomFunctionsLibrary() {
+    this.converterFunctions = new ArrayList<>();
     this.converterLibrary = new FunctionLibrary();
+    this.conditionFunctions = new HashMap<>();
+    this.immutable = false;
+  }
+
+  private CustomFunctionsLibrary(List<Functions> converterFunctions,
+      Map<String, Object> conditionFunctions) {
+    this.converterFunctions = Collections.unmodifiableList(new ArrayList<>(converterFunctions));
+    this.converterLibrary = new FunctionLibrary();
+    this.converterFunctions.forEach(this.converterLibrary::addFunctions);
+    // the function library builds its namespace cache lazily and unsynchronized on first lookup
+    this.converterLibrary.getUsedNamespaces();
+    this.conditionFunctions = Collections.unmodifiableMap(new HashMap<>(conditionFunctions));
+    this.immutable = true;
   }
 
   public static CustomFunctionsLibrary createDefault() {
@@ -34,11 +61,11 @@ public class CustomFunctionsLibrary {
   }
 
   public void addConverterFunction(IFunction function) {
-    this.converterLibrary
-        .addFunctions(new ClassFunctions(function.getFunctionClass(), function.getNamespace()));
+    addConverterFunctions(new ClassFunctions(function.getFunctionClass(), function.getNamespace()));
   }
 
   public void addConditionFunction(IFunction function) {
+    checkMutable();
     this.conditionFunctions.put(function.getNamespace(), function.getFunctionClass());
   }
 
@@ -51,6 +78,43 @@ public class CustomFunctionsLibrary {
   }
 
   public void addConverterFunctions(Functions functions) {
+    checkMutable();
+    this.converterFunctions.add(functions);
     this.converterLibrary.addFunctions(functions);
   }
+
+  /**
+   * @return a mutable copy of this library, which can be extended without affecting this library
+   */
+  public CustomFunctionsLibrary copy() {
+    return copy(UnaryOperator.identity());
+  }
+
+  /**
+   * @param decorator applied to each of the converter functions of this library
+   * @return a mutable copy of this library with decorated converter functions
+   */
+  public CustomFunctionsLibrary copy(UnaryOperator<Functions> decorator) {
+    CustomFunctionsLibrary copy = new CustomFunctionsLibrary();
+    this.converterFunctions.stream().map(decorator).forEach(copy::addConverterFunctions);
+    copy.conditionFunctions.putAll(this.conditionFunctions);
+    return copy;
+  }
+
+  /**
+   * @return an immutable copy of this library, or this library if it is immutable already
+   */
+  public CustomFunctionsLibrary immutableCopy() {
+    return immutable ? this : new CustomFunctionsLibrary(converterFunctions, conditionFunctions);
+  }
+
+  public boolean isImmutable() {
+    return immutable;
+  }
+
+  private void checkMutable() {
+    if (immutable) {
+      throw new UnsupportedOperationException("Function library is immutable");
+    }
+  }
 }
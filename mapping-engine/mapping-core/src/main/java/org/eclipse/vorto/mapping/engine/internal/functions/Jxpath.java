@@ -17,10 +17,15 @@ import org.eclipse.vorto.mapping.engine.internal.JxPathFactory;
 
 public class Jxpath {
 
-  private static JxPathFactory helper = new JxPathFactory(CustomFunctionsLibrary.createDefault());
+  private static final JxPathFactory helper =
+      new JxPathFactory(CustomFunctionsLibrary.createDefault());
 
   public static Object eval(String exp, Object value) {
-    JXPathContext context = helper.newContext(value);
-    return context.getValue(exp.replaceAll("\\.", "/"));
+    JXPathContext context = helper.acquireContext(value);
+    try {
+      return context.getValue(exp.replaceAll("\\.", "/"));
+    } finally {
+      helper.releaseContext(context);
+    }
   }
 }
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.functions;
+
+import java.util.Set;
+import org.apache.commons.jxpath.ExpressionContext;
+import org.apache.commons.jxpath.Function;
+import org.apache.commons.jxpath.Functions;
+import org.eclipse.vorto.mapping.engine.metrics.IMappingMetricsListener;
+import org.eclipse.vorto.mapping.engine.metrics.MappingStage;
+
+/**
+ * Decorates converter functions, so that the duration and failures of each call are reported to a
+ * metrics listener
+ */
+public class MeteredFunctions implements Functions {
+
+  private final Functions delegate;
+
+  private final MappingStage stage;
+
+  private final IMappingMetricsListener metrics;
+
+  public MeteredFunctions(Functions delegate, MappingStage stage,
+      IMappingMetricsListener metrics) {
+    this.delegate = delegate;
+    this.stage = stage;
+    this.metrics = metrics;
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public Set getUsedNamespaces() {
+    return delegate.getUsedNamespaces();
+  }
+
+  @Override
+  public Function getFunction(String namespace, String name, Object[] parameters) {
+    Function function = delegate.getFunction(namespace, name, parameters);
+    if (function == null) {
+      return null;
+    }
+    return (ExpressionContext context, Object[] arguments) -> metrics.record(stage,
+        () -> function.invoke(context, arguments));
+  }
+}
@@ -0,0 +1,289 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.plan;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.runtime.CompactFunctionblockValue;
+
+/**
+ * Field of a binary payload that is declared by the source stereotype attributes
+ * <ul>
+ * <li>offset: byte offset of the field, relative to the position of the buffer</li>
+ * <li>length: number of bytes of the field, defaults to the size of the property type</li>
+ * <li>endian: 'big' (default) or 'little'</li>
+ * <li>signed: 'true' (default) or 'false' for unsigned integral fields</li>
+ * <li>bit: index (0-7) of the bit of a boolean field, otherwise any non-zero byte is true</li>
+ * </ul>
+ * Fields are read with absolute, primitive reads, so neither the position nor the byte order of
+ * the buffer are changed and heap and direct buffers are read without copying.
+ */
+public final class BinaryFieldPlan {
+
+  public static final String ATTRIBUTE_OFFSET = "offset";
+  public static final String ATTRIBUTE_LENGTH = "length";
+  public static final String ATTRIBUTE_ENDIAN = "endian";
+  public static final String ATTRIBUTE_SIGNED = "signed";
+  public static final String ATTRIBUTE_BIT = "bit";
+
+  private static final String LITTLE_ENDIAN = "little";
+  private static final String BIG_ENDIAN = "big";
+
+  private final PrimitiveType type;
+
+  private final int offset;
+
+  private final int length;
+
+  private final boolean littleEndian;
+
+  private final boolean signed;
+
+  private final int bit;
+
+  private BinaryFieldPlan(PrimitiveType type, int offset, int length, boolean littleEndian,
+      boolean signed, int bit) {
+    this.type = type;
+    this.offset = offset;
+    this.length = length;
+    this.littleEndian = littleEndian;
+    this.signed = signed;
+    this.bit = bit;
+  }
+
+  public static boolean isBinary(Map<String, String> stereotypeAttributes) {
+    return stereotypeAttributes.containsKey(ATTRIBUTE_OFFSET)
+        && !stereotypeAttributes.get(ATTRIBUTE_OFFSET).equals("");
+  }
+
+  /**
+   * Compiles the binary field of the given property
+   * 
+   * @throws MappingException if the attributes do not describe a valid field of the property type
+   */
+  public static BinaryFieldPlan compile(ModelProperty property, Map<String, String> attributes) {
+    if (!(property.getType() instanceof PrimitiveType)) {
+      throw new MappingException(
+          "Binary source of property " + property.getName() + " must be of primitive type");
+    }
+    PrimitiveType type = (PrimitiveType) property.getType();
+    int maxLength = sizeOf(type, property);
+
+    int offset = parseInt(property, attributes, ATTRIBUTE_OFFSET, 0);
+    int length = parseInt(property, attributes, ATTRIBUTE_LENGTH, maxLength);
+    int bit = parseInt(property, attributes, ATTRIBUTE_BIT, -1);
+
+    String endian = attributes.getOrDefault(ATTRIBUTE_ENDIAN, BIG_ENDIAN);
+    if (!LITTLE_ENDIAN.equalsIgnoreCase(endian) && !BIG_ENDIAN.equalsIgnoreCase(endian)) {
+      throw invalid(property, ATTRIBUTE_ENDIAN, endian);
+    }
+    String signed = attributes.getOrDefault(ATTRIBUTE_SIGNED, "true");
+
+    if (offset < 0) {
+      throw invalid(property, ATTRIBUTE_OFFSET, Integer.toString(offset));
+    }
+    boolean validLength;
+    if (type == PrimitiveType.FLOAT) {
+      validLength = length == 4;
+    } else if (type == PrimitiveType.DOUBLE) {
+      validLength = length == 4 || length == 8;
+    } else {
+      validLength = length >= 1 && length <= maxLength;
+    }
+    if (!validLength) {
+      throw invalid(property, ATTRIBUTE_LENGTH, Integer.toString(length));
+    }
+    boolean isSigned = !"false".equalsIgnoreCase(signed);
+    if (!isSigned && type != PrimitiveType.BOOLEAN && length >= maxLength) {
+      // unsigned values must fit into the property type, e.g. LONG for unsigned 32 bit values
+      throw invalid(property, ATTRIBUTE_SIGNED, signed);
+    }
+    if (bit < -1 || bit > 7 || (bit >= 0 && type != PrimitiveType.BOOLEAN)) {
+      throw invalid(property, ATTRIBUTE_BIT, Integer.toString(bit));
+    }
+
+    return new BinaryFieldPlan(type, offset, length, LITTLE_ENDIAN.equalsIgnoreCase(endian),
+        isSigned, bit);
+  }
+
+  private static int sizeOf(PrimitiveType type, ModelProperty property) {
+    switch (type) {
+      case BOOLEAN:
+      case BYTE:
+        return 1;
+      case SHORT:
+        return 2;
+      case INT:
+      case FLOAT:
+        return 4;
+      case LONG:
+      case DOUBLE:
+        return 8;
+      default:
+        throw new MappingException("Binary source of property " + property.getName()
+            + " is not supported for type " + type);
+    }
+  }
+
+  private static int parseInt(ModelProperty property, Map<String, String> attributes,
+      String attribute, int defaultValue) {
+    String value = attributes.get(attribute);
+    if (value == null || value.isEmpty()) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException ex) {
+      throw invalid(property, attribute, value);
+    }
+  }
+
+  private static MappingException invalid(ModelProperty property, String attribute,
+      String value) {
+    return new MappingException("Invalid binary source attribute " + attribute + "=" + value
+        + " of property " + property.getName());
+  }
+
+  /**
+   * @return true, if the remaining bytes of the buffer contain this field
+   */
+  public boolean isAvailable(ByteBuffer buffer) {
+    return offset + length <= buffer.remaining();
+  }
+
+  /**
+   * Reads the field as value of the property type. Like values mapped by xpath, integer
+   * properties are read as {@link Double}, which is what
+   * {@link org.eclipse.vorto.model.runtime.FunctionblockValue#validate()} expects.
+   */
+  public Object read(ByteBuffer buffer) {
+    switch (type) {
+      case BOOLEAN:
+        return readBoolean(buffer);
+      case BYTE:
+        return (byte) readLong(buffer);
+      case SHORT:
+        return (short) readLong(buffer);
+      case INT:
+        return (double) (int) readLong(buffer);
+      case LONG:
+        return readLong(buffer);
+      case FLOAT:
+        return (float) readDouble(buffer);
+      default:
+        return readDouble(buffer);
+    }
+  }
+
+  /**
+   * Reads the field into the given slot of the function block value without boxing. The slot
+   * holds the same type as returned by {@link #read(ByteBuffer)}.
+   */
+  public void readInto(ByteBuffer buffer, CompactFunctionblockValue target, int index) {
+    switch (type) {
+      case BOOLEAN:
+        target.setBoolean(index, readBoolean(buffer));
+        break;
+      case BYTE:
+        target.setByte(index, (byte) readLong(buffer));
+        break;
+      case SHORT:
+        target.setShort(index, (short) readLong(buffer));
+        break;
+      case INT:
+        target.setDouble(index, (int) readLong(buffer));
+        break;
+      case LONG:
+        target.setLong(index, readLong(buffer));
+        break;
+      case FLOAT:
+        target.setFloat(index, (float) readDouble(buffer));
+        break;
+      default:
+        target.setDouble(index, readDouble(buffer));
+    }
+  }
+
+  /**
+   * Reads an integral field, sign-extended if the field is signed
+   */
+  public long readLong(ByteBuffer buffer) {
+    int index = buffer.position() + offset;
+    boolean swap = (buffer.order() == ByteOrder.LITTLE_ENDIAN) != littleEndian;
+    long value;
+    switch (length) {
+      case 1:
+        value = buffer.get(index);
+        break;
+      case 2:
+        short s = buffer.getShort(index);
+        value = swap ? Short.reverseBytes(s) : s;
+        break;
+      case 4:
+        int i = buffer.getInt(index);
+        value = swap ? Integer.reverseBytes(i) : i;
+        break;
+      case 8:
+        long l = buffer.getLong(index);
+        return swap ? Long.reverseBytes(l) : l;
+      default:
+        value = 0;
+        for (int k = 0; k < length; k++) {
+          int byteIndex = littleEndian ? index + length - 1 - k : index + k;
+          value = (value << 8) | (buffer.get(byteIndex) & 0xFF);
+        }
+        int shift = 64 - 8 * length;
+        return signed ? (value << shift) >> shift : value;
+    }
+    return signed ? value : value & (-1L >>> (64 - 8 * length));
+  }
+
+  /**
+   * Reads a floating point field
+   */
+  public double readDouble(ByteBuffer buffer) {
+    if (type != PrimitiveType.FLOAT && type != PrimitiveType.DOUBLE) {
+      return readLong(buffer);
+    }
+    int index = buffer.position() + offset;
+    boolean swap = (buffer.order() == ByteOrder.LITTLE_ENDIAN) != littleEndian;
+    if (length == 4) {
+      int bits = buffer.getInt(index);
+      return Float.intBitsToFloat(swap ? Integer.reverseBytes(bits) : bits);
+    }
+    long bits = buffer.getLong(index);
+    return Double.longBitsToDouble(swap ? Long.reverseBytes(bits) : bits);
+  }
+
+  /**
+   * Reads a boolean field
+   */
+  public boolean readBoolean(ByteBuffer buffer) {
+    if (bit >= 0) {
+      return ((buffer.get(buffer.position() + offset) >> bit) & 1) != 0;
+    }
+    return readLong(buffer) != 0;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public int getLength() {
+    return length;
+  }
+}
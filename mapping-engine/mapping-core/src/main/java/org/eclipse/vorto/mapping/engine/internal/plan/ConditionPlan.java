@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.plan;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.jexl2.Expression;
+import org.apache.commons.jexl2.JexlContext;
+import org.apache.commons.jexl2.JexlEngine;
+import org.apache.commons.jexl2.MapContext;
+import org.apache.commons.jexl2.ObjectContext;
+import org.eclipse.vorto.mapping.engine.internal.ArrayPayloadPointerFactory;
+import org.eclipse.vorto.mapping.engine.internal.ConditionCache;
+import org.eclipse.vorto.model.Stereotype;
+
+/**
+ * JEXL condition of a function block or property that has been normalized and parsed once at
+ * build time.
+ */
+public final class ConditionPlan {
+
+  private final JexlEngine jexlEngine;
+
+  private final Expression expression;
+
+  private final boolean exposeAsObj;
+
+  private ConditionPlan(JexlEngine jexlEngine, Expression expression, boolean exposeAsObj) {
+    this.jexlEngine = jexlEngine;
+    this.expression = expression;
+    this.exposeAsObj = exposeAsObj;
+  }
+
+  /**
+   * Parses the given condition
+   * 
+   * @param jexlEngine engine that holds the registered condition functions
+   * @param condition condition as defined in the mapping specification
+   * @param exposeAsObj if true, the payload is also bound to the variable 'obj'
+   * @return parsed condition
+   */
+  public static ConditionPlan compile(JexlEngine jexlEngine, String condition,
+      boolean exposeAsObj) {
+    return new ConditionPlan(jexlEngine, jexlEngine.createExpression(normalize(condition)),
+        exposeAsObj);
+  }
+
+  /**
+   * Gets the parsed condition of the given stereotype attribute from the given cache, so that
+   * conditions that are declared several times are only parsed once
+   * 
+   * @param conditions cache of parsed conditions
+   * @param stereotype stereotype declaring the condition
+   * @param attribute attribute of the stereotype that holds the condition
+   * @param exposeAsObj if true, the payload is also bound to the variable 'obj'
+   * @return parsed condition
+   */
+  public static ConditionPlan compile(ConditionCache conditions, Stereotype stereotype,
+      String attribute, boolean exposeAsObj) {
+    return new ConditionPlan(conditions.getJexlEngine(), conditions.get(stereotype, attribute),
+        exposeAsObj);
+  }
+
+  public static String normalize(final String condition) {
+    return condition.replace('/', '.');
+  }
+
+  public boolean matches(Object contextBean) {
+    JexlContext jc = newContext(jexlEngine, contextBean);
+    if (exposeAsObj) {
+      jc.set("obj", contextBean);
+    }
+    return (boolean) expression.evaluate(jc);
+  }
+
+  /**
+   * Creates the context to evaluate a condition for the given payload, which is bound to the
+   * variable 'this'. The members of the payload are resolved as variables, array payloads are
+   * bound to the variable 'array' like in xpath expressions, e.g. <code>array[0]</code>. Variables
+   * set on the context are held by the context and never written to the payload, so a payload can
+   * be evaluated by several conditions concurrently.
+   */
+  public static JexlContext newContext(JexlEngine jexlEngine, Object contextBean) {
+    JexlContext jc;
+    if (ArrayPayloadPointerFactory.isArrayPayload(contextBean)) {
+      jc = new MapContext();
+      jc.set(ArrayPayloadPointerFactory.ARRAY_PROPERTY, contextBean);
+    } else {
+      jc = new PayloadContext(jexlEngine, contextBean);
+    }
+    jc.set("this", contextBean);
+    return jc;
+  }
+
+  /**
+   * Evaluates the condition for a binary payload, which is bound to the variable 'this' (and
+   * 'obj'), e.g. <code>this.get(0) == 1</code>. Like binary source offsets, indexes are relative
+   * to the position of the payload.
+   */
+  public boolean matches(ByteBuffer payload) {
+    ByteBuffer view =
+        payload.position() == 0 ? payload : payload.slice().order(payload.order());
+    JexlContext jc = new MapContext();
+    jc.set("this", view);
+    if (exposeAsObj) {
+      jc.set("obj", view);
+    }
+    return (boolean) expression.evaluate(jc);
+  }
+
+  /**
+   * @return normalized condition text
+   */
+  public String getExpression() {
+    return expression.getExpression();
+  }
+
+  /**
+   * Resolves the members of the payload as variables, unless a variable of the same name has been
+   * set on the context
+   */
+  private static final class PayloadContext extends ObjectContext<Object> {
+
+    private final Map<String, Object> variables = new HashMap<>(4);
+
+    PayloadContext(JexlEngine jexlEngine, Object payload) {
+      super(jexlEngine, payload);
+    }
+
+    @Override
+    public Object get(String name) {
+      Object value = variables.get(name);
+      return value != null || variables.containsKey(name) ? value : super.get(name);
+    }
+
+    @Override
+    public boolean has(String name) {
+      return variables.containsKey(name) || super.has(name);
+    }
+
+    @Override
+    public void set(String name, Object value) {
+      variables.put(name, value);
+    }
+  }
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.plan;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.commons.jxpath.CompiledExpression;
+import org.apache.commons.jxpath.JXPathContext;
+import org.eclipse.vorto.mapping.engine.internal.ConditionCache;
+import org.eclipse.vorto.mapping.engine.metrics.IMappingMetricsListener;
+import org.eclipse.vorto.mapping.engine.metrics.MappingStage;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.Stereotype;
+import org.eclipse.vorto.model.runtime.CompactFunctionblockValue;
+import org.eclipse.vorto.model.runtime.FunctionblockValue;
+import org.eclipse.vorto.model.runtime.PropertyLayout;
+
+/**
+ * Execution plan of a function block property of the information model
+ */
+public final class FunctionblockPlan {
+
+  private static final String STEREOTYPE_CONDITION = "condition";
+  private static final String STEREOTYPE_TARGET = "target";
+  private static final String ATTRIBUTE_VALUE = "value";
+
+  private final String name;
+
+  private final FunctionblockModel model;
+
+  private final PropertyLayout layout;
+
+  private final ConditionPlan condition;
+
+  private final List<PropertyPlan> statusProperties;
+
+  private final List<PropertyPlan> configurationProperties;
+
+  private final Map<String, CompiledExpression> targetExpressions;
+
+  private FunctionblockPlan(String name, FunctionblockModel model, ConditionPlan condition,
+      List<PropertyPlan> statusProperties, List<PropertyPlan> configurationProperties,
+      Map<String, CompiledExpression> targetExpressions) {
+    this.name = name;
+    this.model = model;
+    this.layout = PropertyLayout.of(model);
+    this.condition = condition;
+    this.statusProperties = statusProperties;
+    this.configurationProperties = configurationProperties;
+    this.targetExpressions = targetExpressions;
+  }
+
+  public static FunctionblockPlan compile(String name, FunctionblockModel model,
+      ConditionCache conditions) {
+    Optional<Stereotype> conditionStereotype = model.getStereotype(STEREOTYPE_CONDITION);
+    ConditionPlan condition = null;
+    if (conditionStereotype.isPresent()
+        && conditionStereotype.get().hasAttribute(ATTRIBUTE_VALUE)) {
+      condition =
+          ConditionPlan.compile(conditions, conditionStereotype.get(), ATTRIBUTE_VALUE, true);
+    }
+
+    Map<String, CompiledExpression> targetExpressions = new HashMap<>();
+    compileTargets(name, model.getStatusProperties(), targetExpressions);
+    compileTargets(name, model.getConfigurationProperties(), targetExpressions);
+
+    return new FunctionblockPlan(name, model, condition,
+        PropertyPlan.compileAll(model.getStatusProperties(), conditions),
+        PropertyPlan.compileAll(model.getConfigurationProperties(), conditions),
+        Collections.unmodifiableMap(targetExpressions));
+  }
+
+  private static void compileTargets(String name, List<ModelProperty> properties,
+      Map<String, CompiledExpression> targetExpressions) {
+    for (ModelProperty property : properties) {
+      if (property.getStereotype(STEREOTYPE_TARGET).isPresent()) {
+        targetExpressions.put(property.getName(), compileTarget(name, property.getName()));
+      }
+    }
+  }
+
+  /**
+   * Compiles the call of the target converter function of the given property, i.e.
+   * <code>&lt;fb&gt;:convert&lt;Property&gt;(ctx)</code>
+   */
+  private static CompiledExpression compileTarget(String name, String propertyName) {
+    return JXPathContext.compile(name.toLowerCase() + ":convert"
+        + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1) + "(ctx)");
+  }
+
+  /**
+   * Maps the function block from the given source context
+   * 
+   * @return mapped function block or null, if the condition does not match, a mandatory property
+   *         is missing or no property could be mapped at all
+   */
+  public FunctionblockValue map(JXPathContext context) {
+    return map(context, IMappingMetricsListener.NOOP);
+  }
+
+  /**
+   * Maps the function block from the given source context and reports the latency of the
+   * condition to the given listener
+   */
+  public FunctionblockValue map(JXPathContext context, IMappingMetricsListener metrics) {
+    if (condition != null && !matches(context.getContextBean(), metrics)) {
+      return null;
+    }
+    CompactFunctionblockValue fbData = new CompactFunctionblockValue(layout);
+
+    if (!PropertyPlan.mapAll(statusProperties, context, fbData::withStatusProperty)) {
+      return null;
+    }
+
+    if (!PropertyPlan.mapAll(configurationProperties, context,
+        fbData::withConfigurationProperty)) {
+      return null;
+    }
+    return fbData.isEmpty() ? null : fbData;
+  }
+
+  /**
+   * Maps the function block from the given binary payload. The condition of the function block is
+   * evaluated with the buffer as context object.
+   * 
+   * @return mapped function block or null, if the condition does not match, the payload is too
+   *         short for a mandatory property or no property could be mapped at all
+   */
+  public FunctionblockValue map(ByteBuffer payload) {
+    return map(payload, IMappingMetricsListener.NOOP);
+  }
+
+  /**
+   * Maps the function block from the given binary payload and reports the latency of the
+   * condition to the given listener
+   */
+  public FunctionblockValue map(ByteBuffer payload, IMappingMetricsListener metrics) {
+    return map(payload, null, metrics);
+  }
+
+  /**
+   * Maps the function block from the given binary payload. Properties with only an xpath source
+   * are mapped from the given source context of the same payload.
+   * 
+   * @param source context of the payload or null, if properties without a binary source are not
+   *        mapped
+   */
+  public FunctionblockValue map(ByteBuffer payload, JXPathContext source,
+      IMappingMetricsListener metrics) {
+    if (condition != null && !matches(payload, metrics)) {
+      return null;
+    }
+    CompactFunctionblockValue fbData = new CompactFunctionblockValue(layout);
+
+    if (!PropertyPlan.mapAll(statusProperties, payload, source, fbData, 0)) {
+      return null;
+    }
+
+    if (!PropertyPlan.mapAll(configurationProperties, payload, source, fbData,
+        layout.getStatusCount())) {
+      return null;
+    }
+    return fbData.isEmpty() ? null : fbData;
+  }
+
+  private boolean matches(Object contextBean, IMappingMetricsListener metrics) {
+    if (metrics == IMappingMetricsListener.NOOP) {
+      return condition.matches(contextBean);
+    }
+    return metrics.record(MappingStage.CONDITION, () -> condition.matches(contextBean));
+  }
+
+  private boolean matches(ByteBuffer payload, IMappingMetricsListener metrics) {
+    if (metrics == IMappingMetricsListener.NOOP) {
+      return condition.matches(payload);
+    }
+    return metrics.record(MappingStage.CONDITION, () -> condition.matches(payload));
+  }
+
+  /**
+   * Gets the expression that converts a value of the given property to the target platform. The
+   * expressions of all properties with a target stereotype are compiled with the plan, those of
+   * other properties are compiled on demand.
+   */
+  public CompiledExpression getTargetExpression(String propertyName) {
+    CompiledExpression expression = targetExpressions.get(propertyName);
+    return expression != null ? expression : compileTarget(name, propertyName);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public FunctionblockModel getModel() {
+    return model;
+  }
+
+  /**
+   * @return slot layout of the mapped function block values
+   */
+  public PropertyLayout getLayout() {
+    return layout;
+  }
+
+  /**
+   * @return condition of the function block or null, if the function block is always mapped
+   */
+  public ConditionPlan getCondition() {
+    return condition;
+  }
+
+  public List<PropertyPlan> getStatusProperties() {
+    return statusProperties;
+  }
+
+  public List<PropertyPlan> getConfigurationProperties() {
+    return configurationProperties;
+  }
+}
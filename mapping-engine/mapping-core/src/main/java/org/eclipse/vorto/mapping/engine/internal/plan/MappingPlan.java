@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.plan;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.jexl2.JexlEngine;
+import org.apache.commons.jxpath.JXPathContext;
+import org.eclipse.vorto.mapping.engine.internal.ConditionCache;
+import org.eclipse.vorto.mapping.engine.metrics.IMappingMetricsListener;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.runtime.FunctionblockValue;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+
+/**
+ * Immutable execution plan of a mapping specification. All stereotypes of the specification are
+ * resolved once when the plan is compiled, so that mapping a payload only evaluates the
+ * precompiled xpath expressions and conditions.
+ */
+public final class MappingPlan {
+
+  private final Infomodel infomodel;
+
+  private final List<FunctionblockPlan> functionblocks;
+
+  private final Map<String, FunctionblockPlan> functionblocksByName;
+
+  private final boolean binarySource;
+
+  private final boolean xpathSourceOnly;
+
+  private MappingPlan(Infomodel infomodel, List<FunctionblockPlan> functionblocks) {
+    this.infomodel = infomodel;
+    this.functionblocks = functionblocks;
+    Map<String, FunctionblockPlan> byName = new HashMap<>();
+    boolean binary = false;
+    boolean xpathOnly = false;
+    for (FunctionblockPlan functionblock : functionblocks) {
+      byName.put(functionblock.getName(), functionblock);
+      binary |= hasBinarySource(functionblock.getStatusProperties())
+          || hasBinarySource(functionblock.getConfigurationProperties());
+      xpathOnly |= hasXpathSourceOnly(functionblock.getStatusProperties())
+          || hasXpathSourceOnly(functionblock.getConfigurationProperties());
+    }
+    this.functionblocksByName = Collections.unmodifiableMap(byName);
+    this.binarySource = binary;
+    this.xpathSourceOnly = xpathOnly;
+  }
+
+  private static boolean hasBinarySource(List<PropertyPlan> properties) {
+    for (PropertyPlan property : properties) {
+      if (property.getBinaryField() != null || (property.getEntityProperties() != null
+          && hasBinarySource(property.getEntityProperties()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean hasXpathSourceOnly(List<PropertyPlan> properties) {
+    for (PropertyPlan property : properties) {
+      if (property.hasXpathSourceOnly() || (property.getEntityProperties() != null
+          && hasXpathSourceOnly(property.getEntityProperties()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public static MappingPlan compile(IMappingSpecification specification, JexlEngine jexlEngine) {
+    return compile(specification, new ConditionCache(jexlEngine));
+  }
+
+  /**
+   * Compiles the plan, parsing its conditions by the given cache
+   */
+  public static MappingPlan compile(IMappingSpecification specification,
+      ConditionCache conditions) {
+    List<FunctionblockPlan> functionblocks = new ArrayList<>();
+    for (ModelProperty fbProperty : specification.getInfoModel().getFunctionblocks()) {
+      functionblocks.add(FunctionblockPlan.compile(fbProperty.getName(),
+          specification.getFunctionBlock(fbProperty.getName()), conditions));
+    }
+    return new MappingPlan(specification.getInfoModel(),
+        Collections.unmodifiableList(functionblocks));
+  }
+
+  public InfomodelValue map(JXPathContext context) {
+    return map(context, IMappingMetricsListener.NOOP);
+  }
+
+  /**
+   * Maps the source context and reports condition latencies and mapped function blocks to the
+   * given listener
+   */
+  public InfomodelValue map(JXPathContext context, IMappingMetricsListener metrics) {
+    InfomodelValue normalized = new InfomodelValue(infomodel);
+
+    for (FunctionblockPlan functionblock : functionblocks) {
+      FunctionblockValue mappedFb = functionblock.map(context, metrics);
+      if (mappedFb != null) {
+        normalized.withFunctionblock(functionblock.getName(), mappedFb);
+        metrics.functionblockMapped(functionblock.getName());
+      }
+    }
+
+    return normalized;
+  }
+
+  /**
+   * Maps the properties with a binary source from the remaining bytes of the given payload
+   */
+  public InfomodelValue map(ByteBuffer payload) {
+    return map(payload, IMappingMetricsListener.NOOP);
+  }
+
+  /**
+   * Maps the properties with a binary source from the remaining bytes of the given payload and
+   * reports condition latencies and mapped function blocks to the given listener
+   */
+  public InfomodelValue map(ByteBuffer payload, IMappingMetricsListener metrics) {
+    return map(payload, null, metrics);
+  }
+
+  /**
+   * Maps the properties with a binary source from the remaining bytes of the given payload and
+   * the properties with only an xpath source from the given source context of the same bytes, see
+   * {@link #hasXpathSourceOnly()}
+   * 
+   * @param source context of the payload or null, if properties without a binary source are not
+   *        mapped
+   */
+  public InfomodelValue map(ByteBuffer payload, JXPathContext source,
+      IMappingMetricsListener metrics) {
+    InfomodelValue normalized = new InfomodelValue(infomodel);
+
+    for (FunctionblockPlan functionblock : functionblocks) {
+      FunctionblockValue mappedFb = functionblock.map(payload, source, metrics);
+      if (mappedFb != null) {
+        normalized.withFunctionblock(functionblock.getName(), mappedFb);
+        metrics.functionblockMapped(functionblock.getName());
+      }
+    }
+
+    return normalized;
+  }
+
+  /**
+   * @return true, if any property of the specification has a binary source, see
+   *         {@link BinaryFieldPlan}
+   */
+  public boolean hasBinarySource() {
+    return binarySource;
+  }
+
+  /**
+   * @return true, if any property of the specification has an xpath but no binary source, e.g. a
+   *         converter function of the array payload. If the specification also has binary
+   *         sources, such properties are mapped from binary payloads by a source context of the
+   *         payload.
+   */
+  public boolean hasXpathSourceOnly() {
+    return xpathSourceOnly;
+  }
+
+  public Infomodel getInfomodel() {
+    return infomodel;
+  }
+
+  public List<FunctionblockPlan> getFunctionblocks() {
+    return functionblocks;
+  }
+
+  /**
+   * @return plan of the function block with the given information model property name or null, if
+   *         the information model has no such function block
+   */
+  public FunctionblockPlan getFunctionblock(String name) {
+    return functionblocksByName.get(name);
+  }
+}
@@ -0,0 +1,406 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.plan;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import org.apache.commons.jxpath.CompiledExpression;
+import org.apache.commons.jxpath.JXPathContext;
+import org.apache.commons.jxpath.JXPathInvalidAccessException;
+import org.apache.commons.jxpath.JXPathNotFoundException;
+import org.apache.commons.jxpath.Pointer;
+import org.apache.commons.jxpath.ri.Parser;
+import org.apache.commons.jxpath.ri.compiler.Path;
+import org.apache.commons.jxpath.ri.compiler.TreeCompiler;
+import org.apache.commons.jxpath.ri.model.NodePointer;
+import org.apache.commons.text.StrSubstitutor;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.internal.ConditionCache;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.Stereotype;
+import org.eclipse.vorto.model.runtime.CompactEntityValue;
+import org.eclipse.vorto.model.runtime.CompactFunctionblockValue;
+import org.eclipse.vorto.model.runtime.PropertyLayout;
+
+/**
+ * Execution plan of a single function block or entity property. Properties are either mapped by a
+ * compiled xpath expression, or, if they reference an entity without an own xpath, by the plans of
+ * the entity properties. Properties with a binary source are mapped from binary payloads by their
+ * {@link BinaryFieldPlan}, properties with only an xpath source are mapped from binary payloads by
+ * a source context of the same payload, if one is given.
+ */
+public final class PropertyPlan {
+
+  private static final String STEREOTYPE_SOURCE = "source";
+  private static final String ATTRIBUTE_XPATH = "xpath";
+  private static final String ATTRIBUTE_CONDITION = "condition";
+
+  /**
+   * Result of a location path that does not select any node of the source
+   */
+  private static final Object NOT_FOUND = new Object();
+
+  private final ModelProperty property;
+
+  private final int index;
+
+  private final String xpath;
+
+  private final CompiledExpression expression;
+
+  private final boolean locationPath;
+
+  private final BinaryFieldPlan binaryField;
+
+  private final ConditionPlan condition;
+
+  private final PropertyLayout entityLayout;
+
+  private final List<PropertyPlan> entityProperties;
+
+  private PropertyPlan(ModelProperty property, int index, String xpath,
+      BinaryFieldPlan binaryField, ConditionPlan condition, PropertyLayout entityLayout,
+      List<PropertyPlan> entityProperties) {
+    this.property = property;
+    this.index = index;
+    this.xpath = xpath;
+    this.expression = xpath != null ? JXPathContext.compile(xpath) : null;
+    this.locationPath = xpath != null && isLocationPath(xpath);
+    this.binaryField = binaryField;
+    this.condition = condition;
+    this.entityLayout = entityLayout;
+    this.entityProperties = entityProperties;
+  }
+
+  /**
+   * Compiles the plan for the given property
+   * 
+   * @param property property to compile
+   * @param index index of the property within its declaring list of properties
+   * @param conditions cache used to parse property conditions
+   * @return compiled plan or empty, if the property can never be mapped from a source payload
+   */
+  public static Optional<PropertyPlan> compile(ModelProperty property, int index,
+      ConditionCache conditions) {
+    Optional<Stereotype> sourceStereotype = property.getStereotype(STEREOTYPE_SOURCE);
+    if (sourceStereotype.isPresent() && (hasXpath(sourceStereotype.get().getAttributes())
+        || BinaryFieldPlan.isBinary(sourceStereotype.get().getAttributes()))) {
+      Map<String, String> attributes = sourceStereotype.get().getAttributes();
+      String xpath = resolveXpath(attributes);
+      BinaryFieldPlan binaryField = BinaryFieldPlan.isBinary(attributes)
+          ? BinaryFieldPlan.compile(property, attributes)
+          : null;
+      ConditionPlan condition = sourceStereotype.get().hasAttribute(ATTRIBUTE_CONDITION)
+          ? ConditionPlan.compile(conditions, sourceStereotype.get(), ATTRIBUTE_CONDITION, false)
+          : null;
+      return Optional
+          .of(new PropertyPlan(property, index, xpath, binaryField, condition, null, null));
+    } else if (property.getType() instanceof EntityModel) {
+      EntityModel entityModel = (EntityModel) property.getType();
+      List<PropertyPlan> entityProperties = compileAll(entityModel.getProperties(), conditions);
+      if (entityProperties.isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(new PropertyPlan(property, index, null, null, null,
+          PropertyLayout.of(entityModel), entityProperties));
+    }
+    return Optional.empty();
+  }
+
+  public static List<PropertyPlan> compileAll(List<ModelProperty> properties,
+      ConditionCache conditions) {
+    List<PropertyPlan> plans = new ArrayList<>(properties.size());
+    for (int i = 0; i < properties.size(); i++) {
+      compile(properties.get(i), i, conditions).ifPresent(plans::add);
+    }
+    return Collections.unmodifiableList(plans);
+  }
+
+  /**
+   * Resolves the <code>${...}</code> placeholders of the xpath of a source stereotype by the
+   * values of the other attributes of the stereotype
+   * 
+   * @param stereotypeAttributes attributes of the source stereotype
+   * @return resolved xpath or null, if the stereotype has no xpath
+   */
+  public static String resolveXpath(Map<String, String> stereotypeAttributes) {
+    if (!hasXpath(stereotypeAttributes)) {
+      return null;
+    }
+    return new StrSubstitutor(stereotypeAttributes)
+        .replace(stereotypeAttributes.get(ATTRIBUTE_XPATH));
+  }
+
+  private static boolean hasXpath(Map<String, String> stereotypeAttributes) {
+    return stereotypeAttributes.containsKey(ATTRIBUTE_XPATH)
+        && !stereotypeAttributes.get(ATTRIBUTE_XPATH).equals("");
+  }
+
+  /**
+   * Location paths like <code>/data/temperature</code> are resolved by their node pointer, so that
+   * missing nodes can be detected without an exception. Other expressions, e.g. function calls, are
+   * evaluated as they are.
+   */
+  private static boolean isLocationPath(String xpath) {
+    return Parser.parseExpression(xpath, new TreeCompiler()) instanceof Path;
+  }
+
+  /**
+   * Maps all given properties and passes the mapped values to the given consumer. Missing source
+   * nodes of location paths are detected by pointer checks, only expressions that are no location
+   * paths can still fail with a {@link JXPathNotFoundException}.
+   * 
+   * @return false, if a mandatory property could not be found in the source, true otherwise
+   */
+  public static boolean mapAll(List<PropertyPlan> plans, JXPathContext context,
+      BiConsumer<String, Object> consumer) {
+    for (PropertyPlan plan : plans) {
+      Object mapped = plan.evaluateChecked(context);
+      if (mapped == NOT_FOUND) {
+        if (plan.isMandatory()) {
+          return false;
+        }
+      } else if (mapped != null) {
+        consumer.accept(plan.getName(), mapped);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Maps all given properties from the binary payload and passes the mapped values to the given
+   * consumer. Properties with only an xpath source are mapped from the given source context.
+   * 
+   * @param source context of the same payload or null, if properties without a binary source are
+   *        not mapped
+   * @return false, if the payload is too short for a mandatory property or a mandatory property
+   *         could not be found in the source context, true otherwise
+   */
+  public static boolean mapAll(List<PropertyPlan> plans, ByteBuffer payload,
+      JXPathContext source, BiConsumer<String, Object> consumer) {
+    for (PropertyPlan plan : plans) {
+      if (plan.binaryField != null && !plan.binaryField.isAvailable(payload)) {
+        if (plan.isMandatory()) {
+          return false;
+        }
+        continue;
+      }
+      Object mapped = plan.map(payload, source);
+      if (mapped == NOT_FOUND) {
+        if (plan.isMandatory()) {
+          return false;
+        }
+      } else if (mapped != null) {
+        consumer.accept(plan.getName(), mapped);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Maps all given properties from the binary payload into the slots of the given function block
+   * value, starting at the given slot offset. Binary fields are stored as primitives, properties
+   * with only an xpath source are mapped from the given source context.
+   * 
+   * @param source context of the same payload or null, if properties without a binary source are
+   *        not mapped
+   * @return false, if the payload is too short for a mandatory property or a mandatory property
+   *         could not be found in the source context, true otherwise
+   */
+  public static boolean mapAll(List<PropertyPlan> plans, ByteBuffer payload,
+      JXPathContext source, CompactFunctionblockValue target, int slotOffset) {
+    for (PropertyPlan plan : plans) {
+      if (plan.binaryField == null) {
+        Object mapped = plan.map(payload, source);
+        if (mapped == NOT_FOUND) {
+          if (plan.isMandatory()) {
+            return false;
+          }
+        } else if (mapped != null) {
+          target.setValue(slotOffset + plan.index, mapped);
+        }
+      } else if (!plan.binaryField.isAvailable(payload)) {
+        if (plan.isMandatory()) {
+          return false;
+        }
+      } else if (plan.condition == null || plan.condition.matches(payload)) {
+        plan.binaryField.readInto(payload, target, slotOffset + plan.index);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Maps the property from the given source context
+   * 
+   * @return mapped value or null, if the condition does not match or nothing could be mapped
+   * @throws JXPathNotFoundException if the xpath of the property does not select any value in a
+   *         strict context
+   */
+  public Object map(JXPathContext context) {
+    Object mapped = evaluate(context);
+    if (mapped == NOT_FOUND) {
+      throw new JXPathNotFoundException("No value for xpath: " + xpath);
+    }
+    return mapped;
+  }
+
+  /**
+   * Same as {@link #evaluate(JXPathContext)}, but also returns {@link #NOT_FOUND}, if an expression
+   * that is no location path does not select any value
+   */
+  private Object evaluateChecked(JXPathContext context) {
+    try {
+      return evaluate(context);
+    } catch (JXPathNotFoundException ex) {
+      return NOT_FOUND;
+    } catch (JXPathInvalidAccessException ex) {
+      if (ex.getCause() instanceof JXPathNotFoundException && isMandatory()) {
+        return NOT_FOUND;
+      }
+      throw new MappingException("A problem occured during mapping", ex);
+    }
+  }
+
+  /**
+   * Same as {@link #map(JXPathContext)}, but returns {@link #NOT_FOUND} instead of throwing, if a
+   * location path does not select any value
+   */
+  private Object evaluate(JXPathContext context) {
+    if (expression != null) {
+      if (condition == null || condition.matches(context.getContextBean())) {
+        return locationPath ? lookup(context) : expression.getValue(context);
+      }
+      return null;
+    } else if (entityLayout == null) {
+      return null; // binary source only
+    }
+
+    CompactEntityValue value = new CompactEntityValue(entityLayout);
+    if (!mapAll(entityProperties, context, value::withProperty)) {
+      return null;
+    }
+    return value.isEmpty() ? null : value;
+  }
+
+  /**
+   * Resolves the location path by its pointer in lenient mode and applies the same checks as
+   * {@link JXPathContext#getValue(String)} in strict mode, i.e. a value is missing, if neither the
+   * node nor its container exists.
+   */
+  private Object lookup(JXPathContext context) {
+    boolean lenient = context.isLenient();
+    Pointer pointer;
+    context.setLenient(true);
+    try {
+      pointer = expression.getPointer(context, xpath);
+    } finally {
+      context.setLenient(lenient);
+    }
+    NodePointer valuePointer = ((NodePointer) pointer).getValuePointer();
+    if (!lenient && !valuePointer.isActual()) {
+      NodePointer parent = valuePointer.getImmediateParentPointer();
+      if (parent == null || !parent.isContainer() || !parent.isActual()) {
+        return NOT_FOUND;
+      }
+    }
+    return valuePointer.getValue();
+  }
+
+  public Object map(ByteBuffer payload) {
+    Object mapped = map(payload, null);
+    return mapped == NOT_FOUND ? null : mapped;
+  }
+
+  /**
+   * Maps the property from the binary payload or, if it has only an xpath source, from the given
+   * source context of the same payload
+   * 
+   * @return mapped value, null if nothing was mapped or {@link #NOT_FOUND}, if the xpath of the
+   *         property does not select any value of the source context
+   */
+  private Object map(ByteBuffer payload, JXPathContext source) {
+    if (binaryField != null) {
+      if (condition == null || condition.matches(payload)) {
+        return binaryField.read(payload);
+      }
+      return null;
+    } else if (entityLayout == null) {
+      return source != null ? evaluateChecked(source) : null;
+    }
+
+    CompactEntityValue value = new CompactEntityValue(entityLayout);
+    if (!mapAll(entityProperties, payload, source, value::withProperty)) {
+      return null;
+    }
+    return value.isEmpty() ? null : value;
+  }
+
+  public String getName() {
+    return property.getName();
+  }
+
+  public boolean isMandatory() {
+    return property.isMandatory();
+  }
+
+  public ModelProperty getProperty() {
+    return property;
+  }
+
+  /**
+   * @return index of the property within its declaring list of properties
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  public String getXpath() {
+    return xpath;
+  }
+
+  /**
+   * @return true, if the property has an xpath but no binary source, i.e. it can only be mapped
+   *         from binary payloads by a source context of the payload
+   */
+  public boolean hasXpathSourceOnly() {
+    return expression != null && binaryField == null;
+  }
+
+  /**
+   * @return binary source field of the property or null, if the property has no binary source
+   */
+  public BinaryFieldPlan getBinaryField() {
+    return binaryField;
+  }
+
+  /**
+   * @return condition of the property or null, if the property has no condition
+   */
+  public ConditionPlan getCondition() {
+    return condition;
+  }
+
+  /**
+   * @return plans of the entity properties or null, if the property is mapped by an own xpath
+   */
+  public List<PropertyPlan> getEntityProperties() {
+    return entityProperties;
+  }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.metrics;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Metrics listener that records the latencies of each {@link MappingStage} in an
+ * <a href="http://hdrhistogram.org">HdrHistogram</a> and counts mapped function blocks and errors.
+ * <p>
+ * Requires <code>org.hdrhistogram:HdrHistogram</code> on the classpath, which is an optional
+ * dependency of the mapping engine.
+ * </p>
+ */
+public class HdrHistogramMetricsListener implements IMappingMetricsListener {
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private static final double NANOS_PER_MICRO = 1000.0;
+
+  private final Map<MappingStage, Histogram> latencies = new EnumMap<>(MappingStage.class);
+
+  private final Map<MappingStage, LongAdder> errors = new EnumMap<>(MappingStage.class);
+
+  private final Map<String, LongAdder> functionblocks = new ConcurrentHashMap<>();
+
+  public HdrHistogramMetricsListener() {
+    for (MappingStage stage : MappingStage.values()) {
+      latencies.put(stage, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+      errors.put(stage, new LongAdder());
+    }
+  }
+
+  @Override
+  public void stageCompleted(MappingStage stage, long durationNanos) {
+    latencies.get(stage).recordValue(durationNanos);
+  }
+
+  @Override
+  public void stageFailed(MappingStage stage, Throwable error) {
+    errors.get(stage).increment();
+  }
+
+  @Override
+  public void functionblockMapped(String functionblock) {
+    functionblocks.computeIfAbsent(functionblock, name -> new LongAdder()).increment();
+  }
+
+  /**
+   * @return copy of the latency histogram of the given stage in nanoseconds
+   */
+  public Histogram getLatencies(MappingStage stage) {
+    return latencies.get(stage).copy();
+  }
+
+  public long getErrorCount(MappingStage stage) {
+    return errors.get(stage).sum();
+  }
+
+  /**
+   * @return number of times the function block with the given name has been mapped
+   */
+  public long getFunctionblockCount(String functionblock) {
+    LongAdder count = functionblocks.get(functionblock);
+    return count != null ? count.sum() : 0;
+  }
+
+  /**
+   * Resets all histograms and counters
+   */
+  public void reset() {
+    latencies.values().forEach(Histogram::reset);
+    errors.values().forEach(LongAdder::reset);
+    functionblocks.clear();
+  }
+
+  /**
+   * Writes a summary of all stages with at least one recorded latency or error, followed by the
+   * function block counts. Latencies are in microseconds.
+   */
+  public void export(PrintStream out) {
+    PrintWriter writer = new PrintWriter(out);
+    export(writer);
+    writer.flush();
+  }
+
+  /**
+   * Writes the full percentile distribution of the given stage in microseconds, in the text
+   * format of HdrHistogram
+   */
+  public void exportPercentiles(MappingStage stage, PrintStream out) {
+    getLatencies(stage).outputPercentileDistribution(out, NANOS_PER_MICRO);
+  }
+
+  /**
+   * @return summary as written by {@link #export(PrintStream)}
+   */
+  public String toText() {
+    StringWriter text = new StringWriter();
+    PrintWriter writer = new PrintWriter(text);
+    export(writer);
+    writer.flush();
+    return text.toString();
+  }
+
+  private void export(PrintWriter out) {
+    out.printf("%-10s %10s %8s %10s %10s %10s %10s %10s %10s%n", "stage", "count", "errors",
+        "mean(us)", "p50(us)", "p90(us)", "p99(us)", "p99.9(us)", "max(us)");
+    for (MappingStage stage : MappingStage.values()) {
+      Histogram histogram = getLatencies(stage);
+      long errorCount = getErrorCount(stage);
+      if (histogram.getTotalCount() == 0 && errorCount == 0) {
+        continue;
+      }
+      out.printf("%-10s %10d %8d %10.2f %10.2f %10.2f %10.2f %10.2f %10.2f%n", stage.name(),
+          histogram.getTotalCount(), errorCount, histogram.getMean() / NANOS_PER_MICRO,
+          micros(histogram, 50), micros(histogram, 90), micros(histogram, 99),
+          micros(histogram, 99.9), histogram.getMaxValue() / NANOS_PER_MICRO);
+    }
+
+    if (!functionblocks.isEmpty()) {
+      out.printf("%n%-30s %10s%n", "functionblock", "count");
+      new TreeMap<>(functionblocks)
+          .forEach((name, count) -> out.printf("%-30s %10d%n", name, count.sum()));
+    }
+  }
+
+  private static double micros(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / NANOS_PER_MICRO;
+  }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Receives metrics of a data mapper. Listeners are registered with
+ * <code>DataMapperBuilder.withMetricsListener</code>. Listeners are called by all threads that use the mapper, so they must be thread-safe.
+ * <p>
+ * By default, mappers use {@link #NOOP}, in which case no times are taken at all.
+ * </p>
+ */
+public interface IMappingMetricsListener {
+
+  /**
+   * Listener that ignores all metrics
+   */
+  IMappingMetricsListener NOOP = NoopMetricsListener.INSTANCE;
+
+  /**
+   * Called when a stage has been completed successfully
+   * 
+   * @param stage completed stage
+   * @param durationNanos duration of the stage in nanoseconds
+   */
+  void stageCompleted(MappingStage stage, long durationNanos);
+
+  /**
+   * Called when a stage has failed
+   * 
+   * @param stage failed stage
+   * @param error cause of the failure
+   */
+  void stageFailed(MappingStage stage, Throwable error);
+
+  /**
+   * Called for every function block that has been mapped from a source payload
+   * 
+   * @param functionblock name of the function block property of the information model
+   */
+  void functionblockMapped(String functionblock);
+
+  /**
+   * Runs the given action and records its duration or failure for the given stage, e.g.
+   * <code>metrics.record(MappingStage.DECODE, () -&gt; deserializer.deserialize(json))</code>
+   * 
+   * @return result of the action
+   */
+  default <T> T record(MappingStage stage, Supplier<T> action) {
+    long start = System.nanoTime();
+    T result;
+    try {
+      result = action.get();
+    } catch (RuntimeException e) {
+      stageFailed(stage, e);
+      throw e;
+    }
+    stageCompleted(stage, System.nanoTime() - start);
+    return result;
+  }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.metrics;
+
+/**
+ * Stages of a mapping pipeline, for which an {@link IMappingMetricsListener} records latencies and
+ * errors
+ */
+public enum MappingStage {
+
+  /**
+   * Decoding of the raw device payload, e.g. JSON parsing. Recorded by the caller with
+   * {@link IMappingMetricsListener#record(MappingStage, java.util.function.Supplier)}.
+   */
+  DECODE,
+
+  /**
+   * Complete mapping of a source payload, including all other mapping stages
+   */
+  MAP_SOURCE,
+
+  /**
+   * Evaluation of a function block condition
+   */
+  CONDITION,
+
+  /**
+   * Call of a java converter function
+   */
+  CONVERTER,
+
+  /**
+   * Call of a script (javascript) converter function defined in the mapping specification
+   */
+  SCRIPT,
+
+  /**
+   * Mapping of a property value to the target platform
+   */
+  MAP_TARGET,
+
+  /**
+   * Serialization of the mapped data, e.g. to a digital twin payload. Recorded by the caller with
+   * {@link IMappingMetricsListener#record(MappingStage, java.util.function.Supplier)}.
+   */
+  SERIALIZE
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * @see IMappingMetricsListener#NOOP
+ */
+final class NoopMetricsListener implements IMappingMetricsListener {
+
+  static final NoopMetricsListener INSTANCE = new NoopMetricsListener();
+
+  private NoopMetricsListener() {}
+
+  @Override
+  public void stageCompleted(MappingStage stage, long durationNanos) {}
+
+  @Override
+  public void stageFailed(MappingStage stage, Throwable error) {}
+
+  @Override
+  public void functionblockMapped(String functionblock) {}
+
+  @Override
+  public <T> T record(MappingStage stage, Supplier<T> action) {
+    return action.get();
+  }
+}
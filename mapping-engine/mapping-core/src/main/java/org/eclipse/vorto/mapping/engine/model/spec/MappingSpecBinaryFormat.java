@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.model.spec;
+
+/**
+ * Constants of the binary format of mapping specifications, written by
+ * {@link MappingSpecBinaryWriter} and read by {@link MappingSpecBinaryReader}.
+ * <p>
+ * Layout (version 1):
+ * </p>
+ * <pre>
+ * magic        4 bytes 'V' 'M' 'S' 'B'
+ * version      1 byte
+ * strings      varint count, then per string: varint UTF-8 length, UTF-8 bytes
+ * infomodel    model tree, strings are varint references into the string table
+ * </pre>
+ * <p>
+ * String references and list sizes are stored as varints shifted by one, so that 0 encodes null.
+ * Enum constants are stored by name, so reordering enums does not break existing files.
+ * </p>
+ */
+final class MappingSpecBinaryFormat {
+
+  static final byte[] MAGIC = {'V', 'M', 'S', 'B'};
+
+  static final int VERSION = 1;
+
+  static final int TYPE_NULL = 0;
+  static final int TYPE_PRIMITIVE = 1;
+  static final int TYPE_MODEL_ID = 2;
+  static final int TYPE_FUNCTIONBLOCK = 3;
+  static final int TYPE_ENTITY = 4;
+  static final int TYPE_ENUM = 5;
+  static final int TYPE_DICTIONARY = 6;
+
+  static final int ATTRIBUTE_NULL = 0;
+  static final int ATTRIBUTE_BOOLEAN = 1;
+  static final int ATTRIBUTE_ENUM = 2;
+
+  private MappingSpecBinaryFormat() {}
+}
@@ -0,0 +1,403 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.model.spec;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.vorto.model.AbstractModel;
+import org.eclipse.vorto.model.AbstractProperty;
+import org.eclipse.vorto.model.BooleanAttributeProperty;
+import org.eclipse.vorto.model.BooleanAttributePropertyType;
+import org.eclipse.vorto.model.Constraint;
+import org.eclipse.vorto.model.ConstraintType;
+import org.eclipse.vorto.model.DefaultMappedElement;
+import org.eclipse.vorto.model.DictionaryType;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.EnumAttributeProperty;
+import org.eclipse.vorto.model.EnumAttributePropertyType;
+import org.eclipse.vorto.model.EnumLiteral;
+import org.eclipse.vorto.model.EnumModel;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.IPropertyAttribute;
+import org.eclipse.vorto.model.IReferenceType;
+import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelEvent;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.model.Operation;
+import org.eclipse.vorto.model.Param;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.ReturnType;
+import org.eclipse.vorto.model.Stereotype;
+
+/**
+ * Reads mapping specifications written by {@link MappingSpecBinaryWriter}. The read
+ * specifications are indexed, see {@link MappingSpecification#index()}.
+ * <p>
+ * Strings are interned in a pool that is shared by all specifications read by the same reader, so
+ * that names, namespaces and stereotype attributes that are common to many specifications are
+ * held only once. The reader is thread-safe.
+ * </p>
+ */
+public class MappingSpecBinaryReader {
+
+  private final Map<String, String> pool = new ConcurrentHashMap<>();
+
+  /**
+   * Reads the specification from the remaining bytes of the given buffer, e.g. a memory mapped
+   * file. The position of the buffer is not changed.
+   * 
+   * @throws MappingSpecificationProblem if the buffer does not contain a supported specification
+   */
+  public IMappingSpecification read(ByteBuffer buffer) {
+    try {
+      return new Input(buffer.duplicate()).readSpecification();
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw new MappingSpecificationProblem("Malformed binary mapping specification", e);
+    }
+  }
+
+  public IMappingSpecification read(byte[] bytes) {
+    return read(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Reads the specification from the given file, which is memory mapped instead of being copied
+   * to the heap
+   */
+  public IMappingSpecification read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  private String intern(String value) {
+    String pooled = pool.putIfAbsent(value, value);
+    return pooled != null ? pooled : value;
+  }
+
+  private class Input {
+
+    private final ByteBuffer buffer;
+
+    private String[] strings;
+
+    Input(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    IMappingSpecification readSpecification() {
+      for (byte magic : MappingSpecBinaryFormat.MAGIC) {
+        if (buffer.get() != magic) {
+          throw new MappingSpecificationProblem("Not a binary mapping specification");
+        }
+      }
+      int version = buffer.get() & 0xFF;
+      if (version != MappingSpecBinaryFormat.VERSION) {
+        throw new MappingSpecificationProblem(
+            "Unsupported version " + version + " of binary mapping specification");
+      }
+      readStrings();
+
+      Infomodel infomodel = new Infomodel(new ModelId());
+      readModel(infomodel);
+      infomodel.setFunctionblocks(readProperties());
+      return new MappingSpecification(infomodel).index();
+    }
+
+    private void readStrings() {
+      strings = new String[readVarInt()];
+      byte[] scratch = buffer.hasArray() ? null : new byte[256];
+      for (int i = 0; i < strings.length; i++) {
+        int length = readVarInt();
+        String value;
+        if (scratch == null) {
+          value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+              StandardCharsets.UTF_8);
+          buffer.position(buffer.position() + length);
+        } else {
+          if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+          }
+          buffer.get(scratch, 0, length);
+          value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        strings[i] = intern(value);
+      }
+    }
+
+    int readVarInt() {
+      int value = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        byte b = buffer.get();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new MappingSpecificationProblem("Malformed varint in binary mapping specification");
+    }
+
+    boolean readBoolean() {
+      return buffer.get() != 0;
+    }
+
+    String readString() {
+      int index = readVarInt();
+      return index == 0 ? null : strings[index - 1];
+    }
+
+    <E extends Enum<E>> E readEnum(Class<E> type) {
+      String name = readString();
+      return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    /**
+     * @return size of the list or -1, if the list is null
+     */
+    int readSize() {
+      return readVarInt() - 1;
+    }
+
+    ModelId readModelId() {
+      if (!readBoolean()) {
+        return null;
+      }
+      return new ModelId(readString(), readString(), readString());
+    }
+
+    void readMappedElement(DefaultMappedElement element) {
+      element.setTargetPlatformKey(readString());
+      int size = readSize();
+      List<Stereotype> stereotypes = null;
+      if (size >= 0) {
+        stereotypes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          String name = readString();
+          int attributeCount = readVarInt();
+          Map<String, String> attributes = new LinkedHashMap<>(attributeCount * 2);
+          for (int j = 0; j < attributeCount; j++) {
+            attributes.put(readString(), readString());
+          }
+          stereotypes.add(Stereotype.create(name, attributes));
+        }
+      }
+      element.setStereotypes(stereotypes);
+      element.setMappingReference(readModelId());
+    }
+
+    /**
+     * Reads the common fields of all models. Fields of the concrete model types are read by the
+     * caller.
+     */
+    void readModel(AbstractModel model) {
+      readMappedElement(model);
+      model.setVortolang(readString());
+      model.setId(readModelId());
+      model.setType(readEnum(ModelType.class));
+      model.setDisplayName(readString());
+      model.setDescription(readString());
+      model.setCategory(readString());
+      model.setFileName(readString());
+      int size = readSize();
+      List<ModelId> references = null;
+      if (size >= 0) {
+        references = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          references.add(readModelId());
+        }
+      }
+      model.setReferences(references);
+    }
+
+    FunctionblockModel readFunctionblock() {
+      FunctionblockModel functionblock = new FunctionblockModel(new ModelId());
+      readModel(functionblock);
+      functionblock.setStatusProperties(readProperties());
+      functionblock.setConfigurationProperties(readProperties());
+      functionblock.setFaultProperties(readProperties());
+
+      int size = readSize();
+      List<ModelEvent> events = null;
+      if (size >= 0) {
+        events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          ModelEvent event = new ModelEvent();
+          event.setName(readString());
+          event.setProperties(readProperties());
+          events.add(event);
+        }
+      }
+      functionblock.setEvents(events);
+
+      size = readSize();
+      List<Operation> operations = null;
+      if (size >= 0) {
+        operations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          operations.add(readOperation());
+        }
+      }
+      functionblock.setOperations(operations);
+      functionblock.setSuperType(readModelId());
+      return functionblock;
+    }
+
+    EntityModel readEntity() {
+      EntityModel entity = new EntityModel(new ModelId());
+      readModel(entity);
+      entity.setProperties(readProperties());
+      entity.setSuperType(readModelId());
+      return entity;
+    }
+
+    EnumModel readEnumModel() {
+      EnumModel enumModel = new EnumModel(new ModelId());
+      readModel(enumModel);
+      int size = readSize();
+      List<EnumLiteral> literals = null;
+      if (size >= 0) {
+        literals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          literals.add(readLiteral());
+        }
+      }
+      enumModel.setLiterals(literals);
+      return enumModel;
+    }
+
+    Operation readOperation() {
+      Operation operation = new Operation(null);
+      readMappedElement(operation);
+      operation.setName(readString());
+      operation.setDescription(readString());
+      operation.setBreakable(readBoolean());
+      if (readBoolean()) {
+        ReturnType result = new ReturnType();
+        result.setMultiple(readBoolean());
+        result.setPrimitive(readBoolean());
+        result.setType(readType());
+        operation.setResult(result);
+      }
+      int size = readSize();
+      List<Param> params = null;
+      if (size >= 0) {
+        params = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          Param param = new Param();
+          readProperty(param);
+          params.add(param);
+        }
+      }
+      operation.setParams(params);
+      return operation;
+    }
+
+    List<ModelProperty> readProperties() {
+      int size = readSize();
+      if (size < 0) {
+        return null;
+      }
+      List<ModelProperty> properties = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        ModelProperty property = new ModelProperty();
+        readProperty(property);
+        int attributeCount = readSize();
+        List<IPropertyAttribute> attributes = null;
+        if (attributeCount >= 0) {
+          attributes = new ArrayList<>(attributeCount);
+          for (int j = 0; j < attributeCount; j++) {
+            attributes.add(readAttribute());
+          }
+        }
+        property.setAttributes(attributes);
+        properties.add(property);
+      }
+      return properties;
+    }
+
+    void readProperty(AbstractProperty property) {
+      readMappedElement(property);
+      property.setMandatory(readBoolean());
+      property.setName(readString());
+      property.setMultiple(readBoolean());
+      property.setDescription(readString());
+      property.setType(readType());
+      int size = readSize();
+      List<Constraint> constraints = null;
+      if (size >= 0) {
+        constraints = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          constraints.add(new Constraint(readEnum(ConstraintType.class), readString()));
+        }
+      }
+      property.setConstraints(constraints);
+    }
+
+    IPropertyAttribute readAttribute() {
+      int kind = buffer.get();
+      switch (kind) {
+        case MappingSpecBinaryFormat.ATTRIBUTE_NULL:
+          return null;
+        case MappingSpecBinaryFormat.ATTRIBUTE_BOOLEAN:
+          return new BooleanAttributeProperty(readEnum(BooleanAttributePropertyType.class),
+              readBoolean());
+        case MappingSpecBinaryFormat.ATTRIBUTE_ENUM:
+          EnumAttributePropertyType type = readEnum(EnumAttributePropertyType.class);
+          return new EnumAttributeProperty(type, readBoolean() ? readLiteral() : null);
+        default:
+          throw new MappingSpecificationProblem("Unknown property attribute " + kind);
+      }
+    }
+
+    EnumLiteral readLiteral() {
+      return new EnumLiteral(readString(), readString(), readModelId());
+    }
+
+    IReferenceType readType() {
+      int kind = buffer.get();
+      switch (kind) {
+        case MappingSpecBinaryFormat.TYPE_NULL:
+          return null;
+        case MappingSpecBinaryFormat.TYPE_PRIMITIVE:
+          return readEnum(PrimitiveType.class);
+        case MappingSpecBinaryFormat.TYPE_MODEL_ID:
+          return readModelId();
+        case MappingSpecBinaryFormat.TYPE_FUNCTIONBLOCK:
+          return readFunctionblock();
+        case MappingSpecBinaryFormat.TYPE_ENTITY:
+          return readEntity();
+        case MappingSpecBinaryFormat.TYPE_ENUM:
+          return readEnumModel();
+        case MappingSpecBinaryFormat.TYPE_DICTIONARY:
+          String dictionaryType = readString();
+          DictionaryType dictionary = new DictionaryType(readType(), readType());
+          dictionary.setType(dictionaryType);
+          return dictionary;
+        default:
+          throw new MappingSpecificationProblem("Unknown reference type " + kind);
+      }
+    }
+  }
+}
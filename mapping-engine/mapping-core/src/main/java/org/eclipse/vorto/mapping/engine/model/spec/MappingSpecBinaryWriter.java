@@ -0,0 +1,320 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.model.spec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.vorto.model.AbstractModel;
+import org.eclipse.vorto.model.AbstractProperty;
+import org.eclipse.vorto.model.BooleanAttributeProperty;
+import org.eclipse.vorto.model.Constraint;
+import org.eclipse.vorto.model.DefaultMappedElement;
+import org.eclipse.vorto.model.DictionaryType;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.EnumAttributeProperty;
+import org.eclipse.vorto.model.EnumLiteral;
+import org.eclipse.vorto.model.EnumModel;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.IPropertyAttribute;
+import org.eclipse.vorto.model.IReferenceType;
+import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelEvent;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.Operation;
+import org.eclipse.vorto.model.Param;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.ReturnType;
+import org.eclipse.vorto.model.Stereotype;
+
+/**
+ * Writes mapping specifications in a compact, versioned binary format, that is read by
+ * {@link MappingSpecBinaryReader}. All strings of a specification are stored once in a string
+ * table. See {@link MappingSpecBinaryFormat} for the layout.
+ * <p>
+ * Example: convert a JSON specification once, e.g. at deployment time:
+ * </p>
+ * <pre>
+ * IMappingSpecification spec = IMappingSpecification.newBuilder().fromInputStream(json).build();
+ * new MappingSpecBinaryWriter().write(spec, out);
+ * </pre>
+ */
+public class MappingSpecBinaryWriter {
+
+  /**
+   * Writes the given specification to the given stream. The stream is not closed.
+   */
+  public void write(IMappingSpecification specification, OutputStream out) throws IOException {
+    if (specification.getInfoModel() == null) {
+      throw new MappingSpecificationProblem("Mapping specification has no information model");
+    }
+    Output body = new Output();
+    body.writeModel(specification.getInfoModel());
+
+    Output header = new Output();
+    header.write(MappingSpecBinaryFormat.MAGIC, 0, MappingSpecBinaryFormat.MAGIC.length);
+    header.write(MappingSpecBinaryFormat.VERSION);
+    header.writeVarInt(body.strings.size());
+    for (String value : body.strings.keySet()) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      header.writeVarInt(bytes.length);
+      header.write(bytes, 0, bytes.length);
+    }
+    header.writeTo(out);
+    body.writeTo(out);
+  }
+
+  /**
+   * @return the given specification in binary format
+   */
+  public byte[] toByteArray(IMappingSpecification specification) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      write(specification, out);
+    } catch (IOException e) {
+      throw new MappingSpecificationProblem("Could not write mapping specification", e);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Buffer that collects the string table while the model is written
+   */
+  private static class Output extends ByteArrayOutputStream {
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+    Output() {
+      super(4096);
+    }
+
+    void writeVarInt(int value) {
+      while ((value & ~0x7F) != 0) {
+        write((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      write(value);
+    }
+
+    void writeBoolean(boolean value) {
+      write(value ? 1 : 0);
+    }
+
+    void writeString(String value) {
+      if (value == null) {
+        writeVarInt(0);
+        return;
+      }
+      Integer index = strings.get(value);
+      if (index == null) {
+        index = strings.size();
+        strings.put(value, index);
+      }
+      writeVarInt(index + 1);
+    }
+
+    void writeEnum(Enum<?> value) {
+      writeString(value != null ? value.name() : null);
+    }
+
+    /**
+     * Writes the size of the list, 0 for a null list and size + 1 otherwise
+     * 
+     * @return true, if the list is not null and its elements must be written
+     */
+    boolean writeSize(List<?> list) {
+      writeVarInt(list != null ? list.size() + 1 : 0);
+      return list != null;
+    }
+
+    void writeModelId(ModelId id) {
+      writeBoolean(id != null);
+      if (id != null) {
+        writeString(id.getName());
+        writeString(id.getNamespace());
+        writeString(id.getVersion());
+      }
+    }
+
+    void writeMappedElement(DefaultMappedElement element) {
+      writeString(element.getTargetPlatformKey());
+      if (writeSize(element.getStereotypes())) {
+        for (Stereotype stereotype : element.getStereotypes()) {
+          writeString(stereotype.getName());
+          Map<String, String> attributes = stereotype.getAttributes();
+          writeVarInt(attributes.size());
+          for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            writeString(attribute.getKey());
+            writeString(attribute.getValue());
+          }
+        }
+      }
+      writeModelId(element.getMappingReference());
+    }
+
+    void writeModel(AbstractModel model) {
+      writeMappedElement(model);
+      writeString(model.getVortolang());
+      writeModelId(model.getId());
+      writeEnum(model.getType());
+      writeString(model.getDisplayName());
+      writeString(model.getDescription());
+      writeString(model.getCategory());
+      writeString(model.getFileName());
+      if (writeSize(model.getReferences())) {
+        for (ModelId reference : model.getReferences()) {
+          writeModelId(reference);
+        }
+      }
+
+      if (model instanceof Infomodel) {
+        writeProperties(((Infomodel) model).getFunctionblocks());
+      } else if (model instanceof FunctionblockModel) {
+        FunctionblockModel functionblock = (FunctionblockModel) model;
+        writeProperties(functionblock.getStatusProperties());
+        writeProperties(functionblock.getConfigurationProperties());
+        writeProperties(functionblock.getFaultProperties());
+        if (writeSize(functionblock.getEvents())) {
+          for (ModelEvent event : functionblock.getEvents()) {
+            writeString(event.getName());
+            writeProperties(event.getProperties());
+          }
+        }
+        if (writeSize(functionblock.getOperations())) {
+          for (Operation operation : functionblock.getOperations()) {
+            writeOperation(operation);
+          }
+        }
+        writeModelId(functionblock.getSuperType());
+      } else if (model instanceof EntityModel) {
+        writeProperties(((EntityModel) model).getProperties());
+        writeModelId(((EntityModel) model).getSuperType());
+      } else if (model instanceof EnumModel) {
+        List<EnumLiteral> literals = ((EnumModel) model).getLiterals();
+        if (writeSize(literals)) {
+          for (EnumLiteral literal : literals) {
+            writeLiteral(literal);
+          }
+        }
+      }
+    }
+
+    void writeOperation(Operation operation) {
+      writeMappedElement(operation);
+      writeString(operation.getName());
+      writeString(operation.getDescription());
+      writeBoolean(operation.isBreakable());
+      ReturnType result = operation.getResult();
+      writeBoolean(result != null);
+      if (result != null) {
+        writeBoolean(result.isMultiple());
+        writeBoolean(result.isPrimitive());
+        writeType(result.getType());
+      }
+      if (writeSize(operation.getParams())) {
+        for (Param param : operation.getParams()) {
+          writeProperty(param);
+        }
+      }
+    }
+
+    void writeProperties(List<ModelProperty> properties) {
+      if (writeSize(properties)) {
+        for (ModelProperty property : properties) {
+          writeProperty(property);
+          if (writeSize(property.getAttributes())) {
+            for (IPropertyAttribute attribute : property.getAttributes()) {
+              writeAttribute(attribute);
+            }
+          }
+        }
+      }
+    }
+
+    void writeProperty(AbstractProperty property) {
+      writeMappedElement(property);
+      writeBoolean(property.isMandatory());
+      writeString(property.getName());
+      writeBoolean(property.isMultiple());
+      writeString(property.getDescription());
+      writeType(property.getType());
+      if (writeSize(property.getConstraints())) {
+        for (Constraint constraint : property.getConstraints()) {
+          writeEnum(constraint.getType());
+          writeString(constraint.getValue());
+        }
+      }
+    }
+
+    void writeAttribute(IPropertyAttribute attribute) {
+      if (attribute instanceof BooleanAttributeProperty) {
+        write(MappingSpecBinaryFormat.ATTRIBUTE_BOOLEAN);
+        writeEnum(((BooleanAttributeProperty) attribute).getType());
+        writeBoolean(((BooleanAttributeProperty) attribute).isValue());
+      } else if (attribute instanceof EnumAttributeProperty) {
+        write(MappingSpecBinaryFormat.ATTRIBUTE_ENUM);
+        writeEnum(((EnumAttributeProperty) attribute).getType());
+        EnumLiteral literal = ((EnumAttributeProperty) attribute).getValue();
+        writeBoolean(literal != null);
+        if (literal != null) {
+          writeLiteral(literal);
+        }
+      } else if (attribute == null) {
+        write(MappingSpecBinaryFormat.ATTRIBUTE_NULL);
+      } else {
+        throw new MappingSpecificationProblem(
+            "Unsupported property attribute " + attribute.getClass().getName());
+      }
+    }
+
+    void writeLiteral(EnumLiteral literal) {
+      writeString(literal.getName());
+      writeString(literal.getDescription());
+      writeModelId(literal.getParent());
+    }
+
+    void writeType(IReferenceType type) {
+      if (type == null) {
+        write(MappingSpecBinaryFormat.TYPE_NULL);
+      } else if (type instanceof PrimitiveType) {
+        write(MappingSpecBinaryFormat.TYPE_PRIMITIVE);
+        writeEnum((PrimitiveType) type);
+      } else if (type instanceof ModelId) {
+        write(MappingSpecBinaryFormat.TYPE_MODEL_ID);
+        writeModelId((ModelId) type);
+      } else if (type instanceof FunctionblockModel) {
+        write(MappingSpecBinaryFormat.TYPE_FUNCTIONBLOCK);
+        writeModel((FunctionblockModel) type);
+      } else if (type instanceof EntityModel) {
+        write(MappingSpecBinaryFormat.TYPE_ENTITY);
+        writeModel((EntityModel) type);
+      } else if (type instanceof EnumModel) {
+        write(MappingSpecBinaryFormat.TYPE_ENUM);
+        writeModel((EnumModel) type);
+      } else if (type instanceof DictionaryType) {
+        write(MappingSpecBinaryFormat.TYPE_DICTIONARY);
+        writeString(((DictionaryType) type).getType());
+        writeType(((DictionaryType) type).getKey());
+        writeType(((DictionaryType) type).getValue());
+      } else {
+        throw new MappingSpecificationProblem(
+            "Unsupported reference type " + type.getClass().getName());
+      }
+    }
+  }
+}
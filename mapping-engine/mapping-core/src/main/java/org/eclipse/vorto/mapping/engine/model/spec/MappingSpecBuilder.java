@@ -70,9 +70,12 @@ public class MappingSpecBuilder {
     return this;
   }
 
+  /**
+   * Reads the mapping specification and indexes its function blocks and their properties by name
+   */
   public IMappingSpecification build() {
     try {
-      return gson.fromJson(IOUtils.toString(this.input), MappingSpecification.class);
+      return gson.fromJson(IOUtils.toString(this.input), MappingSpecification.class).index();
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
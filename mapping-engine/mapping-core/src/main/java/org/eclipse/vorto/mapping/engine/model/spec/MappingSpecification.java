@@ -12,13 +12,20 @@
  */
 package org.eclipse.vorto.mapping.engine.model.spec;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.apache.commons.jxpath.FunctionLibrary;
+import org.apache.commons.jxpath.Functions;
 import org.eclipse.vorto.mapping.engine.functions.IScriptEvalProvider;
 import org.eclipse.vorto.mapping.engine.functions.IScriptEvaluator;
 import org.eclipse.vorto.mapping.engine.functions.ScriptClassFunction;
 import org.eclipse.vorto.model.FunctionblockModel;
 import org.eclipse.vorto.model.IMappedElement;
 import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelProperty;
 import org.eclipse.vorto.model.Stereotype;
 
 public class MappingSpecification implements IMappingSpecification {
@@ -28,6 +35,12 @@ public class MappingSpecification implements IMappingSpecification {
   private static final String STEREOTYPE_FUNCTIONS = "functions";
 
   private Infomodel infoModel;
+
+  private transient Map<String, FunctionblockModel> functionblockIndex = null;
+
+  private transient IScriptEvalProvider scriptFunctionsProvider = null;
+
+  private transient List<Functions> scriptFunctions = null;
   
   public MappingSpecification(Infomodel infoModel) {
     this();
@@ -38,6 +51,29 @@ public class MappingSpecification implements IMappingSpecification {
 
   public void setInfoModel(Infomodel infoModel) {
     this.infoModel = infoModel;
+    this.functionblockIndex = null;
+    this.scriptFunctionsProvider = null;
+    this.scriptFunctions = null;
+  }
+
+  /**
+   * Builds immutable hash indexes of the function blocks of the information model and of the
+   * properties of each function block, see {@link FunctionblockModel#indexProperties()}. The
+   * information model must not be modified afterwards.
+   * 
+   * @return this specification
+   */
+  public MappingSpecification index() {
+    Map<String, FunctionblockModel> index = new HashMap<>();
+    for (ModelProperty property : infoModel.getFunctionblocks()) {
+      if (property.getType() instanceof FunctionblockModel) {
+        FunctionblockModel functionblock = (FunctionblockModel) property.getType();
+        functionblock.indexProperties();
+        index.putIfAbsent(property.getName(), functionblock);
+      }
+    }
+    this.functionblockIndex = Collections.unmodifiableMap(index);
+    return this;
   }
 
   @Override
@@ -47,12 +83,35 @@ public class MappingSpecification implements IMappingSpecification {
 
   @Override
   public FunctionblockModel getFunctionBlock(String name) {
+    if (functionblockIndex != null && functionblockIndex.containsKey(name)) {
+      return functionblockIndex.get(name);
+    }
     return (FunctionblockModel)this.infoModel.getFunctionblocks().stream().filter(p -> p.getName().equals(name)).findAny().get().getType();
   }
-  
+
+  /**
+   * Gets the script functions of all function blocks. The evaluators are created once for the
+   * given provider and reused by subsequent calls with the same provider.
+   */
   @Override
   public FunctionLibrary getScriptFunctions(IScriptEvalProvider factory) {
     FunctionLibrary library = new FunctionLibrary();
+    for (Functions functions : getScriptFunctionsOf(factory)) {
+      library.addFunctions(functions);
+    }
+    return library;
+  }
+
+  private synchronized List<Functions> getScriptFunctionsOf(IScriptEvalProvider factory) {
+    if (scriptFunctions == null || scriptFunctionsProvider != factory) {
+      scriptFunctions = Collections.unmodifiableList(createScriptFunctions(factory));
+      scriptFunctionsProvider = factory;
+    }
+    return scriptFunctions;
+  }
+
+  private List<Functions> createScriptFunctions(IScriptEvalProvider factory) {
+    List<Functions> library = new ArrayList<>();
     this.infoModel.getFunctionblocks().stream().forEach(property -> {
       IMappedElement mappedElement = (IMappedElement)property.getType();
       if (mappedElement.getStereotype(STEREOTYPE_FUNCTIONS).isPresent()) {
@@ -62,7 +121,7 @@ public class MappingSpecification implements IMappingSpecification {
             .filter(functionName -> !functionName.equalsIgnoreCase(STEREOTYPE_NAMESPACE)).forEach(
                 functionName -> evaluator.addScriptFunction(new ScriptClassFunction(functionName,
                     functionsStereoType.getAttributes().get(functionName))));
-        library.addFunctions(evaluator.getFunctions());
+        library.add(evaluator.getFunctions());
       }
     });
     return library;
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.MappingContext;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.MappingResult;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.model.runtime.PropertyValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionalProperties;
+import org.junit.Test;
+
+public class BatchMappingTest {
+
+  private static final int BATCH_SIZE = 200;
+
+  @Test
+  public void testMapSourceBatch() {
+    List<MappingResult> results = createMapper().mapSourceBatch(createBatch());
+
+    assertResults(results);
+  }
+
+  @Test
+  public void testMapSourceBatchWithExecutor() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<MappingResult> results = createMapper().mapSourceBatch(createBatch(), executor);
+
+      assertResults(results);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testMapSourceStream() {
+    List<MappingResult> results =
+        createMapper().mapSourceStream(createBatch().stream()).collect(Collectors.toList());
+
+    assertResults(results);
+  }
+
+  @Test
+  public void testMalformedPayloadsOfRealMapper() {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithConditionalProperties()).build();
+    IPayloadDeserializer deserializer = new JSONDeserializer();
+    List<Object> batch = new ArrayList<>();
+    batch.add(deserializer.deserialize("{\"count\" : 2}"));
+    batch.add(deserializer.deserialize("{\"count\" : \"two\"}"));
+    batch.add(deserializer.deserialize("{\"count\" : 3}"));
+
+    List<MappingResult> results = mapper.mapSourceBatch(batch);
+    assertTrue(results.get(0).isSuccess());
+    assertFalse(results.get(1).isSuccess());
+    assertTrue(results.get(1).getError().isPresent());
+    assertEquals(3.0, results.get(2).getValue().get("button").getStatusProperty("sensor_value2")
+        .get().getValue());
+  }
+
+  @Test
+  public void testMapEmptyBatch() {
+    assertTrue(createMapper().mapSourceBatch(new ArrayList<>()).isEmpty());
+    assertEquals(0, createMapper().mapSourceStream(Stream.empty()).count());
+  }
+
+  private static void assertResults(List<MappingResult> results) {
+    assertEquals(BATCH_SIZE, results.size());
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      MappingResult result = results.get(i);
+      if (i % 10 == 9) {
+        assertFalse(result.isSuccess());
+        assertNull(result.getValue());
+        assertTrue(result.getError().get() instanceof MappingException);
+      } else {
+        assertTrue(result.isSuccess());
+        assertEquals((double) (i + 2), result.getValue().get("button")
+            .getStatusProperty("sensor_value2").get().getValue());
+      }
+    }
+  }
+
+  private static List<Object> createBatch() {
+    IPayloadDeserializer deserializer = new JSONDeserializer();
+    List<Object> batch = new ArrayList<>();
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      batch.add(i % 10 == 9 ? "invalid" : deserializer.deserialize("{\"count\" : " + (i + 2) + "}"));
+    }
+    return batch;
+  }
+
+  private static IDataMapper createMapper() {
+    return new FailingDataMapper(
+        IDataMapper.newBuilder().withSpecification(new SpecWithConditionalProperties()).build());
+  }
+
+  /**
+   * Delegating mapper that fails for payloads that are not json objects
+   */
+  private static class FailingDataMapper implements IDataMapper {
+
+    private IDataMapper delegate;
+
+    FailingDataMapper(IDataMapper delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public InfomodelValue map(Object input, MappingContext context) {
+      return mapSource(input);
+    }
+
+    @Override
+    public InfomodelValue mapSource(Object input) {
+      if (input instanceof String) {
+        throw new MappingException("Cannot map " + input);
+      }
+      return delegate.mapSource(input);
+    }
+
+    @Override
+    public Object mapTarget(PropertyValue newValue, Optional<PropertyValue> oldValue,
+        String infoModelProperty) {
+      return delegate.mapTarget(newValue, oldValue, infoModelProperty);
+    }
+  }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
+import org.eclipse.vorto.model.runtime.FunctionblockValue;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.AbstractTestSpec;
+import org.eclipse.vorto.service.mapping.spec.SpecWithBinarySource;
+import org.junit.Test;
+
+public class BinarySourceMappingTest {
+
+  private IDataMapper mapper =
+      IDataMapper.newBuilder().withSpecification(new SpecWithBinarySource()).build();
+
+  @Test
+  public void testMapHeapBuffer() {
+    assertSensorFrame(mapper.mapSource(createFrame(ByteBuffer.allocate(20))));
+  }
+
+  @Test
+  public void testMapDirectBufferWithLittleEndianOrder() {
+    ByteBuffer frame = createFrame(ByteBuffer.allocateDirect(20));
+    frame.order(ByteOrder.LITTLE_ENDIAN);
+
+    assertSensorFrame(mapper.mapSource(frame));
+    assertEquals(0, frame.position());
+    assertEquals(ByteOrder.LITTLE_ENDIAN, frame.order());
+  }
+
+  @Test
+  public void testMapByteArray() {
+    assertSensorFrame(mapper.mapSource(createFrame(ByteBuffer.allocate(20)).array()));
+  }
+
+  @Test
+  public void testOffsetsAreRelativeToPosition() {
+    ByteBuffer buffer = ByteBuffer.allocate(25);
+    buffer.position(5);
+    createFrame(buffer.slice());
+
+    assertSensorFrame(mapper.mapSource(buffer));
+  }
+
+  @Test
+  public void testConditionOnFrameType() {
+    ByteBuffer frame = createFrame(ByteBuffer.allocate(20));
+    frame.put(0, (byte) 2);
+
+    assertNull(mapper.mapSource(frame).get("sensor"));
+  }
+
+  @Test
+  public void testShortFrame() {
+    ByteBuffer frame = createFrame(ByteBuffer.allocate(20));
+
+    frame.limit(18);
+    FunctionblockValue sensor = mapper.mapSource(frame).get("sensor");
+    assertEquals(65.0f, sensor.getStatusProperty("temperature").get().getValue());
+    assertFalse(sensor.getStatusProperty("battery").isPresent());
+
+    frame.limit(4);
+    assertNull(mapper.mapSource(frame).get("sensor"));
+  }
+
+  @Test
+  public void testNegativeSignedValue() {
+    ByteBuffer frame = createFrame(ByteBuffer.allocate(20));
+    frame.putShort(18, Short.reverseBytes((short) -42));
+
+    assertEquals((short) -42, mapper.mapSource(frame).get("sensor")
+        .getStatusProperty("battery").get().getValue());
+  }
+
+  @Test
+  public void testMappedValuesAreValid() {
+    FunctionblockValue sensor =
+        mapper.mapSource(createFrame(ByteBuffer.allocate(20))).get("sensor");
+
+    assertTrue(sensor.validate().getItems().toString(), sensor.validate().isValid());
+  }
+
+  @Test
+  public void testMixedSourceMapsXpathPropertiesFromSameBytes() {
+    IDataMapper mixedMapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithMixedSource()).build();
+    ByteBuffer buffer = ByteBuffer.allocate(25);
+    buffer.position(5);
+    createFrame(buffer.slice());
+
+    assertMixedFrame(mixedMapper.mapSource(buffer));
+    assertEquals(5, buffer.position());
+
+    byte[] frame = new byte[20];
+    buffer.duplicate().get(frame);
+    assertMixedFrame(mixedMapper.mapSource(frame));
+  }
+
+  @Test
+  public void testMixedSourceWithoutMandatoryXpathValue() {
+    IDataMapper mixedMapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithMixedSource()).build();
+    ByteBuffer frame = createFrame(ByteBuffer.allocate(20));
+
+    frame.limit(12);
+    assertNull(mixedMapper.mapSource(frame).get("sensor"));
+  }
+
+  @Test(expected = MappingException.class)
+  public void testInvalidLength() {
+    IDataMapper.newBuilder().withSpecification(new SpecWithInvalidBinarySource()).build();
+  }
+
+  private static ByteBuffer createFrame(ByteBuffer buffer) {
+    buffer.put(0, (byte) 1);
+    buffer.order(ByteOrder.LITTLE_ENDIAN).putFloat(1, 65.0f).order(ByteOrder.BIG_ENDIAN);
+    buffer.put(5, (byte) 200);
+    buffer.put(6, (byte) 0xFF).put(7, (byte) 0x00).put(8, (byte) 0x01);
+    buffer.put(9, (byte) 0b00000100);
+    buffer.putDouble(10, 1013.25);
+    buffer.putShort(18, Short.reverseBytes((short) 3000));
+    return buffer;
+  }
+
+  private static void assertSensorFrame(InfomodelValue value) {
+    FunctionblockValue sensor = value.get("sensor");
+    assertEquals(65.0f, sensor.getStatusProperty("temperature").get().getValue());
+    assertEquals(200.0, sensor.getStatusProperty("humidity").get().getValue());
+    assertEquals(0xFF0001L, sensor.getStatusProperty("counter").get().getValue());
+    assertEquals(true, sensor.getStatusProperty("alarm").get().getValue());
+    assertEquals(1013.25, sensor.getStatusProperty("pressure").get().getValue());
+    assertEquals((short) 3000, sensor.getStatusProperty("battery").get().getValue());
+  }
+
+  private static void assertMixedFrame(InfomodelValue value) {
+    FunctionblockValue sensor = value.get("sensor");
+    assertEquals(65.0f, sensor.getStatusProperty("temperature").get().getValue());
+    assertEquals((byte) 1, sensor.getStatusProperty("frameType").get().getValue());
+    assertEquals(5.0, sensor.getStatusProperty("checksum").get().getValue());
+    assertEquals((byte) 0xAA, sensor.getStatusProperty("pressureByte").get().getValue());
+  }
+
+  /**
+   * Binary source field, which is read from the buffer, and xpath sources, which are evaluated on
+   * the same bytes
+   */
+  private static class SpecWithMixedSource extends AbstractTestSpec {
+
+    @Override
+    protected void createModel() {
+      Map<String, String> attributes = new HashMap<>();
+      attributes.put("offset", "1");
+      attributes.put("endian", "little");
+      FunctionblockModel sensorModel = FunctionblockModel
+          .Builder(ModelId.fromPrettyFormat("demo.fb:Sensor:1.0.0"))
+          .statusProperty(ModelProperty.Builder("temperature", PrimitiveType.FLOAT)
+              .withStereotype(Stereotype.SOURCE, attributes, "ble").build())
+          .statusProperty(ModelProperty.Builder("frameType", PrimitiveType.INT)
+              .withXPathStereotype("array[1]", "ble").build())
+          .statusProperty(ModelProperty.Builder("checksum", PrimitiveType.DOUBLE)
+              .withXPathStereotype("array[1] + array[10]", "ble").build())
+          .statusProperty(ModelProperty.Builder("pressureByte", PrimitiveType.INT)
+              .withXPathStereotype("array[13]", "ble").build())
+          .build();
+      infomodel.getFunctionblocks().add(ModelProperty.Builder("sensor", sensorModel).build());
+    }
+  }
+
+  private static class SpecWithInvalidBinarySource extends AbstractTestSpec {
+
+    @Override
+    protected void createModel() {
+      Map<String, String> attributes = new HashMap<>();
+      attributes.put("offset", "0");
+      attributes.put("length", "3");
+      FunctionblockModel sensorModel = FunctionblockModel
+          .Builder(ModelId.fromPrettyFormat("demo.fb:Sensor:1.0.0"))
+          .statusProperty(ModelProperty.Builder("value", PrimitiveType.FLOAT)
+              .withStereotype(Stereotype.SOURCE, attributes, "ble").build())
+          .build();
+      infomodel.getFunctionblocks().add(ModelProperty.Builder("sensor", sensorModel).build());
+    }
+  }
+}
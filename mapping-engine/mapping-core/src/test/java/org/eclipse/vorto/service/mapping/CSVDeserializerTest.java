@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.decoder.CSVDeserializer;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
+import org.eclipse.vorto.model.runtime.FunctionblockValue;
+import org.eclipse.vorto.service.mapping.spec.AbstractTestSpec;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionFunction;
+import org.junit.Test;
+
+public class CSVDeserializerTest {
+
+  @Test
+  public void testUntypedFields() {
+    CSVDeserializer deserializer = new CSVDeserializer();
+
+    assertArrayEquals(new String[] {"1", "2", "3"}, (String[]) deserializer.deserialize("1,2,3"));
+    assertArrayEquals(new String[] {"", "2", ""}, (String[]) deserializer.deserialize(",2,"));
+    assertArrayEquals(new String[] {""}, (String[]) deserializer.deserialize(""));
+    assertArrayEquals(new String[] {"a", "b"}, (String[]) deserializer.deserialize("a,b\r\n"));
+  }
+
+  @Test
+  public void testQuotedFields() {
+    CSVDeserializer deserializer = new CSVDeserializer();
+
+    assertArrayEquals(new String[] {"a,b", "say \"hi\"", "", "line\nbreak"},
+        (String[]) deserializer
+            .deserialize("\"a,b\",\"say \"\"hi\"\"\",\"\",\"line\nbreak\""));
+  }
+
+  @Test
+  public void testDelimiter() {
+    assertArrayEquals(new String[] {"1,5", "2"},
+        (String[]) new CSVDeserializer(';').deserialize("1,5;2"));
+  }
+
+  @Test
+  public void testTypedColumns() {
+    CSVDeserializer deserializer = new CSVDeserializer(';', PrimitiveType.INT,
+        PrimitiveType.LONG, PrimitiveType.FLOAT, PrimitiveType.DOUBLE, PrimitiveType.BOOLEAN,
+        PrimitiveType.SHORT, PrimitiveType.BYTE, PrimitiveType.STRING, null);
+    String record = "-42;9223372036854775807;4.5;-1e3;TRUE;\"12\";-128;äöü;\"x;y\";extra";
+
+    Object[] expected = new Object[] {-42, Long.MAX_VALUE, 4.5f, -1000d, true, (short) 12,
+        (byte) -128, "äöü", "x;y", "extra"};
+    assertArrayEquals(expected, (Object[]) deserializer.deserialize(record));
+    assertArrayEquals(expected,
+        (Object[]) deserializer.deserialize(record.getBytes(StandardCharsets.UTF_8)));
+    assertArrayEquals(new Object[] {null, null, null},
+        (Object[]) deserializer.deserialize(";\"\";"));
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void testIntegerOverflow() {
+    new CSVDeserializer(',', PrimitiveType.INT).deserialize("2147483648");
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void testInvalidNumber() {
+    new CSVDeserializer(',', PrimitiveType.LONG).deserialize("12a".getBytes());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnterminatedQuote() {
+    new CSVDeserializer().deserialize("1,\"2");
+  }
+
+  @Test
+  public void testColumnTypesOfSpecification() {
+    CSVDeserializer deserializer = new CSVDeserializer(new SpecWithCsvColumns(sensorModel()));
+
+    assertArrayEquals(new PrimitiveType[] {PrimitiveType.FLOAT, PrimitiveType.INT, null, null,
+        PrimitiveType.INT}, deserializer.getColumnTypes());
+    assertArrayEquals(new Object[] {2.5f, 60, "on", "4", 7, "x"},
+        (Object[]) deserializer.deserialize("2.5,60,on,4,7,x"));
+  }
+
+  @Test
+  public void testColumnOfConditionIsNotTyped() {
+    CSVDeserializer deserializer = new CSVDeserializer(new SpecWithConditionFunction());
+
+    assertArrayEquals(new PrimitiveType[] {null}, deserializer.getColumnTypes());
+    assertArrayEquals(new Object[] {"2.5", "3"}, (Object[]) deserializer.deserialize("2.5,3"));
+  }
+
+  @Test
+  public void testWholeRecordReferenceIsNotTyped() {
+    FunctionblockModel sensorModel = sensorModel();
+    sensorModel.getStatusProperties().add(ModelProperty.Builder("fields", PrimitiveType.INT)
+        .withXPathStereotype("count(array)", "csv").build());
+
+    assertEquals(0,
+        new CSVDeserializer(new SpecWithCsvColumns(sensorModel)).getColumnTypes().length);
+  }
+
+  @Test
+  public void testMapTypedColumns() {
+    IDataMapper mapper = IDataMapper.newBuilder()
+        .withSpecification(new SpecWithCsvColumns(sensorModel())).build();
+    CSVDeserializer deserializer = new CSVDeserializer(new SpecWithCsvColumns(sensorModel()));
+
+    assertNull(mapper.mapSource(deserializer.deserialize("2.5,60,off,4,7")).get("sensor"));
+
+    FunctionblockValue sensor =
+        mapper.mapSource(deserializer.deserialize("2.5,60,on,4,7")).get("sensor");
+    assertEquals(2.5f, sensor.getStatusProperty("temperature").get().getValue());
+    assertEquals(60, sensor.getStatusProperty("humidity").get().getValue());
+    assertEquals("on", sensor.getStatusProperty("state").get().getValue());
+    assertEquals(7, sensor.getStatusProperty("count").get().getValue());
+    assertEquals(8.0, sensor.getStatusProperty("doubled").get().getValue());
+
+    sensor = mapper.mapSource(deserializer.deserialize("2.5,60,on,3,7")).get("sensor");
+    assertFalse(sensor.getStatusProperty("count").isPresent());
+    assertEquals(6.0, sensor.getStatusProperty("doubled").get().getValue());
+  }
+
+  /**
+   * Columns 1, 2 and 5 are mapped directly, column 3 is referenced by the condition of the
+   * function block and column 4 by the condition of a property and an expression
+   */
+  private static FunctionblockModel sensorModel() {
+    Map<String, String> countSource = new HashMap<>();
+    countSource.put(Stereotype.XPATH_ATT, "array[5]");
+    countSource.put(Stereotype.CONDITION_ATT, "array[3] == '4'");
+    FunctionblockModel sensorModel = FunctionblockModel
+        .Builder(ModelId.fromPrettyFormat("demo.fb:Sensor:1.0.0"))
+        .statusProperty(ModelProperty.Builder("temperature", PrimitiveType.FLOAT)
+            .withXPathStereotype("array[1]", "csv").build())
+        .statusProperty(ModelProperty.Builder("humidity", PrimitiveType.INT)
+            .withXPathStereotype("/array[2]", "csv").build())
+        .statusProperty(ModelProperty.Builder("state", PrimitiveType.BOOLEAN)
+            .withXPathStereotype("array[3]", "csv").build())
+        .statusProperty(ModelProperty.Builder("count", PrimitiveType.INT)
+            .withStereotype(Stereotype.SOURCE, countSource, "csv").optional().build())
+        .statusProperty(ModelProperty.Builder("doubled", PrimitiveType.DOUBLE)
+            .withXPathStereotype("array[4] * 2", "csv").build())
+        .build();
+    sensorModel.addStereotype(Stereotype.createCondition("array[2] == 'on'"));
+    return sensorModel;
+  }
+
+  private static class SpecWithCsvColumns extends AbstractTestSpec {
+
+    SpecWithCsvColumns(FunctionblockModel sensorModel) {
+      infomodel.getFunctionblocks().add(ModelProperty.Builder("sensor", sensorModel).build());
+    }
+
+    @Override
+    protected void createModel() {}
+  }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.jexl2.Expression;
+import org.apache.commons.jexl2.JexlEngine;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.internal.ConditionCache;
+import org.eclipse.vorto.mapping.engine.internal.DataMapperCompiled;
+import org.eclipse.vorto.mapping.engine.internal.DataMapperJxpath;
+import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.Stereotype;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionalProperties;
+import org.junit.Test;
+
+public class ConditionCacheTest {
+
+  @Test
+  public void testConditionsParsedOncePerSpecification() {
+    DataMapperJxpath mapper = new DataMapperJxpath(new SpecWithConditionalProperties(),
+        CustomFunctionsLibrary.createDefault());
+
+    IPayloadDeserializer deserializer = new JSONDeserializer();
+    mapper.mapSource(deserializer.deserialize("{\"count\" : 2 }"));
+    mapper.mapSource(deserializer.deserialize("{\"count\" : 0 }"));
+    mapper.mapSource(deserializer.deserialize("{\"count\" : 1 }"));
+
+    assertEquals(2, mapper.getConditionCache().size());
+  }
+
+  @Test
+  public void testConditionsOfCompiledMapper() {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithSharedConditions()).build();
+    ConditionCache cache = ((DataMapperCompiled) mapper).getConditionCache();
+    // the function block is declared twice, its conditions are shared
+    assertEquals(2, cache.size());
+
+    IPayloadDeserializer deserializer = new JSONDeserializer();
+    InfomodelValue mapped = mapper.mapSource(deserializer.deserialize("{\"count\" : 2 }"));
+    assertEquals(2.0, mapped.get("button2").getStatusProperty("sensor_value2").get().getValue());
+    assertFalse(mapped.get("button2").getStatusProperty("sensor_value").isPresent());
+    mapper.mapSource(deserializer.deserialize("{\"count\" : 0 }"));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testCacheIsBounded() {
+    AtomicInteger parsed = new AtomicInteger();
+    ConditionCache cache = new ConditionCache(new JexlEngine() {
+
+      @Override
+      public Expression createExpression(String expression) {
+        parsed.incrementAndGet();
+        return super.createExpression(expression);
+      }
+    }, 1);
+    Stereotype first = Stereotype.createWithConditionalXpath("data/count > 1", "/count");
+    Stereotype second = Stereotype.createWithConditionalXpath("data/count == 0", "/count");
+
+    assertSame(cache.get(first, Stereotype.CONDITION_ATT),
+        cache.get(first, Stereotype.CONDITION_ATT));
+    cache.get(second, Stereotype.CONDITION_ATT);
+    cache.get(second, Stereotype.CONDITION_ATT);
+
+    assertEquals(1, cache.size());
+    assertEquals(3, parsed.get());
+    assertEquals("data.count > 1",
+        cache.get(first, Stereotype.CONDITION_ATT).getExpression());
+  }
+
+  /**
+   * Declares the function block of {@link SpecWithConditionalProperties} twice
+   */
+  private static class SpecWithSharedConditions extends SpecWithConditionalProperties {
+
+    @Override
+    protected void createModel() {
+      super.createModel();
+      infomodel.getFunctionblocks().add(ModelProperty
+          .Builder("button2", infomodel.getFunctionblocks().get(0).getType()).build());
+    }
+  }
+}
@@ -81,6 +81,19 @@ public class ConfigurationMappingTest {
     assertEquals("1", mapped);
   }
 
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownFunctionblock() throws Exception {
+    IMappingSpecification spec = new SpecWithConfiguration();
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(spec)
+        .registerConverterFunction(new ClassFunction("button", ConfigurationMappingTest.class))
+        .build();
+
+    PropertyValue newValue =
+        ModelValueFactory.createFBPropertyValue(spec.getFunctionBlock("button"), "enable", true);
+
+    mapper.mapTarget(newValue, Optional.empty(), "notExistFunctionblock");
+  }
+
   public static Object convertEnable(Map<String, Object> ctx) {
     if (((Boolean) ctx.get("newValue")).booleanValue() == true) {
       return "1";
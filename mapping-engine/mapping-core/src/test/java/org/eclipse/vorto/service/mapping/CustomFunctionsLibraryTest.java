@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.eclipse.vorto.mapping.engine.functions.ClassFunction;
+import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
+import org.eclipse.vorto.mapping.engine.internal.functions.Jxpath;
+import org.junit.Test;
+
+public class CustomFunctionsLibraryTest {
+
+  @Test
+  public void testImmutableCopyIsNotAffectedByLaterRegistrations() {
+    CustomFunctionsLibrary library = CustomFunctionsLibrary.createDefault();
+    library.addConditionFunction(new ClassFunction("xpath", Jxpath.class));
+    library.addConverterFunction(new ClassFunction("button", ConfigurationMappingTest.class));
+
+    CustomFunctionsLibrary immutable = library.immutableCopy();
+    library.addConverterFunction(new ClassFunction("other", ConfigurationMappingTest.class));
+    library.addConditionFunction(new ClassFunction("other", Jxpath.class));
+
+    assertTrue(immutable.isImmutable());
+    assertFalse(library.isImmutable());
+    assertSame(immutable, immutable.immutableCopy());
+    assertEquals(1, immutable.getConditionFunctions().size());
+    assertEquals(1, immutable.getConverterFunctions().getUsedNamespaces().size());
+    assertEquals(2, library.getConverterFunctions().getUsedNamespaces().size());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testImmutableCopyRejectsRegistrations() {
+    CustomFunctionsLibrary.createDefault().immutableCopy()
+        .addConverterFunction(new ClassFunction("button", ConfigurationMappingTest.class));
+  }
+
+  @Test
+  public void testCopyIsMutable() {
+    CustomFunctionsLibrary immutable = CustomFunctionsLibrary.createDefault().immutableCopy();
+    CustomFunctionsLibrary copy = immutable.copy();
+    copy.addConverterFunction(new ClassFunction("button", ConfigurationMappingTest.class));
+
+    assertEquals(1, copy.getConverterFunctions().getUsedNamespaces().size());
+    assertEquals(0, immutable.getConverterFunctions().getUsedNamespaces().size());
+  }
+}
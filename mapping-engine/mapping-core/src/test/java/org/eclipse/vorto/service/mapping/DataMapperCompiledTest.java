@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.decoder.CSVDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.functions.ClassFunction;
+import org.eclipse.vorto.mapping.engine.internal.DataMapperCompiled;
+import org.eclipse.vorto.mapping.engine.internal.DataMapperJxpath;
+import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
+import org.eclipse.vorto.mapping.engine.internal.functions.Jxpath;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.model.runtime.ModelValueFactory;
+import org.eclipse.vorto.model.runtime.PropertyValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithArrayPayload;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionFunction;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionalProperties;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionedRules;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConfiguration;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConfiguration2;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEntity;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEnum;
+import org.eclipse.vorto.service.mapping.spec.SpecWithOptionalProperties;
+import org.eclipse.vorto.service.mapping.spec.SpecWithPropertyConditionXpath;
+import org.eclipse.vorto.service.mapping.spec.SpecWithSameFunctionblock;
+import org.eclipse.vorto.service.mapping.spec.SpecWithTwoFunctionblocksWithNestedEntity;
+import org.eclipse.vorto.service.mapping.spec.SpecWithXpathPlaceholders;
+import org.junit.Test;
+
+/**
+ * Checks that the compiled mapper produces exactly the same results as the reference
+ * {@link DataMapperJxpath}
+ */
+public class DataMapperCompiledTest {
+
+  private static final IPayloadDeserializer JSON = new JSONDeserializer();
+
+  private static final IPayloadDeserializer CSV = new CSVDeserializer();
+
+  @Test
+  public void testConditionalProperties() {
+    assertSameResult(new SpecWithConditionalProperties(), JSON, "{\"count\" : 2 }",
+        "{\"count\" : 0 }", "{}");
+  }
+
+  @Test
+  public void testConditionFunction() {
+    assertSameResult(new SpecWithConditionFunction(), CSV, ",2,3", "1,2,3", "1");
+  }
+
+  @Test
+  public void testPropertyConditionXpath() {
+    assertSameResult(new SpecWithPropertyConditionXpath(), JSON,
+        "{\"data\" : [{\"id\": 100,\"value\": \"x\"},{\"id\": 200,\"value\": \"y\"}]}",
+        "{\"data\" : []}");
+  }
+
+  @Test
+  public void testArrayPayload() {
+    assertSameResult(new SpecWithArrayPayload(), JSON,
+        "[{\"clickType\" : \"DOUBLE\" }, {\"clickType\" : \"SINGLE\" }]", "[]");
+  }
+
+  @Test
+  public void testByteArrayPayloadWithoutBinarySource() {
+    IPayloadDeserializer bytes = payload -> payload.getBytes(StandardCharsets.US_ASCII);
+    assertSameResult(new SpecWithConditionFunction(), bytes, "123", "1", "");
+
+    InfomodelValue mapped = IDataMapper.newBuilder()
+        .withSpecification(new SpecWithConditionFunction()).build()
+        .mapSource(bytes.deserialize("123"));
+    assertEquals((byte) '1',
+        mapped.get("button").getStatusProperty("sensor_value").get().getValue());
+  }
+
+  @Test
+  public void testConditionedRules() {
+    assertSameResult(new SpecWithConditionedRules(), JSON,
+        "{\"data\" : { \"key\" : \"DoorState\", \"value\" : \"Locked\"}}",
+        "{\"data\" : { \"key\" : \"OperationState\", \"value\" : \"Run\"}}",
+        "{\"data\" : { \"key\" : \"DoorState\"}}");
+  }
+
+  @Test
+  public void testSameFunctionblock() {
+    assertSameResult(new SpecWithSameFunctionblock(), JSON,
+        "{\"btnvalue1\" : 2, \"btnvalue2\": 10}", "{\"btnvalue1\" : 2}");
+  }
+
+  @Test
+  public void testNestedEntity() {
+    assertSameResult(new SpecWithNestedEntity(), JSON, "{\"temperature\" : 20.3 }", "{}");
+    assertSameResult(new SpecWithTwoFunctionblocksWithNestedEntity(), JSON,
+        "{\"temperature\" : 20.3 }", "{\"temperature\" : 20.3, \"humidity\" : 40 }");
+  }
+
+  @Test
+  public void testNestedEnum() {
+    assertSameResult(new SpecWithNestedEnum(), JSON, "{\"temperature\" : 20.3 }", "{}");
+  }
+
+  @Test
+  public void testConfiguration() {
+    assertSameResult(new SpecWithConfiguration2(), JSON, "{\"e\" : true }", "{}");
+  }
+
+  @Test
+  public void testMissingOptionalProperties() {
+    assertSameResult(new SpecWithOptionalProperties(), JSON, "{\"temperature\" : 20.3 }",
+        "{\"temperature\" : 20.3, \"battery\" : { \"level\" : 80 } }",
+        "{\"temperature\" : 20.3, \"battery\" : {}, \"location\" : { \"lat\" : 48.1 } }",
+        "{\"temperature\" : 20.3, \"humidity\" : null, \"firmware\" : \"1.0\" }",
+        "{\"temperature\" : 20.3, \"humidity\" : 40, \"pressure\" : 1013, "
+            + "\"battery\" : { \"level\" : 80 }, \"radio\" : { \"rssi\" : -70 }, "
+            + "\"location\" : { \"lat\" : 48.1, \"lon\" : 11.6 }, "
+            + "\"firmware\" : \"1.0\", \"uptime\" : 3600 }",
+        "{\"humidity\" : 40, \"battery\" : { \"level\" : 80 } }",
+        "{\"temperature\" : null }", "{}");
+  }
+
+  @Test
+  public void testXpathPlaceholders() {
+    String payload = "{\"readings\" : { \"temperature\" : 20.3, \"lat\" : 48.1 } }";
+    assertSameResult(new SpecWithXpathPlaceholders(), JSON, payload, "{\"readings\" : {} }", "{}");
+
+    InfomodelValue mapped = new DataMapperJxpath(new SpecWithXpathPlaceholders(),
+        CustomFunctionsLibrary.createDefault()).mapSource(JSON.deserialize(payload));
+    assertEquals(20.3,
+        mapped.get("sensor").getStatusProperty("temperature").get().getValue());
+  }
+
+  @Test
+  public void testMapTarget() {
+    IMappingSpecification spec = new SpecWithConfiguration();
+    CustomFunctionsLibrary library = CustomFunctionsLibrary.createDefault();
+    library.addConverterFunction(new ClassFunction("button", ConfigurationMappingTest.class));
+
+    IDataMapper reference = new DataMapperJxpath(spec, library);
+    IDataMapper compiled = new DataMapperCompiled(spec, library);
+
+    for (boolean value : new boolean[] {true, false}) {
+      PropertyValue newValue =
+          ModelValueFactory.createFBPropertyValue(spec.getFunctionBlock("button"), "enable", value);
+      PropertyValue oldValue = ModelValueFactory
+          .createFBPropertyValue(spec.getFunctionBlock("button"), "enable", !value);
+      assertEquals(reference.mapTarget(newValue, Optional.of(oldValue), "button"),
+          compiled.mapTarget(newValue, Optional.of(oldValue), "button"));
+      assertEquals(reference.mapTarget(newValue, Optional.empty(), "button"),
+          compiled.mapTarget(newValue, Optional.empty(), "button"));
+    }
+  }
+
+  private static void assertSameResult(IMappingSpecification spec,
+      IPayloadDeserializer deserializer, String... payloads) {
+    CustomFunctionsLibrary library = CustomFunctionsLibrary.createDefault();
+    library.addConditionFunction(new ClassFunction("xpath", Jxpath.class));
+    library.addConverterFunction(new ClassFunction("button", ConfigurationMappingTest.class));
+
+    IDataMapper reference = new DataMapperJxpath(spec, library);
+    IDataMapper compiled = new DataMapperCompiled(spec, library);
+
+    for (String payload : payloads) {
+      assertEquals(payload, map(reference, deserializer.deserialize(payload)),
+          map(compiled, deserializer.deserialize(payload)));
+    }
+  }
+
+  private static Object map(IDataMapper mapper, Object payload) {
+    try {
+      return mapper.mapSource(payload).serialize();
+    } catch (RuntimeException ex) {
+      return ex.getClass();
+    }
+  }
+}
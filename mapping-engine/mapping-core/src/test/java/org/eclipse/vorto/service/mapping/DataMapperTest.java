@@ -16,6 +16,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
 import org.eclipse.vorto.mapping.engine.IDataMapper;
 import org.eclipse.vorto.mapping.engine.decoder.CSVDeserializer;
 import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
@@ -79,6 +81,22 @@ public class DataMapperTest {
 
 
 
+  @Test
+  public void testNativeArrayPayloads() throws Exception {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithConditionFunction()).build();
+
+    for (Object payload : new Object[] {new int[] {1, 2, 3}, new double[] {1.0, 2.0},
+        new Object[] {1, 2}, Arrays.asList(1, 2), new ArrayList<>(Arrays.asList(1, 2))}) {
+      InfomodelValue mappedOutput = mapper.mapSource(payload);
+      assertEquals(1.0, ((Number) mappedOutput.get("button").getStatusProperty("sensor_value")
+          .get().getValue()).doubleValue(), 0.0);
+    }
+
+    assertNull(mapper.mapSource(new Object[] {null, 2}).get("button"));
+    assertNull(mapper.mapSource(new int[0]).get("button"));
+  }
+
   @Test
   public void testMapWithJxpathCondition() throws Exception {
     IDataMapper mapper =
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.apache.commons.jxpath.JXPathContext;
+import org.eclipse.vorto.mapping.engine.functions.ClassFunction;
+import org.eclipse.vorto.mapping.engine.internal.JxPathFactory;
+import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
+import org.junit.Test;
+
+public class JxPathFactoryTest {
+
+  @Test
+  public void testContextIsReboundPerThread() {
+    JxPathFactory factory = new JxPathFactory();
+
+    JXPathContext first = factory.acquireContext(Collections.singletonMap("value", 1));
+    assertEquals(1, first.getValue("/value"));
+    factory.releaseContext(first);
+    assertNull(first.getContextBean());
+
+    JXPathContext second = factory.acquireContext(Collections.singletonMap("value", 2));
+    assertSame(first, second);
+    assertEquals(2, second.getValue("value"));
+    assertEquals(2, second.getValue("/value"));
+    factory.releaseContext(second);
+
+    JXPathContext array = factory.acquireContext(Arrays.asList(3, 4));
+    assertEquals(4, array.getValue("/array[2]"));
+    factory.releaseContext(array);
+  }
+
+  @Test
+  public void testArrayPayloadsAreScopedToFactoryContexts() {
+    JxPathFactory factory = new JxPathFactory();
+
+    assertEquals(4, factory.newContext(Arrays.asList(3, 4)).getValue("/array[2]"));
+    assertEquals(4, factory.newContext(new int[] {3, 4}).getValue("/array[2]"));
+
+    JXPathContext plain = JXPathContext.newContext(Arrays.asList(3, 4));
+    assertEquals(4, plain.getValue("/.[2]"));
+    plain.setLenient(true);
+    assertNull(plain.getValue("/array[2]"));
+  }
+
+  @Test
+  public void testReleasedContextRetainsNothing() {
+    JxPathFactory factory = new JxPathFactory();
+
+    JXPathContext first = factory.acquireContext(Collections.singletonMap("value", 1));
+    first.getVariables().declareVariable("previous", 1);
+    assertEquals(1, first.getValue("$previous"));
+    factory.releaseContext(first);
+    assertNull(first.getContextBean());
+    assertNull(first.getParentContext());
+
+    JxPathFactory otherFactory = new JxPathFactory();
+    JXPathContext second = otherFactory.acquireContext(Collections.singletonMap("value", 2));
+    assertSame(first, second);
+    assertFalse(second.getVariables().isDeclaredVariable("previous"));
+    assertEquals(2, second.getValue("/value"));
+    otherFactory.releaseContext(second);
+  }
+
+  @Test
+  public void testNestedAcquireCreatesNewContext() {
+    JxPathFactory factory = new JxPathFactory();
+
+    JXPathContext outer = factory.acquireContext(Collections.singletonMap("value", 1));
+    JXPathContext inner = factory.acquireContext(Collections.singletonMap("value", 2));
+    assertNotSame(outer, inner);
+    assertEquals(2, inner.getValue("/value"));
+    factory.releaseContext(inner);
+    assertEquals(1, outer.getValue("/value"));
+    factory.releaseContext(outer);
+  }
+
+  @Test
+  public void testFunctionsAndLeniencyAreInherited() throws Exception {
+    CustomFunctionsLibrary library = CustomFunctionsLibrary.createDefault();
+    library.addConverterFunction(new ClassFunction("integer", Integer.class));
+    JxPathFactory factory = new JxPathFactory(library, true);
+
+    JXPathContext context = factory.acquireContext(Collections.singletonMap("value", 255));
+    assertEquals("ff", context.getValue("integer:toHexString(/value)"));
+    assertNull(context.getValue("/missing"));
+    factory.releaseContext(context);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Object> other = executor.submit(() -> {
+        JXPathContext otherContext = factory.acquireContext(Collections.singletonMap("value", 16));
+        try {
+          return otherContext == context ? null
+              : otherContext.getValue("integer:toHexString(/value)");
+        } finally {
+          factory.releaseContext(otherContext);
+        }
+      });
+      assertEquals("10", other.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.Optional;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.functions.ClassFunction;
+import org.eclipse.vorto.mapping.engine.metrics.HdrHistogramMetricsListener;
+import org.eclipse.vorto.mapping.engine.metrics.MappingStage;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.runtime.ModelValueFactory;
+import org.eclipse.vorto.model.runtime.PropertyValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionedRules;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConfiguration;
+import org.junit.Test;
+
+public class MappingMetricsTest {
+
+  private HdrHistogramMetricsListener metrics = new HdrHistogramMetricsListener();
+
+  @Test
+  public void testMapSource() {
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithConditionedRules())
+        .withMetricsListener(metrics).build();
+
+    JSONDeserializer deserializer = new JSONDeserializer();
+    for (int i = 0; i < 3; i++) {
+      Object payload = metrics.record(MappingStage.DECODE, () -> deserializer
+          .deserialize("{\"data\" : { \"key\" : \"DoorState\", \"value\" : \"Locked\"}}"));
+      mapper.mapSource(payload);
+    }
+
+    assertEquals(3, metrics.getLatencies(MappingStage.DECODE).getTotalCount());
+    assertEquals(3, metrics.getLatencies(MappingStage.MAP_SOURCE).getTotalCount());
+    // two function blocks with a condition
+    assertEquals(6, metrics.getLatencies(MappingStage.CONDITION).getTotalCount());
+    assertEquals(3, metrics.getFunctionblockCount("doorState"));
+    assertEquals(0, metrics.getFunctionblockCount("operationState"));
+    assertEquals(0, metrics.getErrorCount(MappingStage.MAP_SOURCE));
+
+    String text = metrics.toText();
+    assertTrue(text, text.contains("MAP_SOURCE"));
+    assertTrue(text, text.contains("doorState"));
+  }
+
+  @Test
+  public void testMapTarget() {
+    IMappingSpecification spec = new SpecWithConfiguration();
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(spec)
+        .registerConverterFunction(new ClassFunction("button", ConfigurationMappingTest.class))
+        .withMetricsListener(metrics).build();
+
+    PropertyValue newValue =
+        ModelValueFactory.createFBPropertyValue(spec.getFunctionBlock("button"), "enable", true);
+    assertEquals("1", mapper.mapTarget(newValue, Optional.empty(), "button"));
+
+    assertEquals(1, metrics.getLatencies(MappingStage.MAP_TARGET).getTotalCount());
+    assertEquals(1, metrics.getLatencies(MappingStage.CONVERTER).getTotalCount());
+  }
+
+  @Test
+  public void testErrors() {
+    IMappingSpecification spec = new SpecWithConfiguration();
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(spec).withMetricsListener(metrics).build();
+
+    PropertyValue newValue =
+        ModelValueFactory.createFBPropertyValue(spec.getFunctionBlock("button"), "enable", true);
+    try {
+      mapper.mapTarget(newValue, Optional.empty(), "button");
+    } catch (MappingException ex) {
+      // converter function is not registered
+    }
+
+    assertEquals(1, metrics.getErrorCount(MappingStage.MAP_TARGET));
+    assertEquals(0, metrics.getLatencies(MappingStage.MAP_TARGET).getTotalCount());
+    assertTrue(metrics.toText().contains("MAP_TARGET"));
+
+    metrics.reset();
+    assertEquals(0, metrics.getErrorCount(MappingStage.MAP_TARGET));
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.mapping.engine.model.spec.MappingSpecBinaryReader;
+import org.eclipse.vorto.mapping.engine.model.spec.MappingSpecBinaryWriter;
+import org.eclipse.vorto.mapping.engine.model.spec.MappingSpecificationProblem;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionedRules;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConfiguration;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEntity;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEnum;
+import org.eclipse.vorto.service.mapping.spec.SpecWithOperationRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.ExclusionStrategy;
+
+public class MappingSpecBinaryTest {
+
+  /**
+   * modelType is derived from the model class and not part of the binary format
+   */
+  private static final Gson GSON = new GsonBuilder().serializeNulls()
+      .setExclusionStrategies(new ExclusionStrategy() {
+        @Override
+        public boolean shouldSkipField(FieldAttributes f) {
+          return f.getName().equals("modelType");
+        }
+
+        @Override
+        public boolean shouldSkipClass(Class<?> clazz) {
+          return false;
+        }
+      }).create();
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private MappingSpecBinaryWriter writer = new MappingSpecBinaryWriter();
+
+  private MappingSpecBinaryReader reader = new MappingSpecBinaryReader();
+
+  @Test
+  public void testRoundTripFromJson() {
+    IMappingSpecification spec = readJson();
+    IMappingSpecification copy = reader.read(writer.toByteArray(spec));
+
+    assertEquals(GSON.toJson(spec.getInfoModel()), GSON.toJson(copy.getInfoModel()));
+    assertSameResult(spec, copy, "{\"t\" : 50}");
+  }
+
+  @Test
+  public void testRoundTrip() {
+    IMappingSpecification[] specs = {new SpecWithNestedEntity(), new SpecWithNestedEnum(),
+        new SpecWithConfiguration(), new SpecWithConditionedRules(), new SpecWithOperationRule()};
+    for (IMappingSpecification spec : specs) {
+      IMappingSpecification copy = reader.read(writer.toByteArray(spec));
+      assertEquals(GSON.toJson(spec.getInfoModel()), GSON.toJson(copy.getInfoModel()));
+    }
+    assertSameResult(new SpecWithNestedEntity(),
+        reader.read(writer.toByteArray(new SpecWithNestedEntity())), "{\"temperature\" : 20.3 }");
+    assertSameResult(new SpecWithConditionedRules(),
+        reader.read(writer.toByteArray(new SpecWithConditionedRules())),
+        "{\"data\" : { \"key\" : \"DoorState\", \"value\" : \"Locked\"}}");
+  }
+
+  @Test
+  public void testReadMemoryMappedFile() throws IOException {
+    IMappingSpecification spec = readJson();
+    File file = folder.newFile("spec.bin");
+    Files.write(file.toPath(), writer.toByteArray(spec));
+
+    IMappingSpecification copy = reader.read(file.toPath());
+    assertEquals(GSON.toJson(spec.getInfoModel()), GSON.toJson(copy.getInfoModel()));
+    assertSameResult(spec, copy, "{\"t\" : 50}");
+  }
+
+  @Test
+  public void testStringsInternedAcrossSpecifications() {
+    byte[] binary = writer.toByteArray(readJson());
+    IMappingSpecification first = reader.read(binary);
+    IMappingSpecification second = reader.read(binary);
+
+    assertSame(first.getInfoModel().getFunctionblocks().get(0).getName(),
+        second.getInfoModel().getFunctionblocks().get(0).getName());
+    assertSame(first.getInfoModel().getId().getNamespace(),
+        second.getInfoModel().getId().getNamespace());
+  }
+
+  @Test(expected = MappingSpecificationProblem.class)
+  public void testUnsupportedVersion() {
+    byte[] binary = writer.toByteArray(readJson());
+    binary[4] = 99;
+    reader.read(binary);
+  }
+
+  @Test(expected = MappingSpecificationProblem.class)
+  public void testTruncated() {
+    byte[] binary = writer.toByteArray(readJson());
+    byte[] truncated = new byte[binary.length / 2];
+    System.arraycopy(binary, 0, truncated, 0, truncated.length);
+    reader.read(truncated);
+  }
+
+  private static IMappingSpecification readJson() {
+    return IMappingSpecification.newBuilder().fromInputStream(
+        MappingSpecBinaryTest.class.getClassLoader().getResourceAsStream("mappingspec.json"))
+        .build();
+  }
+
+  private static void assertSameResult(IMappingSpecification expected,
+      IMappingSpecification actual, String json) {
+    Object payload = new JSONDeserializer().deserialize(json);
+    assertEquals(
+        GSON.toJson(IDataMapper.newBuilder().withSpecification(expected).build()
+            .mapSource(payload).serialize()),
+        GSON.toJson(IDataMapper.newBuilder().withSpecification(actual).build()
+            .mapSource(payload).serialize()));
+  }
+}
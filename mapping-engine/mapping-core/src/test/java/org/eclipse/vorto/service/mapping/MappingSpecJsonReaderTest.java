@@ -14,10 +14,23 @@ package org.eclipse.vorto.service.mapping;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.jxpath.FunctionLibrary;
+import org.apache.commons.jxpath.Functions;
 import org.eclipse.vorto.mapping.engine.IDataMapper;
 import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
 import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.functions.IScriptEvalProvider;
+import org.eclipse.vorto.mapping.engine.functions.IScriptEvaluator;
+import org.eclipse.vorto.mapping.engine.functions.ScriptClassFunction;
 import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.mapping.engine.model.spec.MappingSpecification;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.Stereotype;
 import org.eclipse.vorto.model.runtime.EntityPropertyValue;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
 import org.junit.Test;
@@ -34,6 +47,54 @@ public class MappingSpecJsonReaderTest {
 
   }
 
+  @Test
+  public void testIndexedLookups() {
+    IMappingSpecification spec = IMappingSpecification.newBuilder().fromInputStream(
+        MappingSpecJsonReaderTest.class.getClassLoader().getResourceAsStream("mappingspec.json"))
+        .build();
+
+    for (ModelProperty fbProperty : spec.getInfoModel().getFunctionblocks()) {
+      FunctionblockModel fbModel = spec.getFunctionBlock(fbProperty.getName());
+      assertSame(fbProperty.getType(), fbModel);
+      for (ModelProperty property : fbModel.getStatusProperties()) {
+        assertSame(property, fbModel.getStatusProperty(property.getName()).get());
+      }
+      for (ModelProperty property : fbModel.getConfigurationProperties()) {
+        assertSame(property, fbModel.getConfigurationProperty(property.getName()).get());
+      }
+      assertEquals(false, fbModel.getStatusProperty("doesNotExist").isPresent());
+    }
+  }
+
+  @Test
+  public void testScriptEvaluatorsCreatedOnce() {
+    FunctionblockModel fbModel =
+        new FunctionblockModel(ModelId.fromPrettyFormat("demo.fb:PushButton:1.0.0"));
+    fbModel.addStereotype(
+        Stereotype.createWithFunction("convert", "function convert(value) { return value; }"));
+    MappingSpecification spec =
+        new MappingSpecification(new Infomodel(ModelId.fromPrettyFormat("devices:Button:1.0.0")));
+    spec.getInfoModel().getFunctionblocks().add(ModelProperty.Builder("button", fbModel).build());
+
+    AtomicInteger created = new AtomicInteger();
+    IScriptEvalProvider provider = namespace -> {
+      created.incrementAndGet();
+      return new IScriptEvaluator() {
+        @Override
+        public void addScriptFunction(ScriptClassFunction function) {}
+
+        @Override
+        public Functions getFunctions() {
+          return new FunctionLibrary();
+        }
+      };
+    };
+
+    spec.getScriptFunctions(provider);
+    spec.getScriptFunctions(provider);
+    assertEquals(1, created.get());
+  }
+
   @Test
   public void testMappingFromJson() {
     IMappingSpecification spec = IMappingSpecification.newBuilder().fromInputStream(
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.metrics.IMappingMetricsListener;
+import org.eclipse.vorto.mapping.engine.metrics.MappingStage;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithManyFunctionblocks;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class ParallelMappingTest {
+
+  private static final IPayloadDeserializer JSON = new JSONDeserializer();
+
+  private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+  @AfterClass
+  public static void shutdown() {
+    POOL.shutdown();
+  }
+
+  @Test
+  public void testSameResultAsSequentialMapping() {
+    IDataMapper sequential =
+        IDataMapper.newBuilder().withSpecification(new SpecWithManyFunctionblocks()).build();
+    IDataMapper parallel = IDataMapper.newBuilder()
+        .withSpecification(new SpecWithManyFunctionblocks()).withParallelFunctionblocks(POOL, 1)
+        .build();
+
+    for (String payload : new String[] {createPayload(SpecWithManyFunctionblocks.FUNCTIONBLOCKS),
+        createPayload(7), "{}"}) {
+      for (int i = 0; i < 20; i++) {
+        InfomodelValue expected = sequential.mapSource(JSON.deserialize(payload));
+        InfomodelValue actual = parallel.mapSource(JSON.deserialize(payload));
+        assertEquals(expected.serialize(), actual.serialize());
+        assertEquals(new ArrayList<>(expected.getProperties().keySet()),
+            new ArrayList<>(actual.getProperties().keySet()));
+      }
+    }
+  }
+
+  @Test
+  public void testFunctionblocksReportedInOrder() {
+    List<String> mapped = Collections.synchronizedList(new ArrayList<>());
+    IMappingMetricsListener metrics = new IMappingMetricsListener() {
+      @Override
+      public void stageCompleted(MappingStage stage, long nanos) {}
+
+      @Override
+      public void stageFailed(MappingStage stage, Throwable error) {}
+
+      @Override
+      public void functionblockMapped(String functionblock) {
+        mapped.add(functionblock);
+      }
+    };
+    IDataMapper parallel = IDataMapper.newBuilder()
+        .withSpecification(new SpecWithManyFunctionblocks()).withMetricsListener(metrics)
+        .withParallelFunctionblocks(POOL, 1).build();
+
+    parallel.mapSource(JSON.deserialize(createPayload(4)));
+
+    assertEquals(Arrays.asList("sensor0", "sensor1", "sensor2", "sensor3"), mapped);
+  }
+
+  @Test
+  public void testSmallPayloadsAreMappedSequentially() {
+    List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+    IMappingMetricsListener metrics = new IMappingMetricsListener() {
+      @Override
+      public void stageCompleted(MappingStage stage, long nanos) {
+        if (stage == MappingStage.CONDITION) {
+          threads.add(Thread.currentThread());
+        }
+      }
+
+      @Override
+      public void stageFailed(MappingStage stage, Throwable error) {}
+
+      @Override
+      public void functionblockMapped(String functionblock) {}
+    };
+    IDataMapper parallel = IDataMapper.newBuilder()
+        .withSpecification(new SpecWithManyFunctionblocks()).withMetricsListener(metrics)
+        .withParallelFunctionblocks(POOL, 10).build();
+
+    parallel.mapSource(JSON.deserialize(createPayload(9)));
+
+    assertEquals(SpecWithManyFunctionblocks.FUNCTIONBLOCKS / 2, threads.size());
+    for (Thread thread : threads) {
+      assertEquals(Thread.currentThread(), thread);
+    }
+  }
+
+  @Test
+  public void testConditionsDoNotModifyPayload() {
+    IDataMapper parallel = IDataMapper.newBuilder()
+        .withSpecification(new SpecWithManyFunctionblocks()).withParallelFunctionblocks(POOL, 1)
+        .build();
+    @SuppressWarnings("unchecked")
+    Map<String, Object> payload = (Map<String, Object>) JSON.deserialize(createPayload(3));
+
+    parallel.mapSource(payload);
+
+    assertEquals(new HashSet<>(Arrays.asList("sensor0", "sensor1", "sensor2")), payload.keySet());
+  }
+
+  private static String createPayload(int sensors) {
+    StringBuilder payload = new StringBuilder("{");
+    for (int i = 0; i < sensors; i++) {
+      if (i > 0) {
+        payload.append(',');
+      }
+      payload.append("\"sensor").append(i).append("\" : {\"value\" : ").append(i * 1.5)
+          .append(", \"unit\" : \"bar\"}");
+    }
+    return payload.append('}').toString();
+  }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.StreamingJSONDeserializer;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.service.mapping.spec.SpecWithArrayPayload;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionalProperties;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionedRules;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEntity;
+import org.eclipse.vorto.service.mapping.spec.SpecWithPropertyConditionXpath;
+import org.eclipse.vorto.service.mapping.spec.SpecWithSameFunctionblock;
+import org.eclipse.vorto.service.mapping.spec.SpecWithTwoFunctionblocksWithNestedEntity;
+import org.junit.Test;
+import com.google.gson.JsonSyntaxException;
+
+public class StreamingJSONDeserializerTest {
+
+  private static final String UNREFERENCED =
+      "\"unused\" : {\"values\" : [1, 2, {\"count\" : 3}], \"text\" : \"abc\"}";
+
+  @Test
+  public void testCompletePayloadEqualsGson() {
+    String json = "{\"a\" : 1, \"b\" : [true, null, \"x\", {\"c\" : 2.5}], \"d\" : {}}";
+
+    assertEquals(new JSONDeserializer().deserialize(json),
+        new StreamingJSONDeserializer().deserialize(json));
+    assertEquals(new JSONDeserializer().deserialize("[1, 2]"),
+        new StreamingJSONDeserializer().deserialize("[1, 2]"));
+    assertNull(new StreamingJSONDeserializer().deserialize(""));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testOnlyReferencedMembersAreMaterialized() {
+    StreamingJSONDeserializer deserializer =
+        new StreamingJSONDeserializer(new SpecWithConditionedRules());
+
+    Map<String, Object> payload = (Map<String, Object>) deserializer.deserialize(
+        "{\"data\" : {\"key\" : \"DoorState\", \"value\" : \"Locked\"}, " + UNREFERENCED + "}");
+
+    assertEquals(1, payload.size());
+    assertEquals("Locked", ((Map<String, Object>) payload.get("data")).get("value"));
+  }
+
+  @Test
+  public void testMappingResultsEqualCompletePayload() {
+    assertSameMapping(new SpecWithConditionalProperties(), "{\"count\" : 2, " + UNREFERENCED + "}");
+    assertSameMapping(new SpecWithConditionalProperties(), "{\"count\" : 0 }");
+    assertSameMapping(new SpecWithConditionedRules(),
+        "{\"data\" : {\"key\" : \"DoorState\", \"value\" : \"Locked\"}, " + UNREFERENCED + "}");
+    assertSameMapping(new SpecWithPropertyConditionXpath(),
+        "{\"data\" : [{\"id\": 100,\"value\": \"x\"},{\"id\": 200,\"value\": \"y\"}], "
+            + UNREFERENCED + "}");
+    assertSameMapping(new SpecWithArrayPayload(),
+        "[{\"clickType\" : \"DOUBLE\", " + UNREFERENCED + "}, {\"clickType\" : \"SINGLE\" }]");
+    assertSameMapping(new SpecWithNestedEntity(), "{\"temperature\" : 20.3, " + UNREFERENCED + "}");
+    assertSameMapping(new SpecWithTwoFunctionblocksWithNestedEntity(),
+        "{\"temperature\" : 20.3 }");
+    assertSameMapping(new SpecWithSameFunctionblock(),
+        "{\"btnvalue1\" : 2, \"btnvalue2\" : 10, " + UNREFERENCED + "}");
+  }
+
+  @Test
+  public void testBinaryInputs() {
+    StreamingJSONDeserializer deserializer =
+        new StreamingJSONDeserializer(new SpecWithConditionalProperties());
+    String json = "{\"count\" : 2, " + UNREFERENCED + "}";
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    Object expected = deserializer.deserialize(json);
+
+    assertEquals(expected, deserializer.deserialize(bytes));
+    assertEquals(expected, deserializer.deserialize(new ByteArrayInputStream(bytes)));
+    assertEquals(expected, deserializer.deserialize(ByteBuffer.wrap(bytes)));
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip();
+    assertEquals(expected, deserializer.deserialize(direct));
+    assertEquals(0, direct.position());
+  }
+
+  @Test(expected = JsonSyntaxException.class)
+  public void testMalformedPayload() {
+    new StreamingJSONDeserializer(new SpecWithConditionalProperties())
+        .deserialize("{\"count\" : }");
+  }
+
+  private static void assertSameMapping(IMappingSpecification spec, String json) {
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(spec).build();
+
+    assertEquals(mapper.mapSource(new JSONDeserializer().deserialize(json)).serialize(),
+        mapper.mapSource(new StreamingJSONDeserializer(spec).deserialize(json)).serialize());
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping.spec;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
+
+/**
+ * Sensor frame of 20 bytes with a frame type of 1 in the first byte
+ */
+public class SpecWithBinarySource extends AbstractTestSpec {
+
+  @Override
+  protected void createModel() {
+    FunctionblockModel sensorModel =
+        new FunctionblockModel(ModelId.fromPrettyFormat("demo.fb:Sensor:1.0.0"));
+    sensorModel.addStereotype(Stereotype.createCondition("this.get(0) == 1"));
+
+    sensorModel.setStatusProperties(Arrays.asList(new ModelProperty[] {
+        createProperty("temperature", PrimitiveType.FLOAT, true,
+            binarySource("1", null, "little", null, null)),
+        createProperty("humidity", PrimitiveType.INT, false,
+            binarySource("5", "1", null, "false", null)),
+        createProperty("counter", PrimitiveType.LONG, false,
+            binarySource("6", "3", null, "false", null)),
+        createProperty("alarm", PrimitiveType.BOOLEAN, false,
+            binarySource("9", null, null, null, "2")),
+        createProperty("pressure", PrimitiveType.DOUBLE, false,
+            binarySource("10", null, null, null, null)),
+        createProperty("battery", PrimitiveType.SHORT, false,
+            binarySource("18", null, "little", null, null))}));
+
+    infomodel.getFunctionblocks().add(ModelProperty.Builder("sensor", sensorModel).build());
+  }
+
+  private static ModelProperty createProperty(String name, PrimitiveType type, boolean mandatory,
+      Stereotype source) {
+    ModelProperty property = new ModelProperty();
+    property.setName(name);
+    property.setType(type);
+    property.setMandatory(mandatory);
+    property.setTargetPlatformKey("ble");
+    property.addStereotype(source);
+    return property;
+  }
+
+  private static Stereotype binarySource(String offset, String length, String endian,
+      String signed, String bit) {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("offset", offset);
+    putIfNotNull(attributes, "length", length);
+    putIfNotNull(attributes, "endian", endian);
+    putIfNotNull(attributes, "signed", signed);
+    putIfNotNull(attributes, "bit", bit);
+    return Stereotype.create(Stereotype.SOURCE, attributes);
+  }
+
+  private static void putIfNotNull(Map<String, String> attributes, String key, String value) {
+    if (value != null) {
+      attributes.put(key, value);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping.spec;
+
+import java.util.Arrays;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
+
+/**
+ * Composite device with many independent sensors, each mapped from an own member of the payload,
+ * e.g. <code>{"sensor0" : {"value" : 1.5, "unit" : "bar"}}</code>. Every other sensor has a
+ * condition on its member.
+ */
+public class SpecWithManyFunctionblocks extends AbstractTestSpec {
+
+  public static final int FUNCTIONBLOCKS = 40;
+
+  @Override
+  protected void createModel() {
+    for (int i = 0; i < FUNCTIONBLOCKS; i++) {
+      String name = "sensor" + i;
+      FunctionblockModel sensorModel =
+          new FunctionblockModel(ModelId.fromPrettyFormat("demo.fb:Sensor" + i + ":1.0.0"));
+      if (i % 2 == 1) {
+        sensorModel.addStereotype(Stereotype.createCondition("not empty(" + name + ")"));
+      }
+      sensorModel.setStatusProperties(Arrays.asList(
+          createProperty("value", true, PrimitiveType.FLOAT, "/" + name + "/value"),
+          createProperty("unit", false, PrimitiveType.STRING, "/" + name + "/unit")));
+
+      infomodel.getFunctionblocks().add(ModelProperty.Builder(name, sensorModel).build());
+    }
+  }
+
+  private static ModelProperty createProperty(String name, boolean mandatory, PrimitiveType type,
+      String xpath) {
+    ModelProperty property = new ModelProperty();
+    property.setMandatory(mandatory);
+    property.setName(name);
+    property.setType(type);
+    property.setTargetPlatformKey("iotbutton");
+    property.addStereotype(Stereotype.createWithXpath(xpath));
+    return property;
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping.spec;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
+
+/**
+ * Sensor with a single mandatory property and many optional properties, of which sparse
+ * telemetry payloads usually only contain a few
+ */
+public class SpecWithOptionalProperties extends AbstractTestSpec {
+
+  @Override
+  protected void createModel() {
+    FunctionblockModel sensorModel =
+        new FunctionblockModel(ModelId.fromPrettyFormat("demo.fb:EnvironmentSensor:1.0.0"));
+
+    List<ModelProperty> statusProperties = new ArrayList<>();
+    statusProperties.add(createProperty("temperature", true, PrimitiveType.FLOAT, "/temperature"));
+    statusProperties.add(createProperty("humidity", false, PrimitiveType.FLOAT, "/humidity"));
+    statusProperties.add(createProperty("pressure", false, PrimitiveType.FLOAT, "/pressure"));
+    statusProperties.add(createProperty("battery", false, PrimitiveType.INT, "/battery/level"));
+    statusProperties.add(createProperty("rssi", false, PrimitiveType.INT, "/radio/rssi"));
+    statusProperties.add(createProperty("latitude", false, PrimitiveType.DOUBLE, "/location/lat"));
+    statusProperties.add(createProperty("longitude", false, PrimitiveType.DOUBLE, "/location/lon"));
+    statusProperties.add(createProperty("firmware", false, PrimitiveType.STRING, "/firmware"));
+    statusProperties.add(createProperty("uptime", false, PrimitiveType.LONG, "/uptime"));
+    sensorModel.setStatusProperties(statusProperties);
+
+    infomodel.getFunctionblocks().add(ModelProperty.Builder("sensor", sensorModel).build());
+  }
+
+  private static ModelProperty createProperty(String name, boolean mandatory, PrimitiveType type,
+      String xpath) {
+    ModelProperty property = new ModelProperty();
+    property.setMandatory(mandatory);
+    property.setName(name);
+    property.setType(type);
+    property.setTargetPlatformKey("iotbutton");
+    property.addStereotype(Stereotype.createWithXpath(xpath));
+    return property;
+  }
+}
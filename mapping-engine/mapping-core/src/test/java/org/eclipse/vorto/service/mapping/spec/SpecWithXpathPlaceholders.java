@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping.spec;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
+
+/**
+ * Sensor whose source xpaths reference other attributes of their stereotype by placeholders
+ */
+public class SpecWithXpathPlaceholders extends AbstractTestSpec {
+
+  @Override
+  protected void createModel() {
+    EntityModel locationEntity =
+        EntityModel.Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Location:1.0.0"))
+            .property(createProperty("latitude", PrimitiveType.DOUBLE, "/${group}/lat"))
+            .build();
+
+    FunctionblockModel sensorModel =
+        new FunctionblockModel(ModelId.fromPrettyFormat("demo.fb:PlaceholderSensor:1.0.0"));
+    sensorModel.setStatusProperties(Arrays.asList(
+        createProperty("temperature", PrimitiveType.FLOAT, "/${group}/${field}"),
+        ModelProperty.Builder("location", locationEntity).build()));
+
+    infomodel.getFunctionblocks().add(ModelProperty.Builder("sensor", sensorModel).build());
+  }
+
+  private static ModelProperty createProperty(String name, PrimitiveType type, String xpath) {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put(Stereotype.XPATH_ATT, xpath);
+    attributes.put("group", "readings");
+    attributes.put("field", name);
+
+    ModelProperty property = new ModelProperty();
+    property.setMandatory(false);
+    property.setName(name);
+    property.setType(type);
+    property.setTargetPlatformKey("iotbutton");
+    property.addStereotype(Stereotype.create(Stereotype.SOURCE, attributes));
+    return property;
+  }
+}
@@ -13,12 +13,16 @@
 package org.eclipse.vorto.mapping.engine;
 
 import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
 import org.eclipse.vorto.mapping.engine.converter.binary.BinaryFunctionFactory;
 import org.eclipse.vorto.mapping.engine.converter.date.DateFunctionFactory;
 import org.eclipse.vorto.mapping.engine.converter.string.StringFunctionFactory;
 import org.eclipse.vorto.mapping.engine.converter.types.TypeFunctionFactory;
+import org.eclipse.vorto.mapping.engine.metrics.IMappingMetricsListener;
 import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
 import org.eclipse.vorto.model.runtime.PropertyValue;
@@ -27,7 +31,7 @@ public final class MappingEngine {
 
   private IDataMapper mapper;
 
-  private MappingEngine(IMappingSpecification specification) {
+  private MappingEngine(IMappingSpecification specification, IMappingMetricsListener metrics) {
     DataMapperBuilder builder =
         IDataMapper.newBuilder().registerScriptEvalProvider(new JavascriptEvalProvider())
             .registerConverterFunction(BinaryFunctionFactory.createFunctions())
@@ -38,18 +42,28 @@ public final class MappingEngine {
             .registerConditionFunction(DateFunctionFactory.createFunctions())
             .registerConditionFunction(StringFunctionFactory.createFunctions())
             .registerConditionFunction(TypeFunctionFactory.createFunctions())
-            .withSpecification(specification);
+            .withSpecification(specification).withMetricsListener(metrics);
     mapper = builder.build();
   }
 
   public static MappingEngine create(IMappingSpecification specification) {
-    return new MappingEngine(specification);
+    return new MappingEngine(specification, IMappingMetricsListener.NOOP);
+  }
+
+  /**
+   * Creates an engine that reports the latencies of its mapping stages, mapped function blocks and
+   * errors to the given listener, e.g. a
+   * {@link org.eclipse.vorto.mapping.engine.metrics.HdrHistogramMetricsListener}
+   */
+  public static MappingEngine create(IMappingSpecification specification,
+      IMappingMetricsListener metrics) {
+    return new MappingEngine(specification, metrics);
   }
 
   public static MappingEngine createFromInputStream(InputStream inputStream) {
     IMappingSpecification spec =
         IMappingSpecification.newBuilder().fromInputStream(inputStream).build();
-    return new MappingEngine(spec);
+    return new MappingEngine(spec, IMappingMetricsListener.NOOP);
   }
 
   /**
@@ -62,6 +76,39 @@ public final class MappingEngine {
     return mapper.mapSource(deviceData);
   }
 
+  /**
+   * Maps the given batch of device source objects to Vorto compliant Information Model data.
+   * Failures are captured per item.
+   * 
+   * @param deviceData source input data items that are supposed to get mapped.
+   * @return mapping results in the order of the given input items
+   */
+  public List<MappingResult> mapSourceBatch(List<?> deviceData) {
+    return mapper.mapSourceBatch(deviceData);
+  }
+
+  /**
+   * Maps the given batch of device source objects to Vorto compliant Information Model data,
+   * mapping chunks of the batch on the given executor. Failures are captured per item.
+   * 
+   * @param deviceData source input data items that are supposed to get mapped.
+   * @param executor executor that maps the chunks of the batch
+   * @return mapping results in the order of the given input items
+   */
+  public List<MappingResult> mapSourceBatch(List<?> deviceData, Executor executor) {
+    return mapper.mapSourceBatch(deviceData, executor);
+  }
+
+  /**
+   * Lazily maps the given stream of device source objects. Failures are captured per item.
+   * 
+   * @param deviceData stream of source input data items
+   * @return stream of mapping results
+   */
+  public Stream<MappingResult> mapSourceStream(Stream<?> deviceData) {
+    return mapper.mapSourceStream(deviceData);
+  }
+
   /**
    * Maps the given Functionblock Property to device specific object.
    * 
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
+import org.eclipse.vorto.mapping.engine.converter.binary.BinaryFunctionFactory;
+import org.eclipse.vorto.mapping.engine.converter.binary.SpecWithBase64Converter;
+import org.eclipse.vorto.mapping.engine.converter.date.DateFunctionFactory;
+import org.eclipse.vorto.mapping.engine.converter.date.SpecWithTimestamp;
+import org.eclipse.vorto.mapping.engine.converter.javascript.SpecWithCustomFunction;
+import org.eclipse.vorto.mapping.engine.converter.string.StringFunctionFactory;
+import org.eclipse.vorto.mapping.engine.converter.types.TypeFunctionFactory;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEntity;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+
+//// Stress tests: one shared IDataMapper per specification, mapped by many threads at once
+public class ConcurrentMappingLoadTest {
+
+	private static final int THREAD_AMOUNT = 32;
+
+	private static final int ITERATIONS_PER_THREAD = 2_000;
+
+	private static ExecutorService executor;
+
+	private static IPayloadDeserializer deserializer = new JSONDeserializer();
+
+	private static Gson gson = new Gson();
+
+	@BeforeClass
+	public static void init() {
+		executor = Executors.newFixedThreadPool(THREAD_AMOUNT);
+	}
+
+	@AfterClass
+	public static void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void withoutConverter() throws Exception {
+		IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithNestedEntity()).build();
+		assertSameResults(mapper, "{\"temperature\" : 21.3 }", "{\"temperature\" : 0.1 }", "{\"temperature\" : 11 }", "{}");
+	}
+
+	@Test
+	public void builtInConverter() throws Exception {
+		IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithTimestamp())
+				.registerConverterFunction(DateFunctionFactory.createFunctions()).build();
+		long now = new Date().getTime();
+		assertSameResults(mapper, "{\"time\" : " + now + "}", "{\"time\" : " + (now - 86_400_000L) + "}", "{\"time\" : 0}");
+	}
+
+	@Test
+	public void binaryConverter() throws Exception {
+		IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithBase64Converter())
+				.registerConverterFunction(BinaryFunctionFactory.createFunctions()).build();
+		assertSameResults(mapper, "{\"data\" : \"AQI=\"}", "{\"data\" : \"/w==\"}", "{\"data\" : \"\"}");
+	}
+
+	@Test
+	public void javascriptConverter() throws Exception {
+		IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithCustomFunction())
+				.registerConverterFunction(TypeFunctionFactory.createFunctions())
+				.registerConverterFunction(StringFunctionFactory.createFunctions())
+				.registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+		assertSameResults(mapper, "{\"clickType\" : \"SINGLE\"}", "{\"clickType\" : \"DOUBLE\"}", "{\"clickType\" : \"\"}");
+	}
+
+	@Test
+	public void concurrentlyBuiltMappers() throws Exception {
+		String[] payloads = {"{\"clickType\" : \"SINGLE\"}", "{\"clickType\" : \"DOUBLE\"}"};
+		Supplier<IDataMapper> builder = () -> IDataMapper.newBuilder().withSpecification(new SpecWithCustomFunction())
+				.registerConverterFunction(TypeFunctionFactory.createFunctions())
+				.registerConverterFunction(StringFunctionFactory.createFunctions())
+				.registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+		List<Object> expected = mapAll(builder.get(), payloads);
+
+		List<Callable<List<Object>>> tasks = new ArrayList<>();
+		for (int i = 0; i < THREAD_AMOUNT; i++) {
+			tasks.add(() -> mapAll(builder.get(), payloads));
+		}
+		for (Future<List<Object>> result : executor.invokeAll(tasks)) {
+			assertEquals(expected, result.get());
+		}
+	}
+
+	/**
+	 * Maps the payloads with the shared mapper on all threads at once and compares every result with
+	 * the result of a single threaded run
+	 */
+	private static void assertSameResults(IDataMapper mapper, String... payloads) throws Exception {
+		List<Object> expected = mapAll(mapper, payloads);
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int t = 0; t < THREAD_AMOUNT; t++) {
+			final int offset = t;
+			results.add(executor.submit(() -> {
+				start.await();
+				int mismatches = 0;
+				for (int i = 0; i < ITERATIONS_PER_THREAD; i++) {
+					int index = (offset + i) % payloads.length;
+					if (!expected.get(index).equals(map(mapper, payloads[index]))) {
+						mismatches++;
+					}
+				}
+				return mismatches;
+			}));
+		}
+		start.countDown();
+
+		for (Future<Integer> result : results) {
+			assertEquals(Integer.valueOf(0), result.get());
+		}
+	}
+
+	private static List<Object> mapAll(IDataMapper mapper, String... payloads) {
+		List<Object> results = new ArrayList<>();
+		for (String payload : payloads) {
+			results.add(map(mapper, payload));
+		}
+		return Collections.unmodifiableList(results);
+	}
+
+	private static Object map(IDataMapper mapper, String payload) {
+		try {
+			// compared as JSON, because mapped binary values are arrays
+			return gson.toJson(mapper.mapSource(deserializer.deserialize(payload)).serialize());
+		} catch (RuntimeException ex) {
+			return ex.getClass();
+		}
+	}
+}
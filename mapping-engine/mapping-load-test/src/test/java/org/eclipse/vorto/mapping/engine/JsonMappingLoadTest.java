@@ -38,6 +38,7 @@ import org.junit.Test;
 
 import com.github.noconnor.junitperf.JUnitPerfRule;
 import com.github.noconnor.junitperf.JUnitPerfTest;
+import com.github.noconnor.junitperf.JUnitPerfTestRequirement;
 import com.github.noconnor.junitperf.reporting.providers.HtmlReportGenerator;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -69,6 +70,8 @@ public class JsonMappingLoadTest {
 	private static final int EXECUTIONS_PER_SECOND_3 = 5_000;
 	private static final int EXECUTIONS_PER_SECOND_4 = 5_000;
 
+	private static final int MIN_EXECUTIONS_PER_SECOND_JS = 1_000;
+
 	static IDataMapper testCaseOneMapper, testCaseTwoMapper, testCaseThreeMapper, testCaseFourMapper;
 	static String testCaseOneJsonInput[], testCaseThreeJsonInput[];
 	static Double testCaseOneOutput[];
@@ -246,5 +249,15 @@ public class JsonMappingLoadTest {
 		FunctionblockValue voltageFunctionblockData = mappedOutput.get("voltage");
 		assertNull(voltageFunctionblockData);
 	}
-	
+
+	@Test
+	@JUnitPerfTest(threads = THREAD_AMOUNT_2, durationMs = TEST_DURATION_1, rampUpPeriodMs = RAMP_PERIOD, warmUpMs = WARMUP_DURATION_1)
+	@JUnitPerfTestRequirement(executionsPerSec = MIN_EXECUTIONS_PER_SECOND_JS)
+	public void builtInConverterAndJsThroughput() throws Exception {
+		int r = new Random().nextInt(2 + 1);
+		InfomodelValue mappedOutput = testCaseThreeMapper.mapSource(gson.fromJson(testCaseThreeJsonInput[r], Object.class));
+		FunctionblockValue buttonFunctionblockData = mappedOutput.get("button");
+		assertEquals(testCaseThreeOutput[r], buttonFunctionblockData.getStatusProperty("digital_input_count").get().getValue());
+	}
+
 }
@@ -12,10 +12,18 @@
  */
 package org.eclipse.vorto.mapping.targetplatform.awsiot;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.vorto.model.runtime.FunctionblockValue;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.model.runtime.JsonValueWriter;
+import org.eclipse.vorto.model.runtime.PropertyValue;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Convenient helper that serializes the given Vorto model, required to update an AWS IoT Shadow thing
@@ -36,6 +44,71 @@ public class TwinPayloadFactory {
   public static JsonObject toShadowUpdateRequest(InfomodelValue infomodelData) {
     return gson.toJsonTree(UpdateRequest.create().withReported(infomodelData)).getAsJsonObject();
   }
+
+  /**
+   * Writes the JSON payload that updates the entire shadow for the given Information Model data as
+   * compact JSON to the given output. In contrast to {@link #toShadowUpdateRequest(InfomodelValue)},
+   * no intermediate maps or JSON trees are built.
+   * 
+   * @param infomodel to set as value
+   * @param out output to append the payload to, e.g. a StringBuilder or Writer
+   */
+  public static void writeShadowUpdateRequest(InfomodelValue infomodelData, Appendable out)
+      throws IOException {
+    writeShadowUpdateRequest(new JsonWriter(JsonValueWriter.toWriter(out)), infomodelData);
+  }
+
+  /**
+   * Writes the JSON payload that updates the entire shadow for the given Information Model data as
+   * compact, UTF-8 encoded JSON to the given stream. The stream is flushed, but not closed.
+   * 
+   * @param infomodel to set as value
+   * @param out stream to write the payload to
+   */
+  public static void writeShadowUpdateRequest(InfomodelValue infomodelData, OutputStream out)
+      throws IOException {
+    writeShadowUpdateRequest(new JsonWriter(JsonValueWriter.toWriter(out)), infomodelData);
+  }
+
+  private static void writeShadowUpdateRequest(JsonWriter json, InfomodelValue infomodelData)
+      throws IOException {
+    json.beginObject();
+    json.name("state").beginObject();
+    json.name("reported").beginObject();
+    for (Map.Entry<String, FunctionblockValue> fbData : infomodelData.getProperties().entrySet()) {
+      json.name(fbData.getKey());
+      writeFunctionBlock(json, fbData.getValue());
+    }
+    json.endObject();
+    json.endObject();
+    json.endObject();
+    json.flush();
+  }
+
+  private static void writeFunctionBlock(JsonWriter json, FunctionblockValue fbData)
+      throws IOException {
+    List<PropertyValue> configuration = fbData.getConfiguration();
+    json.beginObject();
+    for (PropertyValue statusProperty : fbData.getStatus()) {
+      // like in FunctionblockValue.serialize(), configuration properties win over equally named
+      // status properties
+      if (!contains(configuration, statusProperty.getMeta().getName())) {
+        json.name(statusProperty.getMeta().getName());
+        JsonValueWriter.writeValue(json, statusProperty.getValue());
+      }
+    }
+    JsonValueWriter.writeProperties(json, configuration);
+    json.endObject();
+  }
+
+  private static boolean contains(List<PropertyValue> properties, String name) {
+    for (PropertyValue property : properties) {
+      if (property.getMeta().getName().equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
   
   
 }
@@ -12,6 +12,9 @@
  */
 package org.eclipse.vorto.mapping.targetplatform.awsiot;
 
+import static org.junit.Assert.assertEquals;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import org.eclipse.vorto.model.FunctionblockModel;
 import org.eclipse.vorto.model.Infomodel;
 import org.eclipse.vorto.model.ModelId;
@@ -22,6 +25,7 @@ import org.eclipse.vorto.model.runtime.InfomodelValue;
 import org.junit.Test;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
 
 public class TwinPayloadFactoryTest {
 
@@ -66,4 +70,34 @@ public class TwinPayloadFactoryTest {
     
     System.out.println(gson.toJson(TwinPayloadFactory.toShadowUpdateRequest(infomodelValue)));
   }
+
+  @Test
+  public void testWriteRequestMatchesShadowUpdateRequest() throws Exception {
+    FunctionblockModel fbm = FunctionblockModel.Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Temperature:1.0.0"))
+      .statusProperty(ModelProperty.createPrimitiveProperty("value", true, PrimitiveType.FLOAT))
+      .statusProperty(ModelProperty.createPrimitiveProperty("unit", false, PrimitiveType.STRING))
+      .configurationProperty(ModelProperty.createPrimitiveProperty("interval", false, PrimitiveType.INT))
+      .build();
+    
+    Infomodel infomodel = Infomodel.Builder(ModelId.fromPrettyFormat("com.acme:TemperatureSensor:1.0.0"))
+        .withProperty(ModelProperty.Builder("indoorTemperature", fbm).build())
+        .withProperty(ModelProperty.Builder("outdoorTemperature", fbm).build())
+        .build();
+    
+    InfomodelValue infomodelValue = new InfomodelValue(infomodel);
+    infomodelValue.withFunctionblock("indoorTemperature", new FunctionblockValue(fbm)
+        .withStatusProperty("value", 20.2).withStatusProperty("unit", "Celsius")
+        .withConfigurationProperty("interval", 60));
+    infomodelValue.withFunctionblock("outdoorTemperature",
+        new FunctionblockValue(fbm).withStatusProperty("value", 9.2));
+    
+    StringBuilder payload = new StringBuilder();
+    TwinPayloadFactory.writeShadowUpdateRequest(infomodelValue, payload);
+    assertEquals(TwinPayloadFactory.toShadowUpdateRequest(infomodelValue),
+        new JsonParser().parse(payload.toString()));
+    
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TwinPayloadFactory.writeShadowUpdateRequest(infomodelValue, out);
+    assertEquals(payload.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
 }
@@ -12,15 +12,21 @@
  */
 package org.eclipse.vorto.mapping.targetplatform.ditto;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.vorto.model.runtime.FunctionblockValue;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.model.runtime.JsonValueWriter;
 import org.eclipse.vorto.model.runtime.PropertyValue;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Convenient helper that serializes the given Vorto model data to Eclipse Ditto protocol
@@ -42,11 +48,7 @@ public class TwinPayloadFactory {
    *         in one request
    */
   public static JsonObject toDittoProtocol(InfomodelValue infomodelData, String deviceId) {
-    if (!deviceId.contains(DEVICE_ID_SEPARATOR)) {
-      throw new IllegalArgumentException("Device ID must comply to pattern <namespace>:<suffix>");
-    }
-    
-    int separatorIndex = deviceId.indexOf(DEVICE_ID_SEPARATOR);
+    int separatorIndex = separatorIndex(deviceId);
     
     return toDittoProtocol(infomodelData, deviceId.substring(0, separatorIndex), deviceId.substring(separatorIndex + 1));
   }
@@ -61,16 +63,164 @@ public class TwinPayloadFactory {
    * @return ditto protocol containing vorto data, that can be sent to Ditto to update the feature
    */
   public static JsonObject toDittoProtocol(FunctionblockValue fbData, String featureId, String deviceId) {
-    
-    if (!deviceId.contains(DEVICE_ID_SEPARATOR)) {
-      throw new IllegalArgumentException("Device ID must comply to pattern <namespace>:<suffix>");
-    }
-    
-    int separatorIndex = deviceId.indexOf(DEVICE_ID_SEPARATOR);
+    int separatorIndex = separatorIndex(deviceId);
     
     return toDittoProtocol(fbData, featureId, deviceId.substring(0, separatorIndex), deviceId.substring(separatorIndex + 1));
   }
   
+  /**
+   * Writes the Ditto protocol payload for modifying all features from the given Information Model
+   * Data as compact JSON to the given output. In contrast to
+   * {@link #toDittoProtocol(InfomodelValue, String)}, no intermediate maps or JSON trees are built.
+   * 
+   * @param infomodel to set as value
+   * @param deviceId the device ID formatted in Eclipse Ditto Thing ID convention, e.g. org.acme:4711
+   * @param out output to append the payload to, e.g. a StringBuilder or Writer
+   */
+  public static void writeDittoProtocol(InfomodelValue infomodelData, String deviceId,
+      Appendable out) throws IOException {
+    writeModifyFeatures(new JsonWriter(JsonValueWriter.toWriter(out)), infomodelData, deviceId);
+  }
+
+  /**
+   * Writes the Ditto protocol payload for modifying all features from the given Information Model
+   * Data as compact, UTF-8 encoded JSON to the given stream. The stream is flushed, but not closed.
+   * 
+   * @param infomodel to set as value
+   * @param deviceId the device ID formatted in Eclipse Ditto Thing ID convention, e.g. org.acme:4711
+   * @param out stream to write the payload to
+   */
+  public static void writeDittoProtocol(InfomodelValue infomodelData, String deviceId,
+      OutputStream out) throws IOException {
+    writeModifyFeatures(new JsonWriter(JsonValueWriter.toWriter(out)), infomodelData, deviceId);
+  }
+
+  /**
+   * Writes the Ditto protocol payloads for modifying all features of many things to the given
+   * output. Each payload is written as compact JSON on its own line.
+   * 
+   * @param infomodelDataByDeviceId Information Model Data of the things, keyed by device ID
+   * @param out output to append the payloads to, e.g. a StringBuilder or Writer
+   */
+  public static void writeDittoProtocol(Map<String, InfomodelValue> infomodelDataByDeviceId,
+      Appendable out) throws IOException {
+    writeModifyFeatures(JsonValueWriter.toWriter(out), infomodelDataByDeviceId);
+  }
+
+  /**
+   * Writes the Ditto protocol payloads for modifying all features of many things as UTF-8 encoded
+   * lines of compact JSON to the given stream. The stream is flushed, but not closed.
+   * 
+   * @param infomodelDataByDeviceId Information Model Data of the things, keyed by device ID
+   * @param out stream to write the payloads to
+   */
+  public static void writeDittoProtocol(Map<String, InfomodelValue> infomodelDataByDeviceId,
+      OutputStream out) throws IOException {
+    writeModifyFeatures(JsonValueWriter.toWriter(out), infomodelDataByDeviceId);
+  }
+
+  /**
+   * Writes the Ditto protocol payload for modifying the feature properties with the Vorto function
+   * block data as compact JSON to the given output
+   * 
+   * @param functionblockData to set as value
+   * @param featureId id of the feature to update. Ordinarily this is the function block property name of the Information Model
+   * @param deviceId the device ID formatted in Eclipse Ditto Thing ID convention, e.g. org.acme:4711
+   * @param out output to append the payload to, e.g. a StringBuilder or Writer
+   */
+  public static void writeDittoProtocol(FunctionblockValue fbData, String featureId,
+      String deviceId, Appendable out) throws IOException {
+    writeModifyFeatureProperties(new JsonWriter(JsonValueWriter.toWriter(out)), fbData,
+        featureId, deviceId);
+  }
+
+  /**
+   * Writes the Ditto protocol payload for modifying the feature properties with the Vorto function
+   * block data as compact, UTF-8 encoded JSON to the given stream. The stream is flushed, but not
+   * closed.
+   * 
+   * @param functionblockData to set as value
+   * @param featureId id of the feature to update. Ordinarily this is the function block property name of the Information Model
+   * @param deviceId the device ID formatted in Eclipse Ditto Thing ID convention, e.g. org.acme:4711
+   * @param out stream to write the payload to
+   */
+  public static void writeDittoProtocol(FunctionblockValue fbData, String featureId,
+      String deviceId, OutputStream out) throws IOException {
+    writeModifyFeatureProperties(new JsonWriter(JsonValueWriter.toWriter(out)), fbData,
+        featureId, deviceId);
+  }
+
+  private static void writeModifyFeatures(Writer writer,
+      Map<String, InfomodelValue> infomodelDataByDeviceId) throws IOException {
+    for (Map.Entry<String, InfomodelValue> thing : infomodelDataByDeviceId.entrySet()) {
+      writeModifyFeatures(new JsonWriter(writer), thing.getValue(), thing.getKey());
+      writer.write('\n');
+    }
+    writer.flush();
+  }
+
+  private static void writeModifyFeatures(JsonWriter json, InfomodelValue infomodelData,
+      String deviceId) throws IOException {
+    beginModifyCommand(json, deviceId, "/features");
+    json.beginObject();
+    for (Map.Entry<String, FunctionblockValue> fbData : infomodelData.getProperties().entrySet()) {
+      json.name(fbData.getKey()).beginObject();
+      json.name("definition").beginArray()
+          .value(fbData.getValue().getMeta().getId().getPrettyFormat()).endArray();
+      json.name("properties");
+      writeFunctionBlockProperties(json, fbData.getValue());
+      json.endObject();
+    }
+    json.endObject();
+    json.endObject();
+    json.flush();
+  }
+
+  private static void writeModifyFeatureProperties(JsonWriter json, FunctionblockValue fbData,
+      String featureId, String deviceId) throws IOException {
+    beginModifyCommand(json, deviceId, "/features/" + featureId + "/properties");
+    writeFunctionBlockProperties(json, fbData);
+    json.endObject();
+    json.flush();
+  }
+
+  private static void beginModifyCommand(JsonWriter json, String deviceId, String path)
+      throws IOException {
+    int separatorIndex = separatorIndex(deviceId);
+    json.beginObject();
+    json.name("topic").value(deviceId.substring(0, separatorIndex) + "/"
+        + deviceId.substring(separatorIndex + 1) + "/things/twin/commands/modify");
+    json.name("headers").beginObject().name("response-required").value(false).endObject();
+    json.name("path").value(path);
+    json.name("value");
+  }
+
+  private static void writeFunctionBlockProperties(JsonWriter json, FunctionblockValue fbData)
+      throws IOException {
+    List<PropertyValue> status = fbData.getStatus();
+    List<PropertyValue> configuration = fbData.getConfiguration();
+    json.beginObject();
+    if (!status.isEmpty()) {
+      json.name("status").beginObject();
+      JsonValueWriter.writeProperties(json, status);
+      json.endObject();
+    }
+    if (!configuration.isEmpty()) {
+      json.name("configuration").beginObject();
+      JsonValueWriter.writeProperties(json, configuration);
+      json.endObject();
+    }
+    json.endObject();
+  }
+
+  private static int separatorIndex(String deviceId) {
+    int separatorIndex = deviceId.indexOf(DEVICE_ID_SEPARATOR);
+    if (separatorIndex < 0) {
+      throw new IllegalArgumentException("Device ID must comply to pattern <namespace>:<suffix>");
+    }
+    return separatorIndex;
+  }
+
   /**
    * Creates Ditto protocol payload for modifying all features from the given Information Model Data
    * 
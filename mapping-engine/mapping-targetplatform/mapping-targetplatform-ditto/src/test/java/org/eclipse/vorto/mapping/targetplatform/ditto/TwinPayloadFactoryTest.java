@@ -12,6 +12,11 @@
  */
 package org.eclipse.vorto.mapping.targetplatform.ditto;
 
+import static org.junit.Assert.assertEquals;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.eclipse.vorto.model.FunctionblockModel;
 import org.eclipse.vorto.model.Infomodel;
 import org.eclipse.vorto.model.ModelId;
@@ -22,6 +27,7 @@ import org.eclipse.vorto.model.runtime.InfomodelValue;
 import org.junit.Test;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
 
 public class TwinPayloadFactoryTest {
 
@@ -79,4 +85,71 @@ private static Gson gson = new GsonBuilder().setPrettyPrinting().create();
     System.out.println(gson.toJson(TwinPayloadFactory.toDittoProtocol(infomodelValue, "com.acme:Sensor-1")));
 
   }
+
+  @Test
+  public void testWriteRequestMatchesDittoProtocol() throws Exception {
+    InfomodelValue infomodelValue = createInfomodelValue(20.2, 9.2);
+    
+    StringBuilder payload = new StringBuilder();
+    TwinPayloadFactory.writeDittoProtocol(infomodelValue, "com.acme:Sensor-1", payload);
+    assertEquals(TwinPayloadFactory.toDittoProtocol(infomodelValue, "com.acme:Sensor-1"),
+        new JsonParser().parse(payload.toString()));
+    
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TwinPayloadFactory.writeDittoProtocol(infomodelValue, "com.acme:Sensor-1", out);
+    assertEquals(payload.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
+  
+  @Test
+  public void testWriteRequestForFeatureMatchesDittoProtocol() throws Exception {
+    FunctionblockValue fbValue = createInfomodelValue(20.2, 9.2).get("indoorTemperature");
+    
+    StringBuilder payload = new StringBuilder();
+    TwinPayloadFactory.writeDittoProtocol(fbValue, "temperature", "com.acme:Sensor-1", payload);
+    assertEquals(TwinPayloadFactory.toDittoProtocol(fbValue, "temperature", "com.acme:Sensor-1"),
+        new JsonParser().parse(payload.toString()));
+  }
+  
+  @Test
+  public void testWriteRequestsForManyThings() throws Exception {
+    Map<String, InfomodelValue> things = new LinkedHashMap<>();
+    things.put("com.acme:Sensor-1", createInfomodelValue(20.2, 9.2));
+    things.put("com.acme:Sensor-2", createInfomodelValue(21.0, 10.5));
+    
+    StringBuilder payload = new StringBuilder();
+    TwinPayloadFactory.writeDittoProtocol(things, payload);
+    
+    String[] lines = payload.toString().split("\n");
+    assertEquals(2, lines.length);
+    assertEquals(TwinPayloadFactory.toDittoProtocol(things.get("com.acme:Sensor-1"), "com.acme:Sensor-1"),
+        new JsonParser().parse(lines[0]));
+    assertEquals(TwinPayloadFactory.toDittoProtocol(things.get("com.acme:Sensor-2"), "com.acme:Sensor-2"),
+        new JsonParser().parse(lines[1]));
+  }
+  
+  @Test(expected = IllegalArgumentException.class)
+  public void testWriteRequestInvalidDeviceId() throws Exception {
+    TwinPayloadFactory.writeDittoProtocol(createInfomodelValue(20.2, 9.2), "Sensor-1", new StringBuilder());
+  }
+  
+  private InfomodelValue createInfomodelValue(double indoor, double outdoor) {
+    FunctionblockModel fbm = FunctionblockModel.Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Temperature:1.0.0"))
+      .statusProperty(ModelProperty.createPrimitiveProperty("value", true, PrimitiveType.FLOAT))
+      .statusProperty(ModelProperty.createPrimitiveProperty("unit", false, PrimitiveType.STRING))
+      .configurationProperty(ModelProperty.createPrimitiveProperty("interval", false, PrimitiveType.INT))
+      .build();
+    
+    Infomodel infomodel = Infomodel.Builder(ModelId.fromPrettyFormat("com.acme:TemperatureSensor:1.0.0"))
+        .withProperty(ModelProperty.Builder("indoorTemperature", fbm).build())
+        .withProperty(ModelProperty.Builder("outdoorTemperature", fbm).build())
+        .build();
+    
+    InfomodelValue infomodelValue = new InfomodelValue(infomodel);
+    infomodelValue.withFunctionblock("indoorTemperature", new FunctionblockValue(fbm)
+        .withStatusProperty("value", indoor).withStatusProperty("unit", "Celsius")
+        .withConfigurationProperty("interval", 60));
+    infomodelValue.withFunctionblock("outdoorTemperature",
+        new FunctionblockValue(fbm).withStatusProperty("value", outdoor));
+    return infomodelValue;
+  }
 }
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.model.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.vorto.model.EntityModel;
+
+/**
+ * Entity value that stores its properties in slots indexed by a shared {@link PropertyLayout},
+ * see {@link CompactFunctionblockValue}. The returned {@link PropertyValue}s are live views of the
+ * slots.
+ */
+public class CompactEntityValue extends EntityValue {
+
+  private final PropertyLayout layout;
+
+  private final ValueSlots values;
+
+  public CompactEntityValue(PropertyLayout layout) {
+    super(layout.getEntity());
+    this.layout = layout;
+    this.values = new ValueSlots(layout.size());
+  }
+
+  public CompactEntityValue(EntityModel meta) {
+    this(PropertyLayout.of(meta));
+  }
+
+  public PropertyLayout getLayout() {
+    return layout;
+  }
+
+  @Override
+  public void withProperty(String name, Object value) {
+    int index = layout.indexOfStatus(name);
+    if (index < 0) {
+      throw new IllegalArgumentException("Entity property with given name is not defined");
+    }
+    values.set(index, value);
+  }
+
+  public void setValue(int index, Object value) {
+    values.set(index, value);
+  }
+
+  public void setDouble(int index, double value) {
+    values.setDouble(index, value);
+  }
+
+  public void setLong(int index, long value) {
+    values.setLong(index, value);
+  }
+
+  public void setBoolean(int index, boolean value) {
+    values.setBoolean(index, value);
+  }
+
+  public boolean isPresent(int index) {
+    return values.isPresent(index);
+  }
+
+  public Object getValue(int index) {
+    return values.get(index);
+  }
+
+  /**
+   * @return true, if no property value is present
+   */
+  public boolean isEmpty() {
+    return values.count() == 0;
+  }
+
+  @Override
+  public List<PropertyValue> getProperties() {
+    List<PropertyValue> result = new ArrayList<>(values.count());
+    for (int i = 0; i < layout.size(); i++) {
+      if (values.isPresent(i)) {
+        result.add(values.view(layout.getProperty(i), i));
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  @Override
+  public Optional<PropertyValue> getPropertyValue(String name) {
+    int index = layout.indexOfStatus(name);
+    if (index < 0 || !values.isPresent(index)) {
+      return Optional.empty();
+    }
+    return Optional.of(values.view(layout.getProperty(index), index));
+  }
+
+  @Override
+  public Map<String, Object> serialize() {
+    Map<String, Object> result = new HashMap<String, Object>(values.count() * 2);
+    for (int i = 0; i < layout.size(); i++) {
+      if (values.isPresent(i)) {
+        result.put(layout.getProperty(i).getName(), values.get(i));
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.model.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+
+/**
+ * Function block value that stores its properties in slots indexed by a shared
+ * {@link PropertyLayout}. Numbers and booleans are stored unboxed and can be set and read by index
+ * without boxing. The name based getters, {@link #validate()} and {@link #serialize()} behave like
+ * those of {@link FunctionblockValue}, except that properties are listed in declaration order. The
+ * returned {@link PropertyValue}s are live views of the slots, so setting their value changes the
+ * value of this function block.
+ */
+public class CompactFunctionblockValue extends FunctionblockValue {
+
+  private final PropertyLayout layout;
+
+  private final ValueSlots values;
+
+  public CompactFunctionblockValue(PropertyLayout layout) {
+    super(layout.getFunctionblock());
+    this.layout = layout;
+    this.values = new ValueSlots(layout.size());
+  }
+
+  public CompactFunctionblockValue(FunctionblockModel meta) {
+    this(PropertyLayout.of(meta));
+  }
+
+  public PropertyLayout getLayout() {
+    return layout;
+  }
+
+  @Override
+  public List<PropertyValue> getStatus() {
+    return getPropertyValues(0, layout.getStatusCount());
+  }
+
+  @Override
+  public Optional<PropertyValue> getStatusProperty(String propertyName) {
+    return getPropertyValue(layout.indexOfStatus(propertyName));
+  }
+
+  @Override
+  public List<PropertyValue> getConfiguration() {
+    return getPropertyValues(layout.getStatusCount(), layout.size());
+  }
+
+  @Override
+  public Optional<PropertyValue> getConfigurationProperty(String propertyName) {
+    return getPropertyValue(layout.indexOfConfiguration(propertyName));
+  }
+
+  @Override
+  public CompactFunctionblockValue withStatusProperty(String name, Object value) {
+    int index = layout.indexOfStatus(name);
+    if (index < 0) {
+      throw new IllegalArgumentException(
+          "Status property with given name is not defined in Function Block");
+    }
+    values.set(index, value);
+    return this;
+  }
+
+  @Override
+  public CompactFunctionblockValue withConfigurationProperty(String name, Object value) {
+    int index = layout.indexOfConfiguration(name);
+    if (index < 0) {
+      throw new IllegalArgumentException(
+          "Configuration property with given name is not defined in Function Block");
+    }
+    values.set(index, value);
+    return this;
+  }
+
+  public boolean isPresent(int index) {
+    return values.isPresent(index);
+  }
+
+  /**
+   * @return value of the property at the given layout index or null, if not present
+   */
+  public Object getValue(int index) {
+    return values.get(index);
+  }
+
+  /**
+   * @throws IllegalStateException if the value at the given index is not a number
+   */
+  public double getDouble(int index) {
+    return values.getDouble(index);
+  }
+
+  /**
+   * @throws IllegalStateException if the value at the given index is not a number
+   */
+  public long getLong(int index) {
+    return values.getLong(index);
+  }
+
+  /**
+   * @throws IllegalStateException if the value at the given index is not a boolean
+   */
+  public boolean getBoolean(int index) {
+    return values.getBoolean(index);
+  }
+
+  public CompactFunctionblockValue setValue(int index, Object value) {
+    values.set(index, value);
+    return this;
+  }
+
+  public CompactFunctionblockValue setDouble(int index, double value) {
+    values.setDouble(index, value);
+    return this;
+  }
+
+  public CompactFunctionblockValue setFloat(int index, float value) {
+    values.setFloat(index, value);
+    return this;
+  }
+
+  public CompactFunctionblockValue setLong(int index, long value) {
+    values.setLong(index, value);
+    return this;
+  }
+
+  public CompactFunctionblockValue setInt(int index, int value) {
+    values.setInt(index, value);
+    return this;
+  }
+
+  public CompactFunctionblockValue setShort(int index, short value) {
+    values.setShort(index, value);
+    return this;
+  }
+
+  public CompactFunctionblockValue setByte(int index, byte value) {
+    values.setByte(index, value);
+    return this;
+  }
+
+  public CompactFunctionblockValue setBoolean(int index, boolean value) {
+    values.setBoolean(index, value);
+    return this;
+  }
+
+  /**
+   * @return true, if no property value is present
+   */
+  public boolean isEmpty() {
+    return values.count() == 0;
+  }
+
+  private Optional<PropertyValue> getPropertyValue(int index) {
+    if (index < 0 || !values.isPresent(index)) {
+      return Optional.empty();
+    }
+    return Optional.of(values.view(layout.getProperty(index), index));
+  }
+
+  private List<PropertyValue> getPropertyValues(int from, int to) {
+    List<PropertyValue> result = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      if (values.isPresent(i)) {
+        result.add(values.view(layout.getProperty(i), i));
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  @Override
+  public String toString() {
+    return "FunctionblockData [status=" + getStatus() + ", configuration=" + getConfiguration()
+        + "]";
+  }
+
+  @Override
+  public ValidationReport validate() {
+    ValidationReport report = new ValidationReport();
+    String path = getMeta().getId().getName().toLowerCase();
+    for (int i = 0; i < layout.size(); i++) {
+      ModelProperty property = layout.getProperty(i);
+      if (property.isMandatory() && !values.isPresent(i)) {
+        report.addItem(property,
+            "Mandatory field " + path + "/" + property.getName() + " is missing");
+      } else if (values.isPresent(i) && property.getType() instanceof PrimitiveType) {
+        checkPrimitiveTypeValue(path, values.get(i), property, report);
+      }
+    }
+    return report;
+  }
+
+  @Override
+  public Map<String, Object> serialize() {
+    Map<String, Object> result = new HashMap<String, Object>(values.count() * 2);
+    for (int i = 0; i < layout.size(); i++) {
+      if (values.isPresent(i)) {
+        result.put(layout.getProperty(i).getName(), values.serialize(i));
+      }
+    }
+    return result;
+  }
+}
@@ -129,7 +129,7 @@ public class FunctionblockValue implements IValidatable {
     }
   }
 
-  private static void checkPrimitiveTypeValue(String path, Object propertyValue,
+  static void checkPrimitiveTypeValue(String path, Object propertyValue,
       ModelProperty property, ValidationReport report) {
     PrimitiveType type = (PrimitiveType) property.getType();
     if (type == PrimitiveType.STRING && !(propertyValue instanceof String)) {
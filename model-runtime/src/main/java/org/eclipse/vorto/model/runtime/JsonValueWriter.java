@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.model.runtime;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Writes Vorto runtime values as compact JSON directly to a {@link JsonWriter}, without building
+ * intermediate maps or JSON trees. Used by the payload factories of the target platforms, which
+ * therefore do not depend on the mapping engine.
+ */
+public final class JsonValueWriter {
+
+  private static final Gson gson = new Gson();
+
+  private JsonValueWriter() {}
+
+  public static Writer toWriter(Appendable out) {
+    return out instanceof Writer ? (Writer) out : new AppendableWriter(out);
+  }
+
+  public static Writer toWriter(OutputStream out) {
+    return new OutputStreamWriter(out, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writes the given properties as JSON object members
+   */
+  public static void writeProperties(JsonWriter json, List<PropertyValue> properties)
+      throws IOException {
+    for (PropertyValue property : properties) {
+      json.name(property.getMeta().getName());
+      writeValue(json, property.getValue());
+    }
+  }
+
+  public static void writeValue(JsonWriter json, Object value) throws IOException {
+    if (value == null) {
+      json.nullValue();
+    } else if (value instanceof String) {
+      json.value((String) value);
+    } else if (value instanceof Boolean) {
+      json.value((Boolean) value);
+    } else if (value instanceof Number) {
+      json.value((Number) value);
+    } else if (value instanceof EnumValue) {
+      json.value(((EnumValue) value).getValue());
+    } else if (value instanceof EntityValue) {
+      json.beginObject();
+      writeProperties(json, ((EntityValue) value).getProperties());
+      json.endObject();
+    } else {
+      gson.toJson(value, value.getClass(), json);
+    }
+  }
+
+  private static final class AppendableWriter extends Writer {
+
+    private final Appendable out;
+
+    private AppendableWriter(Appendable out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+      out.append((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+      for (int i = off; i < off + len; i++) {
+        out.append(cbuf[i]);
+      }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+      out.append(str, off, off + len);
+    }
+
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+      out.append(csq);
+      return this;
+    }
+
+    @Override
+    public void flush() throws IOException {}
+
+    @Override
+    public void close() throws IOException {}
+  }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.model.runtime;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelProperty;
+
+/**
+ * Index based layout of the properties of a function block or entity model. Status properties
+ * are assigned the indexes 0..n-1 in declaration order, followed by the configuration properties.
+ * A layout is immutable and is supposed to be created once per model and shared by all values of
+ * that model.
+ */
+public final class PropertyLayout {
+
+  private final FunctionblockModel functionblock;
+
+  private final EntityModel entity;
+
+  private final ModelProperty[] properties;
+
+  private final int statusCount;
+
+  private final Map<String, Integer> statusIndexes;
+
+  private final Map<String, Integer> configurationIndexes;
+
+  private PropertyLayout(FunctionblockModel functionblock, EntityModel entity,
+      List<ModelProperty> statusProperties, List<ModelProperty> configurationProperties) {
+    this.functionblock = functionblock;
+    this.entity = entity;
+    this.statusCount = statusProperties.size();
+    this.properties = new ModelProperty[statusCount + configurationProperties.size()];
+    this.statusIndexes = new HashMap<>(statusCount * 2);
+    this.configurationIndexes = new HashMap<>(configurationProperties.size() * 2);
+
+    int index = 0;
+    for (ModelProperty property : statusProperties) {
+      statusIndexes.putIfAbsent(property.getName(), index);
+      properties[index++] = property;
+    }
+    for (ModelProperty property : configurationProperties) {
+      configurationIndexes.putIfAbsent(property.getName(), index);
+      properties[index++] = property;
+    }
+  }
+
+  public static PropertyLayout of(FunctionblockModel model) {
+    return new PropertyLayout(model, null, model.getStatusProperties(),
+        model.getConfigurationProperties());
+  }
+
+  /**
+   * Creates the layout of an entity, whose properties are treated as status properties
+   */
+  public static PropertyLayout of(EntityModel model) {
+    return new PropertyLayout(null, model, model.getProperties(),
+        Collections.emptyList());
+  }
+
+  /**
+   * @return function block model of the layout or null, if it is the layout of an entity
+   */
+  public FunctionblockModel getFunctionblock() {
+    return functionblock;
+  }
+
+  /**
+   * @return entity model of the layout or null, if it is the layout of a function block
+   */
+  public EntityModel getEntity() {
+    return entity;
+  }
+
+  public int size() {
+    return properties.length;
+  }
+
+  public int getStatusCount() {
+    return statusCount;
+  }
+
+  public boolean isStatus(int index) {
+    return index < statusCount;
+  }
+
+  public ModelProperty getProperty(int index) {
+    return properties[index];
+  }
+
+  /**
+   * @return index of the status property with the given name or -1, if there is no such property
+   */
+  public int indexOfStatus(String name) {
+    Integer index = statusIndexes.get(name);
+    return index != null ? index : -1;
+  }
+
+  /**
+   * @return index of the configuration property with the given name or -1, if there is no such
+   *         property
+   */
+  public int indexOfConfiguration(String name) {
+    Integer index = configurationIndexes.get(name);
+    return index != null ? index : -1;
+  }
+}
@@ -41,10 +41,11 @@ public class PropertyValue {
 
   @Override
   public String toString() {
-    return "PropertyValue [meta=" + meta + ", value=" + value + "]";
+    return "PropertyValue [meta=" + meta + ", value=" + getValue() + "]";
   }
 
   public Object serialize() {
+    Object value = getValue();
     if (value instanceof EntityValue) {
       return ((EntityValue)value).serialize();
     } else if (value instanceof EnumValue) {
@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.model.runtime;
+
+import org.eclipse.vorto.model.ModelProperty;
+
+/**
+ * Storage of property values by index. Numbers and booleans are kept unboxed in a primitive array
+ * together with a tag of their type, so that {@link #get(int)} returns a value of exactly the type
+ * that has been set. All other values are kept as objects.
+ */
+final class ValueSlots {
+
+  private static final byte ABSENT = 0;
+  private static final byte OBJECT = 1;
+  private static final byte DOUBLE = 2;
+  private static final byte FLOAT = 3;
+  private static final byte LONG = 4;
+  private static final byte INT = 5;
+  private static final byte SHORT = 6;
+  private static final byte BYTE = 7;
+  private static final byte BOOLEAN = 8;
+
+  private final byte[] tags;
+
+  private final long[] primitives;
+
+  private Object[] objects;
+
+  private int count = 0;
+
+  ValueSlots(int size) {
+    this.tags = new byte[size];
+    this.primitives = new long[size];
+  }
+
+  boolean isPresent(int index) {
+    return tags[index] != ABSENT;
+  }
+
+  /**
+   * @return number of present values
+   */
+  int count() {
+    return count;
+  }
+
+  void set(int index, Object value) {
+    if (value instanceof Double) {
+      setDouble(index, (Double) value);
+    } else if (value instanceof Float) {
+      setFloat(index, (Float) value);
+    } else if (value instanceof Long) {
+      setPrimitive(index, LONG, (Long) value);
+    } else if (value instanceof Integer) {
+      setPrimitive(index, INT, (Integer) value);
+    } else if (value instanceof Short) {
+      setPrimitive(index, SHORT, (Short) value);
+    } else if (value instanceof Byte) {
+      setPrimitive(index, BYTE, (Byte) value);
+    } else if (value instanceof Boolean) {
+      setBoolean(index, (Boolean) value);
+    } else {
+      if (value != null && objects == null) {
+        objects = new Object[tags.length];
+      }
+      if (objects != null) {
+        objects[index] = value;
+      }
+      setTag(index, OBJECT);
+    }
+  }
+
+  void setDouble(int index, double value) {
+    setPrimitive(index, DOUBLE, Double.doubleToRawLongBits(value));
+  }
+
+  void setFloat(int index, float value) {
+    setPrimitive(index, FLOAT, Float.floatToRawIntBits(value));
+  }
+
+  void setLong(int index, long value) {
+    setPrimitive(index, LONG, value);
+  }
+
+  void setInt(int index, int value) {
+    setPrimitive(index, INT, value);
+  }
+
+  void setShort(int index, short value) {
+    setPrimitive(index, SHORT, value);
+  }
+
+  void setByte(int index, byte value) {
+    setPrimitive(index, BYTE, value);
+  }
+
+  void setBoolean(int index, boolean value) {
+    setPrimitive(index, BOOLEAN, value ? 1 : 0);
+  }
+
+  private void setPrimitive(int index, byte tag, long bits) {
+    primitives[index] = bits;
+    if (objects != null) {
+      objects[index] = null;
+    }
+    setTag(index, tag);
+  }
+
+  private void setTag(int index, byte tag) {
+    if (tags[index] == ABSENT) {
+      count++;
+    }
+    tags[index] = tag;
+  }
+
+  /**
+   * @return the value boxed to the type it has been set with, or null if absent
+   */
+  Object get(int index) {
+    long bits = primitives[index];
+    switch (tags[index]) {
+      case DOUBLE:
+        return Double.longBitsToDouble(bits);
+      case FLOAT:
+        return Float.intBitsToFloat((int) bits);
+      case LONG:
+        return bits;
+      case INT:
+        return (int) bits;
+      case SHORT:
+        return (short) bits;
+      case BYTE:
+        return (byte) bits;
+      case BOOLEAN:
+        return bits != 0;
+      case OBJECT:
+        return objects != null ? objects[index] : null;
+      default:
+        return null;
+    }
+  }
+
+  double getDouble(int index) {
+    switch (tags[index]) {
+      case DOUBLE:
+        return Double.longBitsToDouble(primitives[index]);
+      case FLOAT:
+        return Float.intBitsToFloat((int) primitives[index]);
+      case LONG:
+      case INT:
+      case SHORT:
+      case BYTE:
+        return primitives[index];
+      default:
+        throw new IllegalStateException("Value at index " + index + " is not a number");
+    }
+  }
+
+  long getLong(int index) {
+    switch (tags[index]) {
+      case DOUBLE:
+      case FLOAT:
+        return (long) getDouble(index);
+      case LONG:
+      case INT:
+      case SHORT:
+      case BYTE:
+        return primitives[index];
+      default:
+        throw new IllegalStateException("Value at index " + index + " is not a number");
+    }
+  }
+
+  boolean getBoolean(int index) {
+    if (tags[index] != BOOLEAN) {
+      throw new IllegalStateException("Value at index " + index + " is not a boolean");
+    }
+    return primitives[index] != 0;
+  }
+
+  /**
+   * @return value as serialized by {@link PropertyValue#serialize()}
+   */
+  Object serialize(int index) {
+    Object value = get(index);
+    if (value instanceof EntityValue) {
+      return ((EntityValue) value).serialize();
+    } else if (value instanceof EnumValue) {
+      return ((EnumValue) value).serialize();
+    }
+    return value;
+  }
+
+  /**
+   * Creates a property value that is a live view of the given slot. Reading the view returns the
+   * current value of the slot and setting its value writes back into the slot. Like
+   * {@link PropertyValueFactory}, entity and enum values are returned as
+   * {@link EntityPropertyValue} and {@link EnumPropertyValue}.
+   */
+  PropertyValue view(ModelProperty property, int index) {
+    Object value = get(index);
+    if (value instanceof EntityValue) {
+      return new EntityPropertyValue(property, (EntityValue) value) {
+        @Override
+        public EntityValue getValue() {
+          return (EntityValue) get(index);
+        }
+
+        @Override
+        public void setValue(Object newValue) {
+          set(index, newValue);
+        }
+      };
+    } else if (value instanceof EnumValue) {
+      return new EnumPropertyValue(property, (EnumValue) value) {
+        @Override
+        public EnumValue getValue() {
+          return (EnumValue) get(index);
+        }
+
+        @Override
+        public void setValue(Object newValue) {
+          set(index, newValue);
+        }
+      };
+    }
+    return new PropertyValue(property, value) {
+      @Override
+      public Object getValue() {
+        return get(index);
+      }
+
+      @Override
+      public void setValue(Object newValue) {
+        set(index, newValue);
+      }
+    };
+  }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.model.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.junit.Test;
+
+public class CompactValueTest {
+
+  private FunctionblockModel model = FunctionblockModel
+      .Builder(ModelId.fromPrettyFormat("default:TestFB:1.0.0"))
+      .statusProperty(ModelProperty.createPrimitiveProperty("value", true, PrimitiveType.FLOAT))
+      .statusProperty(ModelProperty.createPrimitiveProperty("count", false, PrimitiveType.INT))
+      .statusProperty(ModelProperty.createPrimitiveProperty("unit", false, PrimitiveType.STRING))
+      .configurationProperty(
+          ModelProperty.createPrimitiveProperty("enabled", false, PrimitiveType.BOOLEAN))
+      .build();
+
+  @Test
+  public void testSameBehaviorAsFunctionblockValue() {
+    FunctionblockValue expected = new FunctionblockValue(model).withStatusProperty("value", 20.5f)
+        .withStatusProperty("count", 2.0).withStatusProperty("unit", "Celsius")
+        .withConfigurationProperty("enabled", true);
+    FunctionblockValue actual = new CompactFunctionblockValue(model)
+        .withStatusProperty("value", 20.5f).withStatusProperty("count", 2.0)
+        .withStatusProperty("unit", "Celsius").withConfigurationProperty("enabled", true);
+
+    assertEquals(expected.serialize(), actual.serialize());
+    assertEquals(expected.getStatus().size(), actual.getStatus().size());
+    assertEquals(Float.class, actual.getStatusProperty("value").get().getValue().getClass());
+    assertEquals(2.0, actual.getStatusProperty("count").get().getValue());
+    assertEquals(true, actual.getConfigurationProperty("enabled").get().getValue());
+    assertFalse(actual.getConfigurationProperty("value").isPresent());
+    assertTrue(actual.validate().isValid());
+  }
+
+  @Test
+  public void testValidation() {
+    CompactFunctionblockValue data = new CompactFunctionblockValue(model);
+    assertFalse(data.validate().isValid());
+    assertTrue(data.withStatusProperty("value", 2.2).validate().isValid());
+    assertFalse(data.withStatusProperty("count", 2).validate().isValid());
+    assertFalse(data.withStatusProperty("count", 2.2).validate().isValid());
+    assertTrue(data.withStatusProperty("count", 2.0).validate().isValid());
+    assertFalse(data.withStatusProperty("unit", 2).validate().isValid());
+  }
+
+  @Test
+  public void testPrimitiveAccessByIndex() {
+    PropertyLayout layout = PropertyLayout.of(model);
+    CompactFunctionblockValue data = new CompactFunctionblockValue(layout);
+    assertTrue(data.isEmpty());
+
+    data.setFloat(layout.indexOfStatus("value"), 20.5f)
+        .setLong(layout.indexOfStatus("count"), 3)
+        .setBoolean(layout.indexOfConfiguration("enabled"), true);
+
+    assertEquals(20.5, data.getDouble(layout.indexOfStatus("value")), 0.0);
+    assertEquals(3L, data.getLong(layout.indexOfStatus("count")));
+    assertTrue(data.getBoolean(3));
+    assertEquals(20.5f, data.getStatusProperty("value").get().getValue());
+    assertEquals(3L, data.serialize().get("count"));
+    assertFalse(data.isPresent(layout.indexOfStatus("unit")));
+    assertEquals(-1, layout.indexOfStatus("enabled"));
+  }
+
+  @Test
+  public void testPropertyValuesAreLive() {
+    CompactFunctionblockValue data = new CompactFunctionblockValue(model)
+        .withStatusProperty("value", 20.5f).withStatusProperty("unit", "Celsius");
+
+    PropertyValue value = data.getStatusProperty("value").get();
+    value.setValue(21.5f);
+    assertEquals(21.5f, data.getStatusProperty("value").get().getValue());
+    assertEquals(21.5f, data.serialize().get("value"));
+
+    data.getStatus().get(1).setValue("Kelvin");
+    assertEquals("Kelvin", data.serialize().get("unit"));
+
+    data.withStatusProperty("value", 22.5f);
+    assertEquals(22.5f, value.getValue());
+    assertEquals(22.5f, value.serialize());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUndefinedProperty() {
+    new CompactFunctionblockValue(model).withStatusProperty("enabled", true);
+  }
+
+  @Test
+  public void testEntityValue() {
+    EntityModel entityModel = new EntityModel(ModelId.fromPrettyFormat("default:Entity:1.0.0"));
+    entityModel.setProperties(Arrays.asList(
+        ModelProperty.createPrimitiveProperty("value", true, PrimitiveType.DOUBLE),
+        ModelProperty.createPrimitiveProperty("unit", false, PrimitiveType.STRING)));
+
+    EntityValue expected = new EntityValue(entityModel);
+    expected.withProperty("value", 20.3);
+    CompactEntityValue actual = new CompactEntityValue(entityModel);
+    actual.withProperty("value", 20.3);
+
+    assertEquals(expected.serialize(), actual.serialize());
+    assertEquals(1, actual.getProperties().size());
+    assertEquals(20.3, actual.getPropertyValue("value").get().getValue());
+    assertFalse(actual.getPropertyValue("unit").isPresent());
+
+    FunctionblockModel fbModel = FunctionblockModel
+        .Builder(ModelId.fromPrettyFormat("default:TestFB:1.0.0"))
+        .statusProperty(ModelProperty.Builder("temperature", entityModel).build()).build();
+    assertEquals(new FunctionblockValue(fbModel).withStatusProperty("temperature", expected)
+        .serialize(),
+        new CompactFunctionblockValue(fbModel).withStatusProperty("temperature", actual)
+            .serialize());
+  }
+}
@@ -13,7 +13,10 @@
 package org.eclipse.vorto.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -27,6 +30,9 @@ public class FunctionblockModel extends AbstractModel implements IReferenceType
   private List<Operation> operations = new ArrayList<>();
   private ModelId superType = null;
 
+  private transient Map<String, ModelProperty> statusPropertyIndex = null;
+  private transient Map<String, ModelProperty> configurationPropertyIndex = null;
+
   public FunctionblockModel(ModelId modelId) {
     super(modelId, ModelType.Functionblock);
   }
@@ -45,6 +51,7 @@ public class FunctionblockModel extends AbstractModel implements IReferenceType
 
   public void setConfigurationProperties(List<ModelProperty> configurationProperties) {
     this.configurationProperties = configurationProperties;
+    this.configurationPropertyIndex = null;
   }
 
   public List<ModelProperty> getStatusProperties() {
@@ -52,13 +59,37 @@ public class FunctionblockModel extends AbstractModel implements IReferenceType
   }
 
   public Optional<ModelProperty> getStatusProperty(String propertyName) {
+    if (statusPropertyIndex != null) {
+      return Optional.ofNullable(statusPropertyIndex.get(propertyName));
+    }
     return statusProperties.stream().filter(p -> p.getName().equals(propertyName)).findAny();
   }
 
   public Optional<ModelProperty> getConfigurationProperty(String propertyName) {
+    if (configurationPropertyIndex != null) {
+      return Optional.ofNullable(configurationPropertyIndex.get(propertyName));
+    }
     return configurationProperties.stream().filter(p -> p.getName().equals(propertyName)).findAny();
   }
 
+  /**
+   * Builds immutable hash indexes of the status and configuration properties by name, which are
+   * then used by {@link #getStatusProperty(String)} and {@link #getConfigurationProperty(String)}.
+   * The property lists must not be modified afterwards. Setting new lists drops the index.
+   */
+  public void indexProperties() {
+    this.statusPropertyIndex = index(statusProperties);
+    this.configurationPropertyIndex = index(configurationProperties);
+  }
+
+  private static Map<String, ModelProperty> index(List<ModelProperty> properties) {
+    Map<String, ModelProperty> index = new HashMap<>(properties.size() * 2);
+    for (ModelProperty property : properties) {
+      index.putIfAbsent(property.getName(), property);
+    }
+    return Collections.unmodifiableMap(index);
+  }
+
   public Optional<ModelProperty> getFaultProperty(String propertyName) {
     return faultProperties.stream().filter(p -> p.getName().equals(propertyName)).findAny();
   }
@@ -73,6 +104,7 @@ public class FunctionblockModel extends AbstractModel implements IReferenceType
 
   public void setStatusProperties(List<ModelProperty> statusProperties) {
     this.statusProperties = statusProperties;
+    this.statusPropertyIndex = null;
   }
   
   @JsonIgnore
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.conversion;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.eclipse.vorto.model.ModelContent;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of the {@link ModelContent} converted by {@link ModelIdToModelContentConverter}.
+ * Entries are keyed by target platform and the revision of every model the content is converted
+ * from, i.e. the root model, its dependencies and its mappings. A content whose models were
+ * modified on another node is therefore converted again, even though the {@link AppEvent} of the
+ * modification is only received by that node. Entries that contain a created, updated or deleted
+ * model are evicted when the corresponding {@link AppEvent} is received.
+ * <p>
+ * Contents of public models are shared by all users. Contents with a private model are cached per
+ * user, because the models that are resolved for them depend on the access rights of the user.
+ * </p>
+ * <p>
+ * Cached contents are shared between requests and must not be modified.
+ * </p>
+ */
+@Component
+public class ModelContentCache implements ApplicationListener<AppEvent> {
+
+  private static final long DEFAULT_MAXIMUM_SIZE = 500;
+
+  private final Cache<Key, ModelContent> cache;
+
+  public ModelContentCache() {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  public ModelContentCache(long maximumSize) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+  }
+
+  /**
+   * Returns the cached content of the given models and target platform or converts and caches it
+   *
+   * @param models root model of the content, its dependencies and mappings
+   * @param platformKey target platform of the content
+   * @param user name of the user the models were resolved for or null, if no user is authenticated
+   * @param converter converts the content, if it is not cached yet
+   * @return content of the models
+   */
+  public ModelContent get(Collection<ModelInfo> models, Optional<String> platformKey, String user,
+      Supplier<ModelContent> converter) {
+    Key key = new Key(models, platformKey.orElse(null), user);
+    ModelContent content = cache.getIfPresent(key);
+    if (content == null) {
+      content = converter.get();
+      cache.put(key, content);
+    }
+    return content;
+  }
+
+  /**
+   * Evicts all contents of the given model and all contents that contain it as a dependency
+   */
+  public void invalidate(ModelId modelId) {
+    cache.asMap().keySet().removeIf(key -> key.revisions.containsKey(modelId));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    if (event.getEventType() == EventType.MODEL_CREATED
+        || event.getEventType() == EventType.MODEL_UPDATED) {
+      ModelInfo modelInfo = (ModelInfo) event.getSubject();
+      invalidate(modelInfo.getId());
+      // mapping models are part of the contents of the models they reference
+      modelInfo.getReferences().forEach(this::invalidate);
+    } else if (event.getEventType() == EventType.MODEL_DELETED) {
+      invalidate((ModelId) event.getSubject());
+    } else if (event.getEventType() == EventType.NAMESPACE_DELETED) {
+      invalidateAll();
+    }
+  }
+
+  private static final class Key {
+
+    private final Map<ModelId, List<Object>> revisions = new HashMap<>();
+
+    private final String platformKey;
+
+    private final boolean shared;
+
+    private final String user;
+
+    Key(Collection<ModelInfo> models, String platformKey, String user) {
+      boolean allPublic = true;
+      for (ModelInfo model : models) {
+        revisions.put(model.getId(), Arrays.asList(model.getState(), model.getModificationDate(),
+            model.getVisibility()));
+        allPublic &= IModelRepository.VISIBILITY_PUBLIC.equals(model.getVisibility());
+      }
+      this.platformKey = platformKey;
+      this.shared = allPublic;
+      this.user = allPublic ? null : user;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return revisions.equals(other.revisions) && Objects.equals(platformKey, other.platformKey)
+          && shared == other.shared && Objects.equals(user, other.user);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(revisions, platformKey, shared, user);
+    }
+  }
+}
@@ -30,19 +30,37 @@ import org.eclipse.vorto.repository.core.impl.utils.DependencyManager;
 import org.eclipse.vorto.repository.web.core.ModelDtoFactory;
 import org.eclipse.vorto.utilities.reader.IModelWorkspace;
 import org.eclipse.vorto.utilities.reader.ModelWorkspaceReader;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public class ModelIdToModelContentConverter implements IModelConverter<ModelId,ModelContent>{
 
   private IModelRepositoryFactory repositoryFactory;
 
+  private ModelContentCache cache;
+
   public ModelIdToModelContentConverter(IModelRepositoryFactory repositoryFactory) {
+    this(repositoryFactory, null);
+  }
+
+  /**
+   * @param cache cache of converted contents or null, if every model is converted again. Cached
+   *        contents are shared, so callers must not modify the returned content.
+   */
+  public ModelIdToModelContentConverter(IModelRepositoryFactory repositoryFactory,
+      ModelContentCache cache) {
     this.repositoryFactory = repositoryFactory;
+    this.cache = cache;
   }
 
   @Override
@@ -53,13 +71,31 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
           String.format("Model [%s] does not exist", modelId.getPrettyFormat()), null);
     }
 
-    ModelWorkspaceReader workspaceReader = getWorkspaceForModel(modelId);
+    List<ModelInfo> models = getModelWithAllDependencies(modelId);
+    List<ModelInfo> mappingResources = platformKey.isPresent()
+        ? repositoryFactory.getRepositoryByModel(modelId)
+            .getMappingModelsForTargetPlatform(modelId, platformKey.get(), Optional.empty())
+        : Collections.emptyList();
+
+    if (cache != null) {
+      final ModelId resolvedModelId = modelId;
+      List<ModelInfo> contentModels = new ArrayList<>(models);
+      contentModels.addAll(mappingResources);
+      Authentication user = SecurityContextHolder.getContext().getAuthentication();
+      return cache.get(contentModels, platformKey, user != null ? user.getName() : null,
+          () -> doConvert(resolvedModelId, platformKey, models, mappingResources));
+    }
+    return doConvert(modelId, platformKey, models, mappingResources);
+  }
+
+  private ModelContent doConvert(ModelId modelId, Optional<String> platformKey,
+      List<ModelInfo> models, List<ModelInfo> mappingResources) {
+    ModelWorkspaceReader workspaceReader = getWorkspace(models);
 
     ModelContent result = new ModelContent();
     result.setRoot(modelId);
 
     if (platformKey.isPresent()) {
-      final List<ModelInfo> mappingResources = repositoryFactory.getRepositoryByModel(modelId).getMappingModelsForTargetPlatform(modelId, platformKey.get(),Optional.empty());
       if (!mappingResources.isEmpty()) {
         // adding to workspace reader in order to resolve cross linking between mapping models correctly
         mappingResources.forEach(mapping -> workspaceReader.addFile(new ByteArrayInputStream(repositoryFactory.getRepositoryByModel(mapping.getId()).getFileContent(mapping.getId(), Optional.empty()).get().getContent()), org.eclipse.vorto.model.ModelType.Mapping));
@@ -110,10 +146,9 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
   }
 
 
-  private ModelWorkspaceReader getWorkspaceForModel(final ModelId modelId) {
-    List<ModelInfo> allModels = getModelWithAllDependencies(modelId);
-    DependencyManager dm = new DependencyManager(new HashSet<>(allModels));
-    allModels = dm.getSorted();
+  private ModelWorkspaceReader getWorkspace(List<ModelInfo> modelWithAllDependencies) {
+    DependencyManager dm = new DependencyManager(new HashSet<>(modelWithAllDependencies));
+    List<ModelInfo> allModels = dm.getSorted();
 
     ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
     for (ModelInfo model : allModels) {
@@ -126,16 +161,45 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,M
   }
 
 
-  private List<ModelInfo> getModelWithAllDependencies(ModelId modelId) {
+  /**
+   * Resolves the given model and all of its direct and transitive dependencies. The dependency
+   * graph is traversed level by level, fetching every model only once and all models of a level
+   * within one session per repository.
+   */
+  List<ModelInfo> getModelWithAllDependencies(ModelId modelId) {
     List<ModelInfo> modelInfos = new ArrayList<>();
+    Set<ModelId> visited = new HashSet<>();
+    visited.add(modelId);
+
+    List<ModelId> level = Collections.singletonList(modelId);
+    while (!level.isEmpty()) {
+      List<ModelId> nextLevel = new ArrayList<>();
+      for (ModelInfo modelResource : getByIds(level)) {
+        modelInfos.add(modelResource);
+        for (ModelId reference : modelResource.getReferences()) {
+          if (visited.add(reference)) {
+            nextLevel.add(reference);
+          }
+        }
+      }
+      level = nextLevel;
+    }
 
-    ModelInfo modelResource = repositoryFactory.getRepositoryByModel(modelId).getById(modelId);
-    modelInfos.add(modelResource);
+    return modelInfos;
+  }
 
-    for (ModelId reference : modelResource.getReferences()) {
-      modelInfos.addAll(getModelWithAllDependencies(reference));
+  private List<ModelInfo> getByIds(List<ModelId> modelIds) {
+    Map<String, List<ModelId>> modelIdsByNamespace = new LinkedHashMap<>();
+    for (ModelId modelId : modelIds) {
+      modelIdsByNamespace.computeIfAbsent(modelId.getNamespace(), key -> new ArrayList<>())
+          .add(modelId);
     }
 
+    List<ModelInfo> modelInfos = new ArrayList<>(modelIds.size());
+    for (List<ModelId> namespaceModelIds : modelIdsByNamespace.values()) {
+      modelInfos.addAll(repositoryFactory.getRepositoryByModel(namespaceModelIds.get(0))
+          .getByIds(namespaceModelIds));
+    }
     return modelInfos;
   }
 
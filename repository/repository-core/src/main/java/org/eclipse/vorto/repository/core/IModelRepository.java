@@ -12,6 +12,7 @@
  */
 package org.eclipse.vorto.repository.core;
 
+import java.util.Collection;
 import java.util.Map;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
@@ -46,6 +47,16 @@ public interface IModelRepository {
    */
   ModelInfo getById(ModelId modelId) throws NotAuthorizedException;
 
+  /**
+   * Gets the models with the given ids within a single session. Unlike
+   * {@link IModelRepository#getById(ModelId)}, the latest tag is not resolved.
+   *
+   * @param modelIds
+   * @return models in the order of the given ids, without the ones that do not exist
+   * @throws NotAuthorizedException if current user is not allowed to access one of the models
+   */
+  List<ModelInfo> getByIds(Collection<ModelId> modelIds) throws NotAuthorizedException;
+
   /**
    * Gets the model ID of the latest (highest and released) version for the given model.
    *
@@ -101,6 +101,8 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   public static final String ATTACHMENTS_NODE = "attachments";
 
+  private static final int IMAGE_QUERY_BATCH_SIZE = 100;
+
   private static final Function<ModelInfo, String> VERSION_COMPARATOR = m -> m.getId().getVersion();
 
   private static final Logger LOGGER = Logger.getLogger(ModelRepository.class);
@@ -153,24 +155,39 @@ public class ModelRepository extends AbstractRepositoryOperation
 
       LOGGER.debug("Searching repository with expression " + query.getStatement());
       QueryResult result = query.execute();
+      List<Node> fileNodes = new ArrayList<>();
+      List<String> infomodelFolders = new ArrayList<>();
       RowIterator rowIterator = result.getRows();
       while (rowIterator.hasNext()) {
         Row row = rowIterator.nextRow();
         Node currentNode = row.getNode();
         if (currentNode.hasProperty(VORTO_NODE_TYPE)) {
-          try {
-            modelResources.add(createMinimalModelInfo(currentNode));
-          } catch (Exception ex) {
-            LOGGER.debug("Error while converting node to a ModelInfo", ex);
+          fileNodes.add(currentNode);
+          if (ModelType.InformationModel.name()
+              .equals(currentNode.getProperty(VORTO_NODE_TYPE).getString())) {
+            infomodelFolders.add(currentNode.getParent().getPath());
           }
         }
       }
 
+      Set<String> modelFoldersWithImage = getModelFoldersWithImage(session, infomodelFolders);
+      for (Node fileNode : fileNodes) {
+        try {
+          modelResources.add(createMinimalModelInfo(fileNode, modelFoldersWithImage));
+        } catch (Exception ex) {
+          LOGGER.debug("Error while converting node to a ModelInfo", ex);
+        }
+      }
+
       return modelResources;
     });
   }
 
-  private ModelInfo createMinimalModelInfo(Node fileNode, boolean doInElevatedSession, IUserContext context)
+  /**
+   * @param modelFoldersWithImage paths of the model folders with an image attachment or null, if
+   *        the attachments of the model are read from its folder node
+   */
+  private ModelInfo createMinimalModelInfo(Node fileNode, Set<String> modelFoldersWithImage)
       throws RepositoryException {
     Node folderNode = fileNode.getParent();
     ModelInfo resource = new ModelInfo(ModelIdHelper.fromPath(folderNode.getPath()),
@@ -202,16 +219,68 @@ public class ModelRepository extends AbstractRepositoryOperation
     setReferencesOnResource(folderNode, resource);
 
     if (resource.getType() == ModelType.InformationModel) {
-      resource
-          .setHasImage(!this.getAttachmentsByTag(resource.getId(), TAG_IMAGE, doInElevatedSession, context)
-              .isEmpty());
+      resource.setHasImage(modelFoldersWithImage != null
+          ? modelFoldersWithImage.contains(folderNode.getPath())
+          : hasImageAttachment(folderNode));
     }
 
     return resource;
   }
 
   private ModelInfo createMinimalModelInfo(Node fileNode) throws RepositoryException {
-    return createMinimalModelInfo(fileNode, false, null);
+    return createMinimalModelInfo(fileNode, null);
+  }
+
+  /**
+   * Resolves which of the given model folders have an image attachment. Only the attachments of
+   * these folders are queried, at most {@link #IMAGE_QUERY_BATCH_SIZE} folders per query, so that
+   * the models of a search result do not need to read their attachments one by one.
+   */
+  private Set<String> getModelFoldersWithImage(Session session, List<String> folderPaths)
+      throws RepositoryException {
+    Set<String> modelFolders = new HashSet<>();
+    QueryManager queryManager = session.getWorkspace().getQueryManager();
+    for (int from = 0; from < folderPaths.size(); from += IMAGE_QUERY_BATCH_SIZE) {
+      List<String> batch = folderPaths.subList(from,
+          Math.min(from + IMAGE_QUERY_BATCH_SIZE, folderPaths.size()));
+      StringBuilder statement = new StringBuilder("SELECT * FROM [vorto:meta] AS attachment WHERE "
+          + "attachment.[vorto:tags] = '" + TAG_IMAGE.getId() + "' AND (");
+      for (int i = 0; i < batch.size(); i++) {
+        if (i > 0) {
+          statement.append(" OR ");
+        }
+        statement.append("ISDESCENDANTNODE(attachment, [").append(batch.get(i)).append("/")
+            .append(ATTACHMENTS_NODE).append("])");
+      }
+      statement.append(")");
+
+      RowIterator rowIterator =
+          queryManager.createQuery(statement.toString(), Query.JCR_SQL2).execute().getRows();
+      while (rowIterator.hasNext()) {
+        Node attachmentNode = rowIterator.nextRow().getNode();
+        // attachments are stored in the attachments folder of the model folder
+        modelFolders.add(attachmentNode.getParent().getParent().getPath());
+      }
+    }
+    return modelFolders;
+  }
+
+  private static boolean hasImageAttachment(Node folderNode) throws RepositoryException {
+    if (!folderNode.hasNode(ATTACHMENTS_NODE)) {
+      return false;
+    }
+    NodeIterator attachments = folderNode.getNode(ATTACHMENTS_NODE).getNodes();
+    while (attachments.hasNext()) {
+      Node attachment = attachments.nextNode();
+      if (attachment.hasProperty(VORTO_TAGS)) {
+        for (Value tag : attachment.getProperty(VORTO_TAGS).getValues()) {
+          if (TAG_IMAGE.getId().equals(tag.getString())) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
   }
 
   @Override
@@ -360,6 +429,25 @@ public class ModelRepository extends AbstractRepositoryOperation
     });
   }
 
+  @Override
+  public List<ModelInfo> getByIds(Collection<ModelId> modelIds) {
+    return doInSession(session -> {
+      List<ModelInfo> models = new ArrayList<>(modelIds.size());
+      for (ModelId modelId : modelIds) {
+        ModelIdHelper modelIdHelper = new ModelIdHelper(modelId);
+        try {
+          Node folderNode = session.getNode(modelIdHelper.getFullPath());
+          models.add(getModelResource(modelId, folderNode));
+        } catch (PathNotFoundException e) {
+          LOGGER.debug("Model " + modelId.getPrettyFormat() + " does not exist");
+        } catch (AccessDeniedException e) {
+          throw new NotAuthorizedException(modelId, e);
+        }
+      }
+      return models;
+    });
+  }
+
   @Override
   public ModelId getLatestModelVersionIfLatestTagIsSet(ModelId modelId) {
     if (!"latest".equalsIgnoreCase(modelId.getVersion())) {
@@ -448,7 +536,7 @@ public class ModelRepository extends AbstractRepositoryOperation
             Node folderNode = session.getNode(modelIdHelper.getFullPath());
 
             Node modelFileNode = folderNode.getNodes(FILE_NODES).nextNode();
-            ModelInfo modelInfo = createMinimalModelInfo(modelFileNode, true, context);
+            ModelInfo modelInfo = createMinimalModelInfo(modelFileNode);
 
             setReferencesOnResource(folderNode, modelInfo);
 
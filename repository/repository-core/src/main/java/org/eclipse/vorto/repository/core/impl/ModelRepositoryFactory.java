@@ -146,6 +146,12 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
     this.eventPublisher = applicationEventPublisher;
   }
 
+  /**
+   * Repositories, policy managers and retrieval services only hold the stateless collaborators of
+   * this factory, the workspace id and the authentication of the caller, so they are created per
+   * call. The roles of the user are resolved once per request and workspace by the session
+   * helper, see {@link RequestRepositorySessionHelper#getUserRoles(String, String, Supplier)}.
+   */
   @Override
   public IModelRetrievalService getModelRetrievalService(Authentication user) {
     return new ModelRetrievalService(workspaceIdSupplier,
@@ -154,15 +160,12 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
 
   @Override
   public IModelRetrievalService getModelRetrievalService(IUserContext userContext) {
-    return new ModelRetrievalService(workspaceIdSupplier,
-        workspaceId -> getRepository(workspaceId, userContext.getAuthentication()));
+    return getModelRetrievalService(userContext.getAuthentication());
   }
 
   @Override
   public IModelRetrievalService getModelRetrievalService() {
-    return new ModelRetrievalService(workspaceIdSupplier,
-        workspaceId -> getRepository(workspaceId,
-            SecurityContextHolder.getContext().getAuthentication()));
+    return getModelRetrievalService(SecurityContextHolder.getContext().getAuthentication());
   }
 
   @Override
@@ -247,7 +250,8 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
       }
       sessionHelper.setRepository(repository);
       sessionHelper.setWorkspaceId(workspaceId);
-      sessionHelper.setUserRoles(getUserRoles(workspaceId, user.getName()));
+      sessionHelper.setUserRoles(sessionHelper.getUserRoles(workspaceId, user.getName(),
+          () -> getUserRoles(workspaceId, user.getName())));
       sessionHelper.setUser(user);
       return sessionHelper;
     };
@@ -267,7 +271,6 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
   }
 
   private Set<IRole> getUserRoles(String workspaceId, String username) {
-    // TODO improve caching for non anon users
     if (UserContext.isAnonymous(username)) {
       return new HashSet<>();
     }
@@ -44,6 +44,7 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
     private Repository repository;
     private Set<IRole> roleSet;
     private Supplier<Session> internalSessionSupplier;
+    private Map<String, Set<IRole>> userRolesMap;
 
     @Autowired
     private PrivilegeService privilegeService;
@@ -86,6 +87,7 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
             return;
         logoutAssociatedRepositorySessions();
         this.repositorySessionMap = null;
+        this.userRolesMap = null;
     }
 
     private void logoutAssociatedRepositorySessions() {
@@ -100,6 +102,23 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
     public void afterPropertiesSet() {
         myLogger.debug("afterPropertiesSet: reinit session map");
         this.repositorySessionMap = new HashMap<>();
+        this.userRolesMap = new HashMap<>();
+    }
+
+    /**
+     * Resolves the roles of the given user in the given workspace. Within a request, the roles are
+     * resolved only once per workspace and user, so roles granted or revoked later in the same
+     * request are not seen. This matches the session of the workspace, which is logged in with
+     * the roles once per request and reused until the request is finished, see
+     * {@link #getSession()}. Helpers outside of a request resolve the roles on every call.
+     */
+    public synchronized Set<IRole> getUserRoles(String workspaceId, String username,
+        Supplier<Set<IRole>> rolesResolver) {
+        if (this.userRolesMap == null) {
+            return rolesResolver.get();
+        }
+        return this.userRolesMap.computeIfAbsent(workspaceId + ":" + username,
+            key -> rolesResolver.get());
     }
 
     public Session getSession() {
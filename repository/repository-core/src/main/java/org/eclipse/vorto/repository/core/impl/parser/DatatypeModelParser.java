@@ -12,8 +12,9 @@
  */
 package org.eclipse.vorto.repository.core.impl.parser;
 
-import org.eclipse.vorto.editor.datatype.DatatypeStandaloneSetup;
+import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
 import com.google.inject.Injector;
 
 /**
@@ -27,7 +28,7 @@ public class DatatypeModelParser extends AbstractModelParser {
 
   @Override
   protected Injector getInjector() {
-    return new DatatypeStandaloneSetup().createInjectorAndDoEMFRegistration();
+    return DslInjectors.get(ModelType.Datatype);
   }
 
 }
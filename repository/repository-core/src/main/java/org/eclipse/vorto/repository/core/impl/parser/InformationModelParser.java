@@ -12,8 +12,9 @@
  */
 package org.eclipse.vorto.repository.core.impl.parser;
 
-import org.eclipse.vorto.editor.infomodel.InformationModelStandaloneSetup;
+import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
 import com.google.inject.Injector;
 
 /**
@@ -27,6 +28,6 @@ public class InformationModelParser extends AbstractModelParser {
 
   @Override
   protected Injector getInjector() {
-    return new InformationModelStandaloneSetup().createInjectorAndDoEMFRegistration();
+    return DslInjectors.get(ModelType.InformationModel);
   }
 }
@@ -25,15 +25,13 @@ import java.util.stream.Collectors;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.vorto.core.api.model.model.Model;
-import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
 import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
-import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
 import org.eclipse.xtext.resource.XtextResourceSet;
-import com.google.inject.Injector;
 
 public class LocalModelWorkspace {
 
@@ -52,10 +50,7 @@ public class LocalModelWorkspace {
   }
 
   public LocalModelWorkspace(IModelRepositoryFactory repositoryFactory, Collection<FileContent> files) {
-    Injector injector = new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
-    resourceSet = injector.getInstance(XtextResourceSet.class);
-    resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
-    resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+    resourceSet = DslInjectors.newResourceSet();
 
     this.repoFactory = repositoryFactory;
     
@@ -17,10 +17,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.eclipse.vorto.core.api.model.model.Model;
-import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
 import com.google.inject.Injector;
 
 /**
@@ -37,7 +38,7 @@ public class MappingModelParser extends AbstractModelParser {
 
   @Override
   protected Injector getInjector() {
-    return new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
+    return DslInjectors.get(ModelType.Mapping);
   }
   
   /**
@@ -18,10 +18,8 @@ import org.eclipse.vorto.core.api.model.functionblock.FunctionblockPackage;
 import org.eclipse.vorto.core.api.model.informationmodel.InformationModelPackage;
 import org.eclipse.vorto.core.api.model.mapping.MappingPackage;
 import org.eclipse.vorto.core.api.model.model.ModelType;
-import org.eclipse.vorto.editor.functionblock.FunctionblockStandaloneSetup;
-import org.eclipse.vorto.editor.infomodel.InformationModelStandaloneSetup;
-import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -53,9 +51,9 @@ public class ModelParserFactory {
     InformationModelPackage.eINSTANCE.eClass();
     MappingPackage.eINSTANCE.eClass();
 
-    FunctionblockStandaloneSetup.doSetup();
-    InformationModelStandaloneSetup.doSetup();
-    MappingStandaloneSetup.doSetup();
+    DslInjectors.get(org.eclipse.vorto.model.ModelType.Functionblock);
+    DslInjectors.get(org.eclipse.vorto.model.ModelType.InformationModel);
+    DslInjectors.get(org.eclipse.vorto.model.ModelType.Mapping);
 
     this.isInit = true;
   }
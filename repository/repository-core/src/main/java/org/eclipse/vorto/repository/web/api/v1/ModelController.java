@@ -24,12 +24,14 @@ import org.apache.commons.io.IOUtils;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.model.ModelContent;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.conversion.ModelContentCache;
 import org.eclipse.vorto.repository.conversion.ModelIdToModelContentConverter;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
 import org.eclipse.vorto.repository.web.GenericApplicationException;
 import org.eclipse.vorto.repository.web.core.ModelDtoFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -46,6 +48,9 @@ public class ModelController extends AbstractRepositoryController {
 
   private static final Logger LOGGER = Logger.getLogger(ModelController.class);
 
+  @Autowired
+  private ModelContentCache modelContentCache;
+
   @PreAuthorize("isAuthenticated() or hasAuthority('model_viewer')")
   @GetMapping("/{modelId:.+}")
   public ModelInfo getModelInfo(
@@ -75,7 +80,7 @@ public class ModelController extends AbstractRepositoryController {
     final ModelId modelID = ModelId.fromPrettyFormat(modelId);
 
     ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(
-        this.modelRepositoryFactory);
+        this.modelRepositoryFactory, this.modelContentCache);
 
     return converter.convert(modelID, Optional.empty());
   }
@@ -90,7 +95,7 @@ public class ModelController extends AbstractRepositoryController {
 
     final ModelId modelID = ModelId.fromPrettyFormat(modelId);
     ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(
-        this.modelRepositoryFactory);
+        this.modelRepositoryFactory, this.modelContentCache);
 
     return converter.convert(modelID, Optional.of(targetplatformKey));
   }
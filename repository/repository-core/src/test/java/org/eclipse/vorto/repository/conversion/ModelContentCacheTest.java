@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.conversion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.vorto.model.ModelContent;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.junit.Test;
+
+public class ModelContentCacheTest {
+
+  private static final Optional<String> PLATFORM = Optional.of("ios");
+
+  @Test
+  public void testPublicContentIsShared() {
+    ModelContentCache cache = new ModelContentCache();
+    List<ModelInfo> models = Arrays.asList(
+        model("com.test:Device:1.0.0", IModelRepository.VISIBILITY_PUBLIC, 1),
+        model("com.test:Unit:1.0.0", IModelRepository.VISIBILITY_PUBLIC, 1));
+
+    ModelContent content = cache.get(models, PLATFORM, "alex", ModelContent::new);
+    assertSame(content, cache.get(models, PLATFORM, "bob", ModelContent::new));
+    assertSame(content, cache.get(models, PLATFORM, null, ModelContent::new));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testContentWithPrivateDependencyIsCachedPerUser() {
+    ModelContentCache cache = new ModelContentCache();
+    List<ModelInfo> models = Arrays.asList(
+        model("com.test:Device:1.0.0", IModelRepository.VISIBILITY_PUBLIC, 1),
+        model("com.test:Unit:1.0.0", IModelRepository.VISIBILITY_PRIVATE, 1));
+
+    ModelContent content = cache.get(models, PLATFORM, "alex", ModelContent::new);
+    assertSame(content, cache.get(models, PLATFORM, "alex", ModelContent::new));
+    assertNotSame(content, cache.get(models, PLATFORM, "bob", ModelContent::new));
+    assertNotSame(content, cache.get(models, PLATFORM, null, ModelContent::new));
+    assertEquals(3, cache.size());
+  }
+
+  @Test
+  public void testModifiedDependencyIsConvertedAgain() {
+    ModelContentCache cache = new ModelContentCache();
+    ModelInfo device = model("com.test:Device:1.0.0", IModelRepository.VISIBILITY_PUBLIC, 1);
+
+    ModelContent content = cache.get(
+        Arrays.asList(device, model("com.test:Unit:1.0.0", IModelRepository.VISIBILITY_PUBLIC, 1)),
+        PLATFORM, "alex", ModelContent::new);
+    assertSame(content, cache.get(
+        Arrays.asList(device, model("com.test:Unit:1.0.0", IModelRepository.VISIBILITY_PUBLIC, 1)),
+        PLATFORM, "alex", ModelContent::new));
+
+    // the dependency was modified on another node, so no event evicted the content
+    assertNotSame(content, cache.get(
+        Arrays.asList(device, model("com.test:Unit:1.0.0", IModelRepository.VISIBILITY_PUBLIC, 2)),
+        PLATFORM, "alex", ModelContent::new));
+    assertNotSame(content, cache.get(
+        Arrays.asList(device, model("com.test:Unit:1.0.0", IModelRepository.VISIBILITY_PRIVATE, 1)),
+        PLATFORM, "alex", ModelContent::new));
+
+    cache.invalidate(ModelId.fromPrettyFormat("com.test:Unit:1.0.0"));
+    assertEquals(0, cache.size());
+  }
+
+  private static ModelInfo model(String modelId, String visibility, long modificationDate) {
+    ModelInfo model = new ModelInfo(ModelId.fromPrettyFormat(modelId), ModelType.Datatype);
+    model.setVisibility(visibility);
+    model.setModificationDate(new Date(modificationDate));
+    return model;
+  }
+}
@@ -16,16 +16,34 @@ import org.eclipse.vorto.model.EntityModel;
 import org.eclipse.vorto.model.FunctionblockModel;
 import org.eclipse.vorto.model.ModelContent;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.repository.UnitTestBase;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
 import org.eclipse.vorto.repository.workflow.ModelState;
 import org.eclipse.vorto.repository.workflow.WorkflowException;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class ModelIdToModelContentConverterTest extends UnitTestBase {
 
@@ -78,6 +96,79 @@ public class ModelIdToModelContentConverterTest extends UnitTestBase {
     assertEquals(0,((EntityModel)content.getModels().get(content.getRoot())).getStereotypes().size());
   }
 
+  @Test
+  public void testConvertCached() throws Exception {
+    importModel("Color.type");
+    ModelInfo mapping = importModel("sample.mapping");
+    ModelId colorId = ModelId.fromPrettyFormat("org.eclipse.vorto.examples.type:Color:1.0.0");
+
+    ModelContentCache cache = new ModelContentCache();
+    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(this.repositoryFactory, cache);
+
+    ModelContent content = converter.convert(colorId, Optional.of("ios"));
+    assertSame(content, converter.convert(colorId, Optional.of("ios")));
+    assertNotSame(content, converter.convert(colorId, Optional.empty()));
+    assertEquals(2, cache.size());
+
+    cache.onApplicationEvent(new AppEvent(this, mapping, EventType.MODEL_UPDATED));
+    assertEquals(1, cache.size());
+    assertNotSame(content, converter.convert(colorId, Optional.of("ios")));
+
+    cache.onApplicationEvent(new AppEvent(this, colorId, EventType.MODEL_DELETED));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testConvertCachedIsBounded() throws Exception {
+    importModel("Color.type");
+    ModelId colorId = ModelId.fromPrettyFormat("org.eclipse.vorto.examples.type:Color:1.0.0");
+
+    ModelContentCache cache = new ModelContentCache(1);
+    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(this.repositoryFactory, cache);
+
+    ModelContent content = converter.convert(colorId, Optional.of("ios"));
+    converter.convert(colorId, Optional.of("lwm2m"));
+    assertEquals(1, cache.size());
+    assertNotSame(content, converter.convert(colorId, Optional.of("ios")));
+  }
+
+  @Test
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void testResolveDiamondDependenciesOnce() {
+    ModelInfo unit = new ModelInfo(ModelId.fromPrettyFormat("com.test:Unit:1.0.0"), ModelType.Datatype);
+    ModelInfo measure = new ModelInfo(ModelId.fromPrettyFormat("com.test:Measure:1.0.0"), ModelType.Datatype);
+    measure.getReferences().add(unit.getId());
+    ModelInfo device = new ModelInfo(ModelId.fromPrettyFormat("com.test:Device:1.0.0"), ModelType.InformationModel);
+
+    Map<ModelId, ModelInfo> models = new HashMap<>();
+    models.put(unit.getId(), unit);
+    models.put(measure.getId(), measure);
+    models.put(device.getId(), device);
+    for (int i = 0; i < 20; i++) {
+      ModelInfo sensor = new ModelInfo(ModelId.fromPrettyFormat("com.test:Sensor" + i + ":1.0.0"), ModelType.Functionblock);
+      sensor.getReferences().add(measure.getId());
+      sensor.getReferences().add(unit.getId());
+      device.getReferences().add(sensor.getId());
+      models.put(sensor.getId(), sensor);
+    }
+
+    IModelRepository repository = mock(IModelRepository.class);
+    when(repository.getByIds(any(Collection.class))).thenAnswer(invocation -> ((Collection<ModelId>) invocation.getArguments()[0])
+        .stream().map(models::get).collect(Collectors.toList()));
+    IModelRepositoryFactory factory = mock(IModelRepositoryFactory.class);
+    when(factory.getRepositoryByModel(any(ModelId.class))).thenReturn(repository);
+
+    List<ModelInfo> resolved = new ModelIdToModelContentConverter(factory).getModelWithAllDependencies(device.getId());
+
+    assertEquals(models.size(), resolved.size());
+    assertEquals(new HashSet<>(models.values()), new HashSet<>(resolved));
+
+    ArgumentCaptor<Collection> fetched = ArgumentCaptor.forClass(Collection.class);
+    verify(repository, times(3)).getByIds(fetched.capture());
+    assertEquals(models.size(), fetched.getAllValues().stream().mapToInt(Collection::size).sum());
+    verify(repository, never()).getById(any(ModelId.class));
+  }
+
   private void setupTestDataForLatestTag() throws WorkflowException {
     IUserContext user = createUserContext("alex", "playground");
     ModelInfo color = importModel("Color.type");
@@ -23,6 +23,7 @@ import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
@@ -139,6 +140,40 @@ public class ModelRepositoryTest extends UnitTestBase {
         .getById(new ModelId("HueLightStrips", "com.mycompany", "1.0.0")).isHasImage());
   }
 
+  @Test
+  public void testSearchModelsWithImage() throws Exception {
+    final ModelId modelId = new ModelId("HueLightStrips", "com.mycompany", "1.0.0");
+    importModel("Color.type");
+    importModel("Colorlight.fbmodel");
+    importModel("Switcher.fbmodel");
+    importModel("HueLightStrips.infomodel");
+    IModelRepository repository = this.repositoryFactory.getRepository(createUserContext("admin"));
+
+    assertEquals(false, repository.search("*").stream()
+        .filter(model -> model.getId().equals(modelId)).findAny().get().isHasImage());
+
+    repository.attachFile(modelId,
+        new FileContent("sample.png",
+            IOUtils
+                .toByteArray(new ClassPathResource("sample_models/sample.png").getInputStream())),
+        UserContext.user("alex", "playground"), Attachment.TAG_IMAGE);
+
+    List<ModelInfo> result = repository.search("*");
+    assertEquals(4, result.size());
+    for (ModelInfo model : result) {
+      assertEquals(model.getId().equals(modelId), model.isHasImage());
+    }
+
+    // only the attachments of the information models in the result are queried
+    result = repository.search("name:HueLightStrips");
+    assertEquals(1, result.size());
+    assertTrue(result.get(0).isHasImage());
+
+    result = repository.search("Functionblock");
+    assertEquals(2, result.size());
+    assertFalse(result.stream().anyMatch(ModelInfo::isHasImage));
+  }
+
   /**
    * Originally, this only tested that a given persisted model had an image once an image was
    * attached. <br/>
@@ -14,6 +14,8 @@ package org.eclipse.vorto.repository.core;
 
 import org.eclipse.vorto.repository.UnitTestBase;
 import org.eclipse.vorto.repository.core.impl.RequestRepositorySessionHelper;
+import org.eclipse.vorto.repository.domain.IRole;
+import org.eclipse.vorto.repository.domain.RepositoryRole;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -21,6 +23,11 @@ import org.mockito.Mockito;
 import javax.jcr.Repository;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
@@ -72,6 +79,44 @@ public class RequestRepositorySessionHelperTest extends UnitTestBase {
 
     }
 
+    @Test
+    public void testUserRolesResolvedOncePerRequest() {
+        // roles are resolved once per workspace and user, like the session of the workspace
+        RequestRepositorySessionHelper helper = new RequestRepositorySessionHelper();
+        helper.afterPropertiesSet();
+        AtomicInteger resolved = new AtomicInteger();
+        Supplier<Set<IRole>> resolver = () -> {
+            resolved.incrementAndGet();
+            return new HashSet<>();
+        };
+        Set<IRole> roles = helper.getUserRoles(TEST_TENANT_ID, "alex", resolver);
+        // a role granted later in the same request is not seen
+        Assert.assertSame(roles, helper.getUserRoles(TEST_TENANT_ID, "alex",
+            () -> Collections.singleton(RepositoryRole.SYS_ADMIN)));
+        Assert.assertEquals(1, resolved.get());
+        helper.getUserRoles("OTHER_TENANT_ID", "alex", resolver);
+        helper.getUserRoles(TEST_TENANT_ID, "admin", resolver);
+        Assert.assertEquals(3, resolved.get());
+        // the next request resolves the roles again
+        helper.destroy();
+        helper.afterPropertiesSet();
+        Assert.assertEquals(Collections.singleton(RepositoryRole.SYS_ADMIN), helper.getUserRoles(
+            TEST_TENANT_ID, "alex", () -> Collections.singleton(RepositoryRole.SYS_ADMIN)));
+    }
+
+    @Test
+    public void testUserRolesResolvedOnEveryCallWithoutRequest() {
+        RequestRepositorySessionHelper helper = new RequestRepositorySessionHelper(false, null);
+        AtomicInteger resolved = new AtomicInteger();
+        Supplier<Set<IRole>> resolver = () -> {
+            resolved.incrementAndGet();
+            return new HashSet<>();
+        };
+        helper.getUserRoles(TEST_TENANT_ID, "alex", resolver);
+        helper.getUserRoles(TEST_TENANT_ID, "alex", resolver);
+        Assert.assertEquals(2, resolved.get());
+    }
+
     private Repository createMockRepository() throws RepositoryException {
         Repository myRepository = Mockito.mock(Repository.class);
         when(myRepository.login(anyObject(), anyString())).thenAnswer(inv -> createNewMockSession());
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.utilities.reader;
+
+import java.util.EnumMap;
+import java.util.Map;
+import org.eclipse.vorto.editor.datatype.DatatypeStandaloneSetup;
+import org.eclipse.vorto.editor.functionblock.FunctionblockStandaloneSetup;
+import org.eclipse.vorto.editor.infomodel.InformationModelStandaloneSetup;
+import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import com.google.inject.Injector;
+
+/**
+ * Holds the Xtext injectors of the Vorto DSLs, which are created and registered with EMF only once
+ * per JVM. Creating an injector takes a few hundred milliseconds, whereas resource sets obtained
+ * from a created injector are cheap. Injectors are thread-safe and may be shared, resource sets
+ * must not be used concurrently.
+ */
+public final class DslInjectors {
+
+  private static final Map<ModelType, Injector> INJECTORS = new EnumMap<>(ModelType.class);
+
+  private DslInjectors() {}
+
+  /**
+   * @param type type of the models the injector is used for
+   * @return shared injector of the DSL of the given model type
+   */
+  public static synchronized Injector get(ModelType type) {
+    Injector injector = INJECTORS.get(type);
+    if (injector == null) {
+      injector = createInjector(type);
+      INJECTORS.put(type, injector);
+    }
+    return injector;
+  }
+
+  /**
+   * Creates a resource set that resolves all references on load and reads UTF-8. It is created
+   * by the mapping injector, whose setup registers all DSLs, so it loads models of any type.
+   */
+  public static XtextResourceSet newResourceSet() {
+    XtextResourceSet resourceSet = get(ModelType.Mapping).getInstance(XtextResourceSet.class);
+    resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
+    resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+    return resourceSet;
+  }
+
+  private static Injector createInjector(ModelType type) {
+    switch (type) {
+      case Datatype:
+        return new DatatypeStandaloneSetup().createInjectorAndDoEMFRegistration();
+      case Functionblock:
+        return new FunctionblockStandaloneSetup().createInjectorAndDoEMFRegistration();
+      case InformationModel:
+        return new InformationModelStandaloneSetup().createInjectorAndDoEMFRegistration();
+      case Mapping:
+        return new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
+      default:
+        throw new IllegalArgumentException("No DSL for model type " + type);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.utilities;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
+import org.eclipse.vorto.utilities.reader.IModelWorkspace;
+import org.eclipse.vorto.utilities.reader.ModelWorkspaceReader;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import com.github.noconnor.junitperf.JUnitPerfRule;
+import com.github.noconnor.junitperf.JUnitPerfTest;
+import com.github.noconnor.junitperf.reporting.providers.HtmlReportGenerator;
+
+/**
+ * Load tests of the shared injectors of {@link DslInjectors}, run by the load-test profile. The
+ * latencies of the per request setup with a new injector, as before the injectors were shared, and
+ * with the shared injectors are written to target/benchmark_dsl_injectors.html.
+ */
+public class DslInjectorsLoadTest {
+
+  @Rule
+  public JUnitPerfRule perfTestRule =
+      new JUnitPerfRule(new HtmlReportGenerator("target/benchmark_dsl_injectors.html"));
+
+  private static final int THREAD_AMOUNT = 1;
+
+  private static final int TEST_DURATION = 15_000;
+
+  private static final int WARMUP_DURATION = 5_000;
+
+  private static final String MODEL = "dsls/Color_encoding.type";
+
+  @BeforeClass
+  public static void initParser() {
+    ModelWorkspaceReader.init();
+  }
+
+  /**
+   * Creates the injector without registering it with EMF, so that the registrations of the shared
+   * injectors stay in place for the other tests of the JVM
+   */
+  @Test
+  @JUnitPerfTest(threads = THREAD_AMOUNT, durationMs = TEST_DURATION, warmUpMs = WARMUP_DURATION)
+  public void resourceSetOfNewInjector() {
+    new MappingStandaloneSetup().createInjector().getInstance(XtextResourceSet.class);
+  }
+
+  @Test
+  @JUnitPerfTest(threads = THREAD_AMOUNT, durationMs = TEST_DURATION, warmUpMs = WARMUP_DURATION)
+  public void resourceSetOfSharedInjector() {
+    DslInjectors.newResourceSet();
+  }
+
+  @Test
+  @JUnitPerfTest(threads = THREAD_AMOUNT, durationMs = TEST_DURATION, warmUpMs = WARMUP_DURATION)
+  public void readWithSharedInjector() {
+    assertEquals("Farbe", IModelWorkspace.newReader()
+        .addFile(getClass().getClassLoader().getResourceAsStream(MODEL), ModelType.Datatype)
+        .read().get().get(0).getName());
+  }
+}
@@ -24,6 +24,7 @@ import org.eclipse.vorto.core.api.model.informationmodel.InformationModel;
 import org.eclipse.vorto.core.api.model.mapping.MappingModel;
 import org.eclipse.vorto.core.api.model.model.Model;
 import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.utilities.reader.DslInjectors;
 import org.eclipse.vorto.utilities.reader.IModelWorkspace;
 import org.eclipse.vorto.utilities.reader.ModelWorkspaceReader;
 import org.junit.Assert;
@@ -72,6 +73,24 @@ public class ModelReaderTest {
         .filter(p -> p.getName().equals("AWSButtonMapping")).findAny().get().getName());
   }
 
+  @Test
+  public void testInjectorsAreShared() {
+    assertSame(DslInjectors.get(ModelType.Mapping), DslInjectors.get(ModelType.Mapping));
+    assertNotSame(DslInjectors.newResourceSet(), DslInjectors.newResourceSet());
+
+    Model first = IModelWorkspace.newReader()
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/Color_encoding.type"),
+            ModelType.Datatype)
+        .read().get().get(0);
+    Model second = IModelWorkspace.newReader()
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/Color_encoding.type"),
+            ModelType.Datatype)
+        .read().get().get(0);
+    assertNotSame(first, second);
+    assertNotSame(first.eResource().getResourceSet(), second.eResource().getResourceSet());
+    assertEquals(first.getName(), second.getName());
+  }
+
   @Test
   public void testReadFromFile_Encoding() {
     IModelWorkspace workspace = IModelWorkspace.newReader()